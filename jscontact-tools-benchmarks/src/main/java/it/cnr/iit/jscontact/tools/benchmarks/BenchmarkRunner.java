@@ -0,0 +1,77 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Entry point of the benchmarks jar.
+ * It accepts the same arguments as the JMH command line but, unless otherwise specified, it enables the GC profiler
+ * (so that the bytes allocated per operation are reported) and writes the results in JSON format to a file whose name
+ * includes the jscontact-tools version, so that the results of different versions can be compared.
+ *
+ * @see <a href="https://github.com/openjdk/jmh">JMH</a>
+ * @author Mario Loffredo
+ */
+public final class BenchmarkRunner {
+
+    private static final String POM_PROPERTIES = "META-INF/maven/it.cnr.iit.jscontact/jscontact-tools/pom.properties";
+
+    private BenchmarkRunner() {}
+
+    private static String getJSContactToolsVersion() {
+
+        try (InputStream is = BenchmarkRunner.class.getClassLoader().getResourceAsStream(POM_PROPERTIES)) {
+            if (is == null)
+                return "unknown";
+            Properties properties = new Properties();
+            properties.load(is);
+            return properties.getProperty("version", "unknown");
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+
+        boolean gcProfilerEnabled = false;
+        for (ProfilerConfig profiler : cmdOptions.getProfilers())
+            gcProfilerEnabled |= profiler.getKlass().equals(GCProfiler.class.getName()) || profiler.getKlass().equals("gc");
+        if (!gcProfilerEnabled)
+            builder.addProfiler(GCProfiler.class);
+
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+            if (!cmdOptions.getResult().hasValue())
+                builder.result(String.format("jmh-result-jscontact-tools-%s.json", getJSContactToolsVersion()));
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import it.cnr.iit.jscontact.tools.JSContactTools;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jcard2jsontact.JCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the latency of the first operations in a fresh JVM, with and without a previous invocation of JSContactTools.warmUp().
+ * Each measurement is a single invocation in its own fork, so the results include class loading, static initialization and
+ * interpreted execution. The warmUp benchmark measures the cost of the warm-up itself.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"false", "true"})
+        public boolean warmUp;
+
+        String vCard;
+
+        String jCard;
+
+        String jsCard;
+
+        @Setup(Level.Trial)
+        public void setup() {
+
+            vCard = Corpus.read("vcard/vCard-RFC7483.vcf");
+            jCard = Corpus.read("jcard/jCard-RFC7483.json");
+            jsCard = Corpus.read("jcard/jsCard-RFC7483.json");
+            if (warmUp)
+                JSContactTools.warmUp();
+        }
+    }
+
+    @Benchmark
+    public List<Card> firstVCard2JSContact(Input input) throws Exception {
+
+        return VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build().convert(input.vCard);
+    }
+
+    @Benchmark
+    public List<Card> firstJCard2JSContact(Input input) throws Exception {
+
+        return JCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build().convert(input.jCard);
+    }
+
+    @Benchmark
+    public String firstJSContact2VCard(Input input) throws Exception {
+
+        return JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build().convertToText(Card.toJSCard(input.jsCard));
+    }
+
+    @Benchmark
+    public void warmUp() {
+
+        JSContactTools.warmUp();
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Utility class for loading the benchmark inputs.
+ * The corpus is made of the test resources of jscontact-tools, namely the files in the vcard, jcard and xcard folders.
+ *
+ * @author Mario Loffredo
+ */
+final class Corpus {
+
+    private Corpus() {}
+
+    static String read(String path) {
+
+        try (InputStream is = Objects.requireNonNull(Corpus.class.getClassLoader().getResourceAsStream(path), path)) {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jcard2jsontact.JCard2JSContact;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of a jCard [RFC7095], either as a JSON string or as a Jackson library JsonNode object,
+ * into a list of Card objects.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JCard2JSContactBenchmark {
+
+    @Param({
+            "jcard/jCard-RFC7095.json",
+            "jcard/jCard-RFC7483.json",
+            "jcard/jCard-Multilingual.json",
+            "jcard/jCard-Unstructured.json",
+            "jcard/jCard-Wikipedia.json"
+    })
+    public String input;
+
+    private String jCard;
+
+    private JsonNode jCardNode;
+
+    private JCard2JSContact jCard2JSContact;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+
+        jCard = Corpus.read(input);
+        jCardNode = new ObjectMapper().readTree(jCard);
+        jCard2JSContact = JCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+    }
+
+    @Benchmark
+    public List<Card> convertString() throws CardException {
+
+        return jCard2JSContact.convert(jCard);
+    }
+
+    @Benchmark
+    public List<Card> convertJsonNode() throws CardException, JsonProcessingException {
+
+        return jCard2JSContact.convert(jCardNode);
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of a list of Card objects into a vCard [RFC6350] as a text,
+ * with and without the validation of the Card objects.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JSContact2VCardBenchmark {
+
+    @Param({
+            "jcard/jsCard-RFC7483.json",
+            "jcard/jsCard-Multilingual.json",
+            "jcard/jsCard-Unstructured.json",
+            "jcard/jsCard-addresses_defaultseparator_rfc6868.json",
+            "jcard/jsCardGroup.json"
+    })
+    public String input;
+
+    @Param({"true", "false"})
+    public boolean validateCard;
+
+    private Card[] jsCards;
+
+    private JSContact2VCard jsContact2VCard;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+
+        jsCards = Card.toJSCards(Corpus.read(input));
+        jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(validateCard).build()).build();
+    }
+
+    @Benchmark
+    public String convertToText() throws CardException {
+
+        return jsContact2VCard.convertToText(jsCards);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.test.corpus.SyntheticCorpusGenerator;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parallel batch conversion of synthetic cards for an increasing number of threads.
+ * Comparing the time per batch against the single-threaded run shows how close to linear the conversion scales.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ParallelConversionBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"64"})
+    public int chunkSize;
+
+    @Param({"2048"})
+    public int cards;
+
+    private VCard[] vCards;
+
+    private Card[] jsCards;
+
+    private ForkJoinPool pool;
+
+    private VCard2JSContact vCard2JSContact;
+
+    private JSContact2VCard jsContact2VCard;
+
+    @Setup
+    public void setup() {
+
+        SyntheticCorpusGenerator generator = SyntheticCorpusGenerator.builder().seed(1).build();
+        vCards = VCardParser.parse(generator.generateVCards(cards)).toArray(new VCard[0]);
+        jsCards = generator.generateCards(cards).toArray(new Card[0]);
+        pool = new ForkJoinPool(threads);
+        vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Card> vCard2JSContact() throws CardException {
+
+        return vCard2JSContact.convertParallel(pool, chunkSize, vCards);
+    }
+
+    @Benchmark
+    public List<VCard> jsContact2EZVCard() throws CardException {
+
+        return jsContact2VCard.convertParallel(pool, chunkSize, jsCards);
+    }
+
+}
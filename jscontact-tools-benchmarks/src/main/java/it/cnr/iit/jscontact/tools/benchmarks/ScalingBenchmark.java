@@ -0,0 +1,108 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.test.corpus.SyntheticCorpusGenerator;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks how the cost of conversion, validation and localization grows with the size of a Card.
+ * The inputs are produced by the SyntheticCorpusGenerator, where the size parameter is used as the number of
+ * addresses, name components, localized addresses per language, vCardProps, extensions and members.
+ * Plotting the average time per operation against the size highlights non-linear behaviours.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    public int size;
+
+    @Param({"3"})
+    public int localizationLanguages;
+
+    @Param({"0"})
+    public int photoSize;
+
+    private String vCard;
+
+    private Card jsCard;
+
+    private VCard2JSContact vCard2JSContact;
+
+    private JSContact2VCard jsContact2VCard;
+
+    @Setup
+    public void setup() {
+
+        SyntheticCorpusGenerator generator = SyntheticCorpusGenerator.builder()
+                                                                     .seed(1)
+                                                                     .addresses(size)
+                                                                     .nameComponents(size + 1)
+                                                                     .localizationLanguages(localizationLanguages)
+                                                                     .localizationsPerLanguage(size)
+                                                                     .vCardProps(size)
+                                                                     .extensions(size)
+                                                                     .extensionDepth(3)
+                                                                     .members(size)
+                                                                     .photoSize(photoSize)
+                                                                     .build();
+        vCard = generator.generateVCard(0);
+        jsCard = generator.generateCard(0);
+        vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+    }
+
+    @Benchmark
+    public List<Card> vCard2JSContact() throws CardException {
+
+        return vCard2JSContact.convert(vCard);
+    }
+
+    @Benchmark
+    public String jsContact2VCard() throws CardException {
+
+        return jsContact2VCard.convertToText(jsCard);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+
+        return jsCard.isValid();
+    }
+
+    @Benchmark
+    public Card getLocalizedVersion() {
+
+        return jsCard.getLocalizedVersion("it");
+    }
+
+}
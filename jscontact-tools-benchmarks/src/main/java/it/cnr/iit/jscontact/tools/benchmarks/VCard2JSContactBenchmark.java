@@ -0,0 +1,68 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of a vCard [RFC6350] as a text into a list of Card objects.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class VCard2JSContactBenchmark {
+
+    @Param({
+            "vcard/vCard-RFC7095.vcf",
+            "vcard/vCard-RFC7483.vcf",
+            "vcard/vCard-Multilingual.vcf",
+            "vcard/vCard-Unstructured.vcf",
+            "vcard/vCard-Wikipedia.vcf",
+            "vcard/vCard-ezvcard-fullcontact.vcf",
+            "vcard/vCard-MULTI-RFC6350.vcf"
+    })
+    public String input;
+
+    private String vCard;
+
+    private VCard2JSContact vCard2JSContact;
+
+    @Setup
+    public void setup() {
+
+        vCard = Corpus.read(input);
+        vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+    }
+
+    @Benchmark
+    public List<Card> convert() throws CardException {
+
+        return vCard2JSContact.convert(vCard);
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.benchmarks;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.xcard2jscontact.XCard2JSContact;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of an xCard [RFC6351] as an XML string into a list of Card objects.
+ *
+ * @author Mario Loffredo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class XCard2JSContactBenchmark {
+
+    @Param({
+            "xcard/xCard-RFC6351.xml",
+            "xcard/xCard-Wikipedia.xml"
+    })
+    public String input;
+
+    private String xCard;
+
+    private XCard2JSContact xCard2JSContact;
+
+    @Setup
+    public void setup() {
+
+        xCard = Corpus.read(input);
+        xCard2JSContact = XCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+    }
+
+    @Benchmark
+    public List<Card> convert() throws CardException {
+
+        return xCard2JSContact.convert(xCard);
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools;
+
+import it.cnr.iit.jscontact.tools.constraints.validators.builder.ValidatorBuilder;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.MimeTypeUtils;
+import it.cnr.iit.jscontact.tools.exceptions.InternalErrorException;
+import it.cnr.iit.jscontact.tools.rdap.JSContactAddressForRdapBuilder;
+import it.cnr.iit.jscontact.tools.rdap.JSContactForRdapBuilder;
+import it.cnr.iit.jscontact.tools.rdap.JSContactForRdapGetter;
+import it.cnr.iit.jscontact.tools.rdap.JSContactNameForRdapBuilder;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jcard2jsontact.JCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2jcard.JSContact2JCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2xcard.JSContact2XCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.converters.xcard2jscontact.XCard2JSContact;
+
+/**
+ * Utility class providing library-wide operations.
+ *
+ * @author Mario Loffredo
+ */
+public class JSContactTools {
+
+    /**
+     * The number of iterations run by {@link #warmUp()}.
+     */
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 50;
+
+    private static final String WARM_UP_VCARD = "BEGIN:VCARD\r\n" +
+            "VERSION:4.0\r\n" +
+            "UID:urn:uuid:8626d863-8c3f-405c-a2cb-bbbb3e3b359f\r\n" +
+            "KIND:individual\r\n" +
+            "LANGUAGE:en\r\n" +
+            "FN;LANGUAGE=en;ALTID=1:Mr. John Q. Public\\, Esq.\r\n" +
+            "FN;LANGUAGE=jp;ALTID=1:ジョン パブリック\r\n" +
+            "N;LANGUAGE=en;ALTID=1:Public;John;Quinlan;Mr.;Esq.\r\n" +
+            "N;LANGUAGE=jp;ALTID=1:パブリック;ジョン;;;\r\n" +
+            "NICKNAME:Johnny\r\n" +
+            "GENDER:M\r\n" +
+            "BDAY:19530415\r\n" +
+            "ADR;TYPE=work;CC=US;LABEL=\"54321 Oak St\\nReston\\nVA\\n20190\\nUSA\":;;54321 Oak St;Reston;VA;20190;USA\r\n" +
+            "TZ:-0500\r\n" +
+            "GEO:geo:46.772673,-71.282945\r\n" +
+            "TEL;VALUE=uri;TYPE=\"voice,work\";PREF=1:tel:+1-555-555-5555;ext=555\r\n" +
+            "TEL;VALUE=uri;TYPE=fax:tel:+1-555-555-5556\r\n" +
+            "EMAIL;TYPE=work:jqpublic@xyz.example.com\r\n" +
+            "IMPP;PREF=1:xmpp:alice@example.com\r\n" +
+            "LANG;TYPE=work;PREF=1:en\r\n" +
+            "LANG;TYPE=work;PREF=2:fr\r\n" +
+            "ORG:ABC\\, Inc.;North American Division;Marketing\r\n" +
+            "TITLE;LANGUAGE=en;ALTID=1:Research Scientist\r\n" +
+            "TITLE;LANGUAGE=jp;ALTID=1:研究者\r\n" +
+            "ROLE:Project Leader\r\n" +
+            "URL:https://example.org/restaurant.french/~chezchic.html\r\n" +
+            "KEY:https://www.example.com/keys/jdoe.cer\r\n" +
+            "PHOTO:https://www.example.com/pub/photos/jqpublic.gif\r\n" +
+            "CALURI:https://calendar.example.com/jqpublic\r\n" +
+            "CATEGORIES:INTERNET,IETF,INDUSTRY\r\n" +
+            "NOTE:This fax number is operational 0800 to 1715 EST\\, Mon-Fri.\r\n" +
+            "RELATED;TYPE=friend:urn:uuid:f81d4fae-7dec-11d0-a765-00a0c91e6bf6\r\n" +
+            "EXPERTISE;LEVEL=beginner:chinese literature\r\n" +
+            "HOBBY;LEVEL=high:reading\r\n" +
+            "X-WARM-UP:value\r\n" +
+            "END:VCARD\r\n";
+
+    private static final Object lock = new Object();
+
+    /**
+     * Initializes the library and primes the JIT compiler, in order to cut the latency of the first operations in a fresh JVM.
+     * It bootstraps the validator and the Jackson object mappers, loads the MIME type tables and the ez-vcard scribes,
+     * and then runs {@value #DEFAULT_WARM_UP_ITERATIONS} times a workload of conversions, validations, (de)serializations and localizations on a reference card.
+     * The method should be invoked at startup, before serving requests and before setting a {@link it.cnr.iit.jscontact.tools.metrics.MetricsRegistry}, otherwise the warm-up operations are reported as well.
+     */
+    public static void warmUp() {
+        warmUp(DEFAULT_WARM_UP_ITERATIONS);
+    }
+
+    /**
+     * Initializes the library and primes the JIT compiler running the warm-up workload the given number of times.
+     *
+     * @param iterations the number of times the warm-up workload is run
+     * @see #warmUp()
+     */
+    public static void warmUp(int iterations) {
+
+        synchronized (lock) {
+            ValidatorBuilder.getValidator();
+            MimeTypeUtils.lookupMimeType("png");
+
+            VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+            JCard2JSContact jCard2JSContact = JCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+            XCard2JSContact xCard2JSContact = XCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+            JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+            JSContact2JCard jsContact2JCard = JSContact2JCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+            JSContact2XCard jsContact2XCard = JSContact2XCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    Card jsCard = vCard2JSContact.convert(WARM_UP_VCARD).get(0);
+                    jsCard.isValid();
+                    jsCard = Card.toJSCard(Card.toJson(jsCard));
+                    jsCard.getLocalizedVersion("jp");
+                    jsContact2VCard.convertToText(jsCard);
+                    jCard2JSContact.convert(jsContact2JCard.convertToJson(jsCard));
+                    xCard2JSContact.convert(jsContact2XCard.convertToXml(jsCard));
+
+                    Card rdapCard = JSContactForRdapBuilder.builder()
+                            .name(JSContactNameForRdapBuilder.builder().full("Mario Loffredo").surname("Loffredo").given("Mario").build())
+                            .org(".it Registry")
+                            .email("mario.loffredo@iit.cnr.it")
+                            .voice("+39.0503139811")
+                            .address(JSContactAddressForRdapBuilder.builder().cc("it").country("Italy").sp("PI").city("Pisa").pc("56124").street("Via Moruzzi, 1").build())
+                            .nameLoc("jp", JSContactNameForRdapBuilder.builder().full("マリオ ロフレド").surname("ロフレド").given("マリオ").build())
+                            .build();
+                    JSContactForRdapGetter rdapGetter = JSContactForRdapGetter.of(rdapCard);
+                    rdapGetter.name();
+                    rdapGetter.nameLoc("jp");
+                }
+            } catch (Exception e) {
+                throw new InternalErrorException("Warm-up failed: " + e.getMessage());
+            }
+        }
+    }
+
+}
@@ -16,11 +16,11 @@
 package it.cnr.iit.jscontact.tools.constraints.validators;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import it.cnr.iit.jscontact.tools.constraints.LocalizationsConstraint;
 import it.cnr.iit.jscontact.tools.dto.Card;
 import it.cnr.iit.jscontact.tools.dto.utils.ClassUtils;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.dto.utils.JsonPointerUtils;
 
 import javax.validation.ConstraintValidator;
@@ -31,8 +31,6 @@ import java.util.Map;
 
 public class LocalizationsValidator implements ConstraintValidator<LocalizationsConstraint, Card> {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     public void initialize(LocalizationsConstraint constraintAnnotation) {
     }
 
@@ -106,7 +104,7 @@ public class LocalizationsValidator implements ConstraintValidator<Localizations
                             context.buildConstraintViolationWithTemplate("type mismatch of JSON pointer in localizations: " + localization.getKey()).addConstraintViolation();
                             return false;
                         }
-                        mapper.convertValue(localizedNode, ClassUtils.forName(nodeClassName));
+                        JSContactMapper.getMapper().convertValue(localizedNode, ClassUtils.forName(nodeClassName));
                     }
                 } catch (Exception e) {
                     context.buildConstraintViolationWithTemplate("type mismatch of JSON pointer in localizations: " + localization.getKey()).addConstraintViolation();
@@ -18,16 +18,14 @@ package it.cnr.iit.jscontact.tools.constraints.validators;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.constraints.NotNullAnyConstraint;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 
 import java.lang.reflect.Field;
 import java.util.Map;
 
 public class NotNullAnyValidator implements ConstraintValidator<NotNullAnyConstraint, Object> {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     private String[] fieldNames;
 
     public void initialize(NotNullAnyConstraint constraintAnnotation) {
@@ -47,7 +45,7 @@ public class NotNullAnyValidator implements ConstraintValidator<NotNullAnyConstr
                 Object property = field.get(object);
                 if (property != null) {
                     try {
-                        Map<String, Object> map = mapper.convertValue(property, Map.class);
+                        Map<String, Object> map = JSContactMapper.getMapper().convertValue(property, Map.class);
                         if (!map.isEmpty())
                             return true;
                     } catch (IllegalArgumentException e) {
@@ -15,7 +15,6 @@
  */
 package it.cnr.iit.jscontact.tools.constraints.validators;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.constraints.NotNullDependencyConstraint;
 
 import javax.validation.ConstraintValidator;
@@ -24,8 +23,6 @@ import java.lang.reflect.Field;
 
 public class NotNullDependencyValidator implements ConstraintValidator<NotNullDependencyConstraint, Object> {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     private String fieldName;
     private String[] dependingFieldNames;
 
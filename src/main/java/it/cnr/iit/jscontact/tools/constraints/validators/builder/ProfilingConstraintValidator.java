@@ -0,0 +1,67 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.constraints.validators.builder;
+
+import lombok.Getter;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorInitializationContext;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+
+/**
+ * Constraint validator measuring the invocations of another constraint validator and reporting them to the {@link ValidationProfiler}.
+ *
+ * @author Mario Loffredo
+ */
+class ProfilingConstraintValidator<A extends Annotation, T> implements HibernateConstraintValidator<A, T> {
+
+    @Getter
+    private final ConstraintValidator<A, T> delegate;
+
+    private final String name;
+
+    ProfilingConstraintValidator(ConstraintValidator<A, T> delegate, String name) {
+        this.delegate = delegate;
+        this.name = name;
+    }
+
+    @Override
+    public void initialize(ConstraintDescriptor<A> constraintDescriptor, HibernateConstraintValidatorInitializationContext initializationContext) {
+
+        if (delegate instanceof HibernateConstraintValidator)
+            ((HibernateConstraintValidator<A, T>) delegate).initialize(constraintDescriptor, initializationContext);
+    }
+
+    @Override
+    public void initialize(A constraintAnnotation) {
+        delegate.initialize(constraintAnnotation);
+    }
+
+    @Override
+    public boolean isValid(T value, ConstraintValidatorContext context) {
+
+        long start = System.nanoTime();
+        try {
+            return delegate.isValid(value, context);
+        } finally {
+            ValidationProfiler.record(name, System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.constraints.validators.builder;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+
+/**
+ * Constraint validator factory wrapping the constraint validators created by another factory with {@link ProfilingConstraintValidator} instances.
+ *
+ * @author Mario Loffredo
+ */
+class ProfilingConstraintValidatorFactory implements ConstraintValidatorFactory {
+
+    private final ConstraintValidatorFactory delegate;
+
+    ProfilingConstraintValidatorFactory(ConstraintValidatorFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+
+        T instance = delegate.getInstance(key);
+        return (T) new ProfilingConstraintValidator<>((ConstraintValidator) instance, key.getSimpleName());
+    }
+
+    @Override
+    public void releaseInstance(ConstraintValidator<?, ?> instance) {
+
+        if (instance instanceof ProfilingConstraintValidator)
+            delegate.releaseInstance(((ProfilingConstraintValidator<?, ?>) instance).getDelegate());
+        else
+            delegate.releaseInstance(instance);
+    }
+
+}
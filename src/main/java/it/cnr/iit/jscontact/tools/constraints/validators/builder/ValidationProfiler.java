@@ -0,0 +1,122 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.constraints.validators.builder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Utility class for profiling the validation of JSContact objects.
+ * When the profiling is enabled, the number of invocations and the cumulative time of each constraint validator
+ * (both the custom ones and the ones provided by Hibernate Validator) are recorded, so that the most expensive constraints can be identified.
+ * The profiling is disabled by default and, while disabled, the validation doesn't take any measurement.
+ *
+ * @author Mario Loffredo
+ */
+public class ValidationProfiler {
+
+    /**
+     * Class representing a snapshot of the measurements of a constraint validator.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Statistics {
+
+        private final long invocations;
+        private final long totalNanos;
+
+        /**
+         * Returns the average time spent per invocation, in nanoseconds.
+         *
+         * @return the average time spent or 0 if the validator has never been invoked
+         */
+        public double getAverageNanos() {
+            return (invocations == 0) ? 0 : (double) totalNanos / invocations;
+        }
+    }
+
+    private static class Accumulator {
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+    }
+
+    private static final Map<String, Accumulator> validators = new ConcurrentHashMap<>();
+
+    private ValidationProfiler() {}
+
+    /**
+     * Enables the profiling.
+     */
+    public static void enable() {
+        ValidatorBuilder.setProfilingEnabled(true);
+    }
+
+    /**
+     * Disables the profiling. The measurements collected so far are preserved.
+     */
+    public static void disable() {
+        ValidatorBuilder.setProfilingEnabled(false);
+    }
+
+    /**
+     * Tests if the profiling is enabled.
+     *
+     * @return true if the profiling is enabled, false otherwise
+     */
+    public static boolean isEnabled() {
+        return ValidatorBuilder.isProfilingEnabled();
+    }
+
+    static void record(String validator, long nanos) {
+
+        Accumulator accumulator = validators.computeIfAbsent(validator, k -> new Accumulator());
+        accumulator.invocations.increment();
+        accumulator.totalNanos.add(nanos);
+    }
+
+    /**
+     * Returns the measurements of each constraint validator, ordered from the most to the least time consuming.
+     *
+     * @return a map where the key is the simple name of the constraint validator class and the value is the related statistics
+     */
+    public static Map<String, Statistics> getStatistics() {
+
+        List<Map.Entry<String, Statistics>> entries = new ArrayList<>();
+        for (Map.Entry<String, Accumulator> entry : validators.entrySet())
+            entries.add(new AbstractMap.SimpleEntry<>(entry.getKey(), new Statistics(entry.getValue().invocations.sum(), entry.getValue().totalNanos.sum())));
+        entries.sort((e1, e2) -> Long.compare(e2.getValue().getTotalNanos(), e1.getValue().getTotalNanos()));
+
+        Map<String, Statistics> statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, Statistics> entry : entries)
+            statistics.put(entry.getKey(), entry.getValue());
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Discards all the measurements.
+     */
+    public static void reset() {
+        validators.clear();
+    }
+
+}
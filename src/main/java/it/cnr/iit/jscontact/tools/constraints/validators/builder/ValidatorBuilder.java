@@ -15,8 +15,6 @@
  */
 package it.cnr.iit.jscontact.tools.constraints.validators.builder;
 
-import lombok.Getter;
-
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
@@ -30,7 +28,46 @@ public class ValidatorBuilder {
 
     }
 
-    @Getter
     private static final Validator validator;
 
+    private static volatile Validator profilingValidator;
+
+    private static volatile boolean profilingEnabled = false;
+
+    /**
+     * Returns the validator used to validate JSContact objects.
+     * If the validation profiling is enabled, the returned validator measures each constraint validator invocation.
+     *
+     * @return the validator
+     * @see ValidationProfiler
+     */
+    public static Validator getValidator() {
+
+        return (profilingEnabled) ? getProfilingValidator() : validator;
+    }
+
+    private static Validator getProfilingValidator() {
+
+        if (profilingValidator == null) {
+            synchronized (ValidatorBuilder.class) {
+                if (profilingValidator == null) {
+                    ValidatorFactory factory = Validation.byDefaultProvider().configure().buildValidatorFactory();
+                    profilingValidator = factory.usingContext()
+                                                .constraintValidatorFactory(new ProfilingConstraintValidatorFactory(factory.getConstraintValidatorFactory()))
+                                                .getValidator();
+                }
+            }
+        }
+
+        return profilingValidator;
+    }
+
+    static void setProfilingEnabled(boolean enabled) {
+        profilingEnabled = enabled;
+    }
+
+    static boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
 }
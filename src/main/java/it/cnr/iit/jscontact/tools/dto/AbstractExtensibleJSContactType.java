@@ -17,13 +17,13 @@ package it.cnr.iit.jscontact.tools.dto;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.constraints.CaseInsensitiveExtensionNamesConstraint;
 import it.cnr.iit.jscontact.tools.dto.annotations.JSContactCollection;
 import it.cnr.iit.jscontact.tools.dto.interfaces.HasContexts;
 import it.cnr.iit.jscontact.tools.dto.interfaces.HasKind;
 import it.cnr.iit.jscontact.tools.dto.interfaces.HasOptionalKind;
 import it.cnr.iit.jscontact.tools.dto.utils.DelimiterUtils;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.exceptions.InternalErrorException;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -44,8 +44,6 @@ import java.util.*;
 @NoArgsConstructor
 public abstract class AbstractExtensibleJSContactType {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     Map<String,Object> extensions;
 
     @JsonAnyGetter
@@ -164,8 +162,8 @@ public abstract class AbstractExtensibleJSContactType {
     public static Object convertToJSContactType(Class classs, Object value) {
 
         try {
-            String json = mapper.writeValueAsString(value);
-            return mapper.readValue(json, classs);
+            // the value is converted through a tree rather than by convertValue, which would return the value itself if it is already of the given class
+            return JSContactMapper.getMapper().treeToValue(JSContactMapper.getMapper().valueToTree(value), classs);
         } catch (Exception e) {
             return null;
         }
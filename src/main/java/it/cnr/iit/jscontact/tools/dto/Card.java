@@ -16,14 +16,14 @@
 package it.cnr.iit.jscontact.tools.dto;
 
 import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.DateDeserializers;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import it.cnr.iit.jscontact.tools.constraints.*;
 import it.cnr.iit.jscontact.tools.constraints.validators.builder.ValidatorBuilder;
@@ -34,7 +34,11 @@ import it.cnr.iit.jscontact.tools.dto.deserializers.CardKindDeserializer;
 import it.cnr.iit.jscontact.tools.dto.interfaces.IsIANAType;
 import it.cnr.iit.jscontact.tools.dto.serializers.VCardPropsSerializer;
 import it.cnr.iit.jscontact.tools.dto.serializers.UTCDateTimeSerializer;
+import it.cnr.iit.jscontact.tools.dto.utils.CardIterator;
+import it.cnr.iit.jscontact.tools.dto.utils.CardNdjson;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.dto.utils.JsonPointerUtils;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.ArrayUtils;
@@ -45,8 +49,15 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Class mapping the Card object as defined in section 2 of [RFC9553] and section 2.15.1 of [RFC9555].
@@ -77,8 +88,6 @@ import java.util.*;
 @SuperBuilder
 public class Card extends AbstractExtensibleJSContactType implements IsIANAType, Serializable {
 
-    private static ObjectMapper mapper = new ObjectMapper();
-
     /*
     Metadata Properties
      */
@@ -830,7 +839,7 @@ public class Card extends AbstractExtensibleJSContactType implements IsIANAType,
         if (localizationsPerLanguage == null)
             return null;
 
-        JsonNode root = mapper.valueToTree(this);
+        JsonNode root = JSContactMapper.getMapper().valueToTree(this);
 
         for (Map.Entry<String,JsonNode> localization : localizationsPerLanguage.entrySet()) {
             JsonPointer jsonPointer = JsonPointer.compile(JsonPointerUtils.toAbsolute(localization.getKey()));
@@ -846,7 +855,7 @@ public class Card extends AbstractExtensibleJSContactType implements IsIANAType,
             }
         }
 
-        Card localizedCard = mapper.convertValue(root, Card.class);
+        Card localizedCard = JSContactMapper.getMapper().convertValue(root, Card.class);
         localizedCard.setLanguage(language);
         localizedCard.setLocalizations(null);
 
@@ -881,34 +890,72 @@ public class Card extends AbstractExtensibleJSContactType implements IsIANAType,
 
     public static Card toJSCard(String json) throws JsonProcessingException {
 
-        return mapper.readValue(json, Card.class);
+        return JSContactMapper.cardReader().readValue(json);
 
     }
 
     public static String toJson(Card jsCard) throws JsonProcessingException {
 
-        return mapper.writeValueAsString(jsCard);
+        return JSContactMapper.cardWriter().writeValueAsString(jsCard);
 
     }
 
     /**
-     * Deserialize a single Card object or an array of Card objects
+     * Deserialize a single Card object or an array of Card objects.
+     * The first token decides which of them is expected, so the JSON text is parsed only once.
      *
      * @param json the single Card object or the array of Card objects in JSON
      * @return an array of Card objects
-     * @throws JsonProcessingException never thrown
+     * @throws JsonProcessingException if json is neither a Card object nor an array of Card objects
      */
     public static Card[] toJSCards(String json) throws JsonProcessingException {
 
-        SimpleModule module = new SimpleModule();
-        mapper.registerModule(module);
-        try {
-            return mapper.readValue(json, Card[].class);
-        } catch(Exception e) {
-            return new Card[]{mapper.readValue(json, Card.class)};
+        try (JsonParser parser = JSContactMapper.cardsReader().createParser(json)) {
+            if (parser.nextToken() == JsonToken.START_ARRAY)
+                return JSContactMapper.cardsReader().readValue(parser);
+            return new Card[]{JSContactMapper.cardReader().readValue(parser)};
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Lazily deserialize a single Card object or an array of Card objects read from an input stream.
+     * The first token decides which of them is expected, then Card objects are deserialized one at a time while the stream is consumed,
+     * so that neither the whole JSON text nor the whole array is kept in memory.
+     * An array element that is not an object (e.g. null) or malformed JSON raises an UncheckedIOException wrapping a JsonProcessingException while the stream is consumed.
+     * Closing the stream closes the input stream.
+     *
+     * @param in the input stream of a single Card object or an array of Card objects in JSON, whose encoding is auto-detected
+     * @return the sequential stream of Card objects
+     * @throws IOException if the input stream cannot be read or its content doesn't start as a Card object or an array of Card objects
+     */
+    public static Stream<Card> stream(InputStream in) throws IOException {
+
+        return stream(JSContactMapper.cardReader().createParser(in));
+    }
+
+    /**
+     * Lazily deserialize a single Card object or an array of Card objects read from a reader.
+     * Closing the stream closes the reader.
+     *
+     * @param reader the reader of a single Card object or an array of Card objects in JSON
+     * @return the sequential stream of Card objects
+     * @throws IOException if the reader cannot be read or its content doesn't start as a Card object or an array of Card objects
+     * @see #stream(InputStream)
+     */
+    public static Stream<Card> stream(Reader reader) throws IOException {
+
+        return stream(JSContactMapper.cardReader().createParser(reader));
+    }
+
+    private static Stream<Card> stream(JsonParser parser) throws IOException {
+
+        return CardIterator.of(parser).stream();
+    }
+
     /**
      * Serialize an array of Card objects
      *
@@ -918,7 +965,57 @@ public class Card extends AbstractExtensibleJSContactType implements IsIANAType,
      */
     public static String toJson(Card[] jsCards) throws JsonProcessingException {
 
-        return mapper.writeValueAsString(jsCards);
+        return JSContactMapper.cardWriter().writeValueAsString(jsCards);
+    }
+
+    /**
+     * Serialize an array of Card objects into a writer without building the whole JSON text in memory
+     *
+     * @param writer the writer, flushed but left open
+     * @param jsCards the array of Card objects
+     * @throws IOException if the writer cannot be written
+     */
+    public static void toJson(Writer writer, Card[] jsCards) throws IOException {
+
+        JSContactMapper.cardStreamWriter().writeValue(writer, jsCards);
+    }
+
+    /**
+     * Serialize an array of Card objects into an output stream, encoded in UTF-8, without building the whole JSON text in memory
+     *
+     * @param out the output stream, flushed but left open
+     * @param jsCards the array of Card objects
+     * @throws IOException if the output stream cannot be written
+     */
+    public static void toJson(OutputStream out, Card[] jsCards) throws IOException {
+
+        JSContactMapper.cardStreamWriter().writeValue(out, jsCards);
+    }
+
+    /**
+     * Serialize an array of Card objects in JSON Lines format [JSON Lines], i.e. one Card object per line
+     *
+     * @param jsCards the array of Card objects
+     * @return the Card objects in JSON Lines format, each line ending with a line feed
+     * @throws JsonProcessingException if a Card object cannot be serialized
+     * @see CardNdjson
+     */
+    public static String toNdjson(Card[] jsCards) throws JsonProcessingException {
+
+        return CardNdjson.toNdjson(jsCards);
+    }
+
+    /**
+     * Deserialize the Card objects included in a JSON Lines text [JSON Lines]. Blank lines are ignored.
+     *
+     * @param ndjson the Card objects in JSON Lines format
+     * @return an array of Card objects
+     * @throws JsonProcessingException if a line is not a Card object
+     * @see CardNdjson
+     */
+    public static Card[] fromNdjson(String ndjson) throws JsonProcessingException {
+
+        return CardNdjson.fromNdjson(ndjson);
     }
 
     /**
@@ -961,6 +1058,17 @@ public class Card extends AbstractExtensibleJSContactType implements IsIANAType,
     @JsonIgnore
     public boolean isValid() {
 
+        if (!Metrics.isEnabled())
+            return validate();
+
+        long start = System.nanoTime();
+        boolean valid = validate();
+        Metrics.recordTime(Metrics.VALIDATION_TIME, System.nanoTime() - start, Metrics.TAG_RESULT, valid ? Metrics.RESULT_SUCCESS : Metrics.RESULT_FAILURE);
+        return valid;
+    }
+
+    private boolean validate() {
+
         validationMessages = new ArrayList<>();
 
         Set<ConstraintViolation<Card>> constraintViolations;
@@ -19,8 +19,8 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.dto.VCardParam;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import lombok.NoArgsConstructor;
 
 import java.io.IOException;
@@ -37,8 +37,6 @@ import java.util.Map;
 @NoArgsConstructor
 public class VCardParamsDeserializer extends JsonDeserializer<Map<String, VCardParam>> {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     @Override
     public Map<String, VCardParam> deserialize(JsonParser jp, DeserializationContext ctxt)
             throws IOException {
@@ -50,7 +48,7 @@ public class VCardParamsDeserializer extends JsonDeserializer<Map<String, VCardP
             String paramName = entry.getKey();
             VCardParam vCardParam;
             if (entry.getValue().isArray()) {
-                List<String> array = mapper.treeToValue(entry.getValue(), List.class);
+                List<String> array = JSContactMapper.reader(List.class).readValue(entry.getValue());
                 vCardParam = VCardParam.builder().values(array.toArray(new String[0])).build();
             }
             else
@@ -1,7 +1,7 @@
 package it.cnr.iit.jscontact.tools.dto.serializers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 
 /**
  * Utility class for serializing objects into formatted JSON.
@@ -10,7 +10,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public class PrettyPrintSerializer {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
     /**
      * Returns the formatted JSON text of a given object
      *
@@ -20,7 +19,7 @@ public class PrettyPrintSerializer {
      */
     public static String print(Object o) throws JsonProcessingException {
 
-        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(o);
+        return JSContactMapper.prettyWriter().writeValueAsString(o);
 
     }
 }
@@ -0,0 +1,86 @@
+package it.cnr.iit.jscontact.tools.dto.utils;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import it.cnr.iit.jscontact.tools.dto.Card;
+
+import java.io.IOException;
+
+/**
+ * Iterator lazily deserializing Card objects from a JSON parser, one at a time.
+ * <p>
+ * Any element other than an object (e.g. null) raises a JsonParseException, wrapped in an UncheckedIOException,
+ * rather than being taken as the end of the sequence.
+ * </p>
+ *
+ * @author Mario Loffredo
+ */
+public final class CardIterator extends ReadAheadIterator<Card> {
+
+    private final JsonParser parser;
+    private final boolean lines;
+    private final boolean array;
+    private boolean done;
+
+    private CardIterator(JsonParser parser, boolean lines, boolean array, boolean done) {
+
+        this.parser = parser;
+        this.lines = lines;
+        this.array = array;
+        this.done = done;
+    }
+
+    /**
+     * Creates the iterator of a single Card object or an array of Card objects. The first token decides which of them is expected.
+     *
+     * @param parser the parser, closed when the iteration is over
+     * @return the iterator of the Card objects
+     * @throws IOException if the first token cannot be read or doesn't start a Card object or an array of Card objects
+     */
+    public static CardIterator of(JsonParser parser) throws IOException {
+
+        try {
+            JsonToken token = parser.nextToken();
+            if (token != null && token != JsonToken.START_ARRAY && token != JsonToken.START_OBJECT)
+                throw new JsonParseException(parser, "Expected a Card object or an array of Card objects");
+            return new CardIterator(parser, false, token == JsonToken.START_ARRAY, token == null);
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the iterator of a sequence of Card objects separated by whitespace, as in JSON Lines [JSON Lines].
+     *
+     * @param parser the parser, closed when the iteration is over
+     * @return the iterator of the Card objects
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static CardIterator lines(JsonParser parser) {
+        return new CardIterator(parser, true, false, false);
+    }
+
+    @Override
+    protected Card readNext() throws IOException {
+
+        if (done)
+            return null;
+        if (!array && !lines)
+            done = true;
+        else {
+            JsonToken token = parser.nextToken();
+            if (token == null || (array && token == JsonToken.END_ARRAY))
+                return null;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+            throw new JsonParseException(parser, "Expected a Card object");
+        return JSContactMapper.cardReader().readValue(parser);
+    }
+
+    @Override
+    protected void closeSource() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,272 @@
+package it.cnr.iit.jscontact.tools.dto.utils;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.utils.ChunkUtils;
+import org.apache.commons.io.input.CharSequenceReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Utility class for reading and writing Card objects in JSON Lines format [JSON Lines], also known as NDJSON, where each line includes a single Card object.
+ *
+ * @see <a href="https://jsonlines.org/">JSON Lines</a>
+ * @author Mario Loffredo
+ */
+public final class CardNdjson {
+
+    private CardNdjson() {}
+
+    /**
+     * Serialize an array of Card objects in JSON Lines format [JSON Lines], i.e. one Card object per line.
+     * Card objects are written on a single line even if the mapper set through JSContactMapper.setMapper enables indentation.
+     *
+     * @param jsCards the array of Card objects
+     * @return the Card objects in JSON Lines format, each line ending with a line feed
+     * @throws JsonProcessingException if a Card object cannot be serialized
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static String toNdjson(Card[] jsCards) throws JsonProcessingException {
+
+        StringBuilder sb = new StringBuilder();
+        for (Card jsCard : jsCards)
+            sb.append(JSContactMapper.cardLineWriter().writeValueAsString(jsCard)).append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * Serialize an array of Card objects in JSON Lines format [JSON Lines] into a writer.
+     * As the lines are independent, successive calls on the same writer produce a single JSON Lines text.
+     *
+     * @param writer the writer, flushed but left open
+     * @param jsCards the array of Card objects
+     * @throws IOException if the writer cannot be written
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static void toNdjson(Writer writer, Card[] jsCards) throws IOException {
+
+        for (Card jsCard : jsCards) {
+            JSContactMapper.cardLineStreamWriter().writeValue(writer, jsCard);
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Serialize an array of Card objects in JSON Lines format [JSON Lines] into an output stream, encoded in UTF-8.
+     * As the lines are independent, successive calls on the same output stream produce a single JSON Lines text.
+     *
+     * @param out the output stream, flushed but left open
+     * @param jsCards the array of Card objects
+     * @throws IOException if the output stream cannot be written
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static void toNdjson(OutputStream out, Card[] jsCards) throws IOException {
+
+        for (Card jsCard : jsCards) {
+            JSContactMapper.cardLineStreamWriter().writeValue(out, jsCard);
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Deserialize the Card objects included in a JSON Lines text [JSON Lines]. Blank lines are ignored.
+     *
+     * @param ndjson the Card objects in JSON Lines format
+     * @return an array of Card objects
+     * @throws JsonProcessingException if a line is not a Card object
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static Card[] fromNdjson(String ndjson) throws JsonProcessingException {
+
+        try (JsonParser parser = JSContactMapper.cardReader().createParser(ndjson)) {
+            return readNdjson(parser).toArray(new Card[0]);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Card> readNdjson(JsonParser parser) throws IOException {
+
+        List<Card> jsCards = new ArrayList<>();
+        try {
+            CardIterator iterator = CardIterator.lines(parser);
+            while (iterator.hasNext())
+                jsCards.add(iterator.next());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return jsCards;
+    }
+
+    /**
+     * Lazily deserialize the Card objects included in a JSON Lines text [JSON Lines] read from an input stream.
+     * Card objects are deserialized one at a time while the stream is consumed. Closing the stream closes the input stream.
+     *
+     * @param in the input stream of the Card objects in JSON Lines format, whose encoding is auto-detected
+     * @return the sequential stream of Card objects
+     * @throws IOException if the parser cannot be created
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static Stream<Card> streamNdjson(InputStream in) throws IOException {
+
+        return CardIterator.lines(JSContactMapper.cardReader().createParser(in)).stream();
+    }
+
+    /**
+     * Lazily deserialize the Card objects included in a JSON Lines text [JSON Lines] read from a reader.
+     * Closing the stream closes the reader.
+     *
+     * @param reader the reader of the Card objects in JSON Lines format
+     * @return the sequential stream of Card objects
+     * @throws IOException if the parser cannot be created
+     * @see #streamNdjson(InputStream)
+     */
+    public static Stream<Card> streamNdjson(Reader reader) throws IOException {
+
+        return CardIterator.lines(JSContactMapper.cardReader().createParser(reader)).stream();
+    }
+
+    /**
+     * Deserialize the Card objects included in a JSON Lines text [JSON Lines] in parallel.
+     * The text is split on line feeds into chunks of at most chunkSize lines, which are deserialized as tasks of the given executor (e.g. a ForkJoinPool)
+     * directly from the text, without copying them.
+     * The Card objects are returned in input order; if more chunks fail, the exception raised by the first one in input order is thrown
+     * and its location (i.e. line number and character offset) refers to the whole text.
+     *
+     * @param ndjson the Card objects in JSON Lines format
+     * @param executor the executor running the deserialization of the chunks
+     * @param chunkSize the maximum number of lines deserialized by a single task
+     * @return an array of Card objects
+     * @throws JsonProcessingException if a line is not a Card object
+     * @throws IllegalArgumentException if chunkSize is not positive
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static Card[] fromNdjsonParallel(CharSequence ndjson, Executor executor, int chunkSize) throws JsonProcessingException {
+
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive");
+
+        List<Long> starts = new ArrayList<>();
+        int position = 0;
+        while (position < ndjson.length()) {
+            starts.add((long) position);
+            for (int lines = 0; lines < chunkSize && position < ndjson.length(); )
+                if (ndjson.charAt(position++) == '\n')
+                    lines++;
+        }
+        starts.add((long) ndjson.length());
+
+        try {
+            return fromNdjsonChunks(starts, chunkSize, false, executor,
+                    (start, end) -> JSContactMapper.cardReader().createParser(new CharSequenceReader(ndjson, (int) start, (int) end)));
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deserialize the Card objects included in a UTF-8 encoded JSON Lines file [JSON Lines] in parallel.
+     * The file is split on line feeds into chunks of at most chunkSize lines, which are memory-mapped and deserialized as tasks of the given executor (e.g. a ForkJoinPool),
+     * so the file is never loaded as a whole.
+     * The Card objects are returned in input order; if more chunks fail, the exception raised by the first one in input order is thrown
+     * and its location (i.e. line number and byte offset) refers to the whole file.
+     *
+     * @param path the path of a file including the Card objects in JSON Lines format
+     * @param executor the executor running the deserialization of the chunks
+     * @param chunkSize the maximum number of lines deserialized by a single task
+     * @return an array of Card objects
+     * @throws JsonProcessingException if a line is not a Card object
+     * @throws IOException if the file cannot be read or a chunk is larger than 2GB
+     * @throws IllegalArgumentException if chunkSize is not positive
+     * @see <a href="https://jsonlines.org/">JSON Lines</a>
+     */
+    public static Card[] fromNdjsonParallel(Path path, Executor executor, int chunkSize) throws IOException {
+
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<Long> starts = new ArrayList<>();
+            if (size > 0)
+                starts.add(0L);
+            try (InputStream in = Files.newInputStream(path)) {
+                byte[] buffer = new byte[1 << 16];
+                long position = 0;
+                int lines = 0;
+                for (int n; (n = in.read(buffer)) > 0; ) {
+                    for (int i = 0; i < n; i++) {
+                        position++;
+                        if (buffer[i] == '\n' && ++lines == chunkSize && position < size) {
+                            starts.add(position);
+                            lines = 0;
+                        }
+                    }
+                }
+            }
+            starts.add(size);
+
+            return fromNdjsonChunks(starts, chunkSize, true, executor, (start, end) -> {
+                if (end - start > Integer.MAX_VALUE)
+                    throw new IOException("JSON Lines chunk larger than 2GB at byte offset " + start);
+                return JSContactMapper.cardReader().createParser(new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkParser {
+        JsonParser open(long start, long end) throws IOException;
+    }
+
+    // starts holds the offset of each chunk followed by the end of the input; all chunks but the last one include chunkSize lines
+    private static Card[] fromNdjsonChunks(List<Long> starts, int chunkSize, boolean bytes, Executor executor, ChunkParser chunkParser) throws IOException {
+
+        List<Card> jsCards = ChunkUtils.runInChunks(starts.size() - 1, executor, 1, IOException.class, (from, to) -> {
+            long start = starts.get(from);
+            try (JsonParser parser = chunkParser.open(start, starts.get(to))) {
+                return readNdjson(parser);
+            } catch (JsonProcessingException e) {
+                throw relocate(e, start, (long) from * chunkSize, bytes);
+            }
+        });
+        return jsCards.toArray(new Card[0]);
+    }
+
+    // moves the location of an error found in a chunk starting at the given offset and following the given number of lines
+    private static JsonProcessingException relocate(JsonProcessingException e, long start, long lines, boolean bytes) {
+
+        JsonLocation location = e.getLocation();
+        if (location == null)
+            return e;
+        JsonLocation absolute = new JsonLocation(location.contentReference(),
+                bytes ? start + location.getByteOffset() : -1,
+                bytes ? -1 : start + location.getCharOffset(),
+                (int) (lines + location.getLineNr()),
+                location.getColumnNr());
+        return new JsonParseException(null, e.getOriginalMessage(), absolute, e);
+    }
+}
@@ -0,0 +1,181 @@
+package it.cnr.iit.jscontact.tools.dto.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import it.cnr.iit.jscontact.tools.dto.Card;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility class holding the Jackson ObjectMappers [Jackson Project] shared by the library.
+ * <p>
+ * ObjectReader and ObjectWriter instances are immutable, so they are created once per type and reused by every thread.
+ * The library internals (e.g. vCard conversions, JSPROP values and localizations) always use a private default mapper,
+ * returned by {@link #getMapper()}, so that their results don't depend on the user configuration.
+ * The mapper serializing and deserializing Card objects on behalf of the user (i.e. the Card objects readers and writers)
+ * can instead be replaced through {@link #setMapper(ObjectMapper)}: it must be fully configured beforehand
+ * because the readers and writers created from it don't see later changes to its configuration.
+ * </p>
+ *
+ * @see <a href="https://github.com/FasterXML/jackson">Jackson Project</a>
+ * @author Mario Loffredo
+ */
+public final class JSContactMapper {
+
+    private static final class Registry {
+
+        private final ObjectMapper mapper;
+        private final ObjectWriter writer;
+        private final ObjectWriter streamWriter;
+        private final ObjectWriter lineWriter;
+        private final ObjectWriter lineStreamWriter;
+        private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+        private Registry(ObjectMapper mapper) {
+            this.mapper = mapper;
+            this.writer = mapper.writer();
+            this.streamWriter = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.lineWriter = writer.without(SerializationFeature.INDENT_OUTPUT);
+            this.lineStreamWriter = lineWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        private ObjectReader reader(Class<?> type) {
+            return readers.computeIfAbsent(type, mapper::readerFor);
+        }
+    }
+
+    private static final Registry INTERNAL = new Registry(new ObjectMapper());
+    private static final ObjectWriter PRETTY_WRITER = INTERNAL.mapper.writerWithDefaultPrettyPrinter();
+
+    private static volatile Registry cards = INTERNAL;
+
+    private JSContactMapper() {}
+
+    /**
+     * Returns the ObjectMapper used by the library internals.
+     * It must not be reconfigured and it is not affected by {@link #setMapper(ObjectMapper)}.
+     *
+     * @return the internal ObjectMapper
+     */
+    public static ObjectMapper getMapper() {
+        return INTERNAL.mapper;
+    }
+
+    /**
+     * Returns the ObjectMapper serializing and deserializing Card objects on behalf of the user.
+     *
+     * @return the internal ObjectMapper or the one supplied through {@link #setMapper(ObjectMapper)}
+     */
+    public static ObjectMapper getCardMapper() {
+        return cards.mapper;
+    }
+
+    /**
+     * Replaces the ObjectMapper serializing and deserializing Card objects on behalf of the user
+     * (e.g. by {@link Card#toJson(Card)} and {@link Card#toJSCards(String)}) and discards the readers and writers created from the previous one.
+     * The library internals keep using the mapper returned by {@link #getMapper()}.
+     *
+     * @param mapper the fully configured ObjectMapper
+     */
+    public static void setMapper(ObjectMapper mapper) {
+
+        if (mapper == null)
+            throw new IllegalArgumentException("mapper cannot be null");
+        cards = new Registry(mapper);
+    }
+
+    /**
+     * Restores the internal ObjectMapper as the one serializing and deserializing Card objects.
+     */
+    public static void resetMapper() {
+        cards = INTERNAL;
+    }
+
+    /**
+     * Returns the reader of the given type used by the library internals.
+     *
+     * @param type the type to be deserialized
+     * @return the ObjectReader of the given type
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return INTERNAL.reader(type);
+    }
+
+    /**
+     * Returns the writer of any object used by the library internals.
+     *
+     * @return the internal ObjectWriter
+     */
+    public static ObjectWriter writer() {
+        return INTERNAL.writer;
+    }
+
+    /**
+     * Returns the writer of any object using the default pretty printer.
+     *
+     * @return the internal pretty printing ObjectWriter
+     */
+    public static ObjectWriter prettyWriter() {
+        return PRETTY_WRITER;
+    }
+
+    /**
+     * Returns the reader of a Card object.
+     *
+     * @return the ObjectReader of Card
+     */
+    public static ObjectReader cardReader() {
+        return cards.reader(Card.class);
+    }
+
+    /**
+     * Returns the reader of an array of Card objects.
+     *
+     * @return the ObjectReader of Card[]
+     */
+    public static ObjectReader cardsReader() {
+        return cards.reader(Card[].class);
+    }
+
+    /**
+     * Returns the writer of Card objects.
+     *
+     * @return the ObjectWriter of Card objects
+     */
+    public static ObjectWriter cardWriter() {
+        return cards.writer;
+    }
+
+    /**
+     * Returns the writer of Card objects into a Writer or an OutputStream, which is flushed but left open.
+     *
+     * @return the ObjectWriter of Card objects not closing the output
+     */
+    public static ObjectWriter cardStreamWriter() {
+        return cards.streamWriter;
+    }
+
+    /**
+     * Returns the writer of Card objects on a single line, even if the mapper enables indentation.
+     *
+     * @return the ObjectWriter of Card objects without indentation
+     */
+    public static ObjectWriter cardLineWriter() {
+        return cards.lineWriter;
+    }
+
+    /**
+     * Returns the writer of Card objects on a single line into a Writer or an OutputStream, which is flushed but left open.
+     *
+     * @return the ObjectWriter of Card objects without indentation not closing the output
+     * @see #cardLineWriter()
+     */
+    public static ObjectWriter cardLineStreamWriter() {
+        return cards.lineStreamWriter;
+    }
+
+}
@@ -2,7 +2,6 @@ package it.cnr.iit.jscontact.tools.dto.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Calendar;
 
 /**
@@ -12,8 +11,6 @@ import java.util.Calendar;
  */
 public class JSPropUtils {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     /**
      * Converts a JSContact object into the JSON of the vCard JSPROP property value
      *
@@ -33,7 +30,7 @@ public class JSPropUtils {
         else if (o instanceof Boolean || o instanceof Integer)
             return String.format("%s", o);
         else {
-            return String.format("%s", mapper.writeValueAsString(o));
+            return String.format("%s", JSContactMapper.writer().writeValueAsString(o));
         }
     }
 
@@ -50,9 +47,9 @@ public class JSPropUtils {
         if (s == null)
             return null;
 
-        JsonNode node = mapper.readTree(s);
+        JsonNode node = JSContactMapper.getMapper().readTree(s);
         if (node.isObject() || node.isArray()) {
-            return mapper.readValue(s,Object.class);
+            return JSContactMapper.reader(Object.class).readValue(s);
         } else {
             if (node.isTextual()) {
                 try {
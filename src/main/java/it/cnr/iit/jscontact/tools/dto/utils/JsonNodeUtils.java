@@ -1,9 +1,7 @@
 package it.cnr.iit.jscontact.tools.dto.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -18,8 +16,6 @@ public class JsonNodeUtils {
 
     private static final JsonNodeFactory JSON_NODE_FACTORY = JsonNodeFactory.instance;
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     /**
      * Converts a text into a Jackson TextNode object.
      * @param text the text
@@ -92,10 +88,8 @@ public class JsonNodeUtils {
             return null;
 
         try {
-            return mapper.readValue(mapper.writeValueAsString(node),objectClass);
-        } catch (JsonMappingException e) {
-            return null;
-        } catch (JsonProcessingException e) {
+            return JSContactMapper.getMapper().treeToValue(node, objectClass);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
             return null;
         }
 
@@ -113,11 +107,8 @@ public class JsonNodeUtils {
             return null;
 
         try {
-            String json = mapper.writeValueAsString(object);
-            return mapper.readTree(json);
-        } catch (JsonMappingException e) {
-            return null;
-        } catch (JsonProcessingException e) {
+            return JSContactMapper.getMapper().valueToTree(object);
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
@@ -2,7 +2,6 @@ package it.cnr.iit.jscontact.tools.dto.utils;
 
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.dto.Card;
 
 /**
@@ -12,8 +11,6 @@ import it.cnr.iit.jscontact.tools.dto.Card;
  */
 public class JsonPointerUtils {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     /**
      * Converts a relative JSONPointer expression in an absolute JSONPointer expression so that it can be processed by Jackson library
      * @param jsonPointer a JSONPointer expression
@@ -29,7 +26,7 @@ public class JsonPointerUtils {
 
     public static JsonNode getPointedJsonNode(Card jsCard, String jsonPointerExpr) {
 
-        JsonNode root = mapper.valueToTree(jsCard);
+        JsonNode root = JSContactMapper.getMapper().valueToTree(jsCard);
 
         JsonPointer jsonPointer =  JsonPointer.compile(toAbsolute(jsonPointerExpr));
         return root.at(jsonPointer);
@@ -0,0 +1,100 @@
+package it.cnr.iit.jscontact.tools.dto.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Abstract iterator lazily reading its elements one at a time from a source, e.g. a reader or a parser.
+ * <p>
+ * Subclasses implement {@link #readNext()} and {@link #closeSource()}. The source is closed when the iteration is over,
+ * when reading fails, or when the iterator (or a stream created through {@link #stream()}) is closed.
+ * An IOException raised while reading is rethrown as an UncheckedIOException.
+ * </p>
+ *
+ * @param <T> the element type
+ * @author Mario Loffredo
+ */
+public abstract class ReadAheadIterator<T> implements Iterator<T>, Closeable {
+
+    private T next;
+    private boolean closed = false;
+
+    /**
+     * Reads the next element from the source.
+     *
+     * @return the next element, or null if there are no more elements
+     * @throws IOException if the source cannot be read
+     */
+    protected abstract T readNext() throws IOException;
+
+    /**
+     * Closes the source. It is called at most once.
+     *
+     * @throws IOException if the source cannot be closed
+     */
+    protected abstract void closeSource() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+
+        if (next != null)
+            return true;
+        if (closed)
+            return false;
+        try {
+            next = readNext();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+        if (next == null)
+            close();
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+
+        if (!hasNext())
+            throw new NoSuchElementException();
+        T element = next;
+        next = null;
+        return element;
+    }
+
+    /**
+     * Closes the source, if not closed yet.
+     *
+     * @throws UncheckedIOException if the source cannot be closed
+     */
+    @Override
+    public void close() {
+
+        if (closed)
+            return;
+        closed = true;
+        try {
+            closeSource();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a sequential stream of the remaining elements. Closing the stream closes the source.
+     *
+     * @return the stream of the remaining elements
+     */
+    public Stream<T> stream() {
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+}
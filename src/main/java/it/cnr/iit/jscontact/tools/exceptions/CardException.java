@@ -15,6 +15,9 @@
  */
 package it.cnr.iit.jscontact.tools.exceptions;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Thrown when either a vCard/xCard/jCard or a JSContact topmost object, namely Card, is not valid.
  *
@@ -22,7 +25,24 @@ package it.cnr.iit.jscontact.tools.exceptions;
  */
 public class CardException extends Exception {
 
+    private final List<String> reasons;
+
     public CardException(String message) {
         super(message);
+        this.reasons = (message != null) ? Collections.singletonList(message) : Collections.emptyList();
+    }
+
+    public CardException(String message, List<String> reasons) {
+        super(message);
+        this.reasons = Collections.unmodifiableList(reasons);
+    }
+
+    /**
+     * Returns the reasons of the exception, e.g. the single validation warnings or constraint violations.
+     *
+     * @return the list of reasons, which consists of the message only if no more detailed reason is available
+     */
+    public List<String> getReasons() {
+        return reasons;
     }
 }
@@ -0,0 +1,83 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.metrics;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader counting the bytes of the UTF-8 encoding of the characters read and reporting them as {@value Metrics#PARSED_BYTES} when closed.
+ *
+ * @author Mario Loffredo
+ */
+public class CountingReader extends FilterReader {
+
+    private final String format;
+    private long count = 0;
+    private boolean reported = false;
+
+    public CountingReader(Reader in, String format) {
+        super(in);
+        this.format = format;
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        int c = super.read();
+        if (c >= 0)
+            count += Metrics.utf8Length((char) c);
+        return c;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+
+        int n = super.read(cbuf, off, len);
+        for (int i = off; i < off + n; i++)
+            count += Metrics.utf8Length(cbuf[i]);
+        return n;
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return the number of bytes of the UTF-8 encoding of the characters read
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Reports the number of bytes read, unless already reported.
+     */
+    public void report() {
+
+        if (reported)
+            return;
+        reported = true;
+        Metrics.recordValue(Metrics.PARSED_BYTES, count, Metrics.TAG_FORMAT, format);
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        report();
+        super.close();
+    }
+
+}
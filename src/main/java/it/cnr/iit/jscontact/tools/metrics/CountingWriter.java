@@ -0,0 +1,88 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.metrics;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer counting the bytes of the UTF-8 encoding of the characters written and reporting them as {@value Metrics#WRITTEN_BYTES} when closed.
+ *
+ * @author Mario Loffredo
+ */
+public class CountingWriter extends FilterWriter {
+
+    private final String format;
+    private long count = 0;
+    private boolean reported = false;
+
+    public CountingWriter(Writer out, String format) {
+        super(out);
+        this.format = format;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+
+        super.write(c);
+        count += Metrics.utf8Length((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+
+        super.write(cbuf, off, len);
+        for (int i = off; i < off + len; i++)
+            count += Metrics.utf8Length(cbuf[i]);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+
+        super.write(str, off, len);
+        for (int i = off; i < off + len; i++)
+            count += Metrics.utf8Length(str.charAt(i));
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return the number of bytes of the UTF-8 encoding of the characters written
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Reports the number of bytes written, unless already reported.
+     */
+    public void report() {
+
+        if (reported)
+            return;
+        reported = true;
+        Metrics.recordValue(Metrics.WRITTEN_BYTES, count, Metrics.TAG_FORMAT, format);
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        report();
+        super.close();
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.metrics;
+
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+
+/**
+ * Class holding the {@link MetricsRegistry} which the metrics of this library are reported to, together with the metric and tag names.
+ * No registry is set by default: in that case the instrumented code doesn't take any measurement.
+ * <p>
+ * The reported metrics are:
+ * <ul>
+ *     <li>{@value #CONVERSIONS} (counter) and {@value #CONVERSION_TIME} (timer) for each converted card, tagged by {@value #TAG_DIRECTION};</li>
+ *     <li>{@value #CONVERSION_FAILURES} (counter) for each card failing to convert, tagged by {@value #TAG_DIRECTION} and {@value #TAG_REASON}, namely the first reason of the CardException raised;</li>
+ *     <li>{@value #VALIDATION_TIME} (timer) for each JSContact card validation, tagged by {@value #TAG_RESULT};</li>
+ *     <li>{@value #PARSED_BYTES} and {@value #WRITTEN_BYTES} (histograms) for each vCard, jCard or xCard document parsed or written through a VCardCodec, tagged by {@value #TAG_FORMAT}
+ *     (a jCard read from or built as a Jackson tree counts as its compact JSON text);</li>
+ *     <li>{@value #RDAP_BUILDS} (counter) and {@value #RDAP_BUILD_TIME} (timer) for each Card built for RDAP, tagged by {@value #TAG_RESULT}.</li>
+ * </ul>
+ *
+ * @author Mario Loffredo
+ */
+public final class Metrics {
+
+    public static final String CONVERSIONS = "jscontact.conversions";
+    public static final String CONVERSION_FAILURES = "jscontact.conversion.failures";
+    public static final String CONVERSION_TIME = "jscontact.conversion.time";
+    public static final String VALIDATION_TIME = "jscontact.validation.time";
+    public static final String PARSED_BYTES = "jscontact.parsed.bytes";
+    public static final String WRITTEN_BYTES = "jscontact.written.bytes";
+    public static final String RDAP_BUILDS = "jscontact.rdap.builds";
+    public static final String RDAP_BUILD_TIME = "jscontact.rdap.build.time";
+
+    public static final String TAG_DIRECTION = "direction";
+    public static final String TAG_REASON = "reason";
+    public static final String TAG_RESULT = "result";
+    public static final String TAG_FORMAT = "format";
+
+    public static final String DIRECTION_VCARD2JSCONTACT = "vcard2jscontact";
+    public static final String DIRECTION_JSCONTACT2VCARD = "jscontact2vcard";
+
+    public static final String REASON_INVALID_CARD = "invalid_card";
+    public static final String REASON_MISSING_FIELD = "missing_field";
+    public static final String REASON_UNKNOWN = "unknown";
+
+    public static final String RESULT_SUCCESS = "success";
+    public static final String RESULT_FAILURE = "failure";
+
+    public static final String FORMAT_VCARD = "vcard";
+    public static final String FORMAT_JCARD = "jcard";
+    public static final String FORMAT_XCARD = "xcard";
+
+    private static volatile MetricsRegistry registry;
+
+    private Metrics() {}
+
+    /**
+     * Sets the registry which the metrics are reported to.
+     *
+     * @param registry the registry, or null to stop reporting metrics
+     */
+    public static void setRegistry(MetricsRegistry registry) {
+        Metrics.registry = registry;
+    }
+
+    /**
+     * Returns the registry which the metrics are reported to.
+     *
+     * @return the registry, or null if metrics are not reported
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Tests if metrics are reported. Instrumented code checks it before taking any measurement.
+     *
+     * @return true if a registry is set, false otherwise
+     */
+    public static boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * Increments a counter by one, if a registry is set.
+     *
+     * @param name the metric name
+     * @param tags the tags as key/value pairs
+     */
+    public static void incrementCounter(String name, String... tags) {
+
+        MetricsRegistry current = registry;
+        if (current != null)
+            current.incrementCounter(name, 1, tags);
+    }
+
+    /**
+     * Records a duration in a timer, if a registry is set.
+     *
+     * @param name the metric name
+     * @param nanos the duration in nanoseconds
+     * @param tags the tags as key/value pairs
+     */
+    public static void recordTime(String name, long nanos, String... tags) {
+
+        MetricsRegistry current = registry;
+        if (current != null)
+            current.recordTime(name, nanos, tags);
+    }
+
+    /**
+     * Records a value in a histogram, if a registry is set.
+     *
+     * @param name the metric name
+     * @param value the value
+     * @param tags the tags as key/value pairs
+     */
+    public static void recordValue(String name, long value, String... tags) {
+
+        MetricsRegistry current = registry;
+        if (current != null)
+            current.recordValue(name, value, tags);
+    }
+
+    /**
+     * Returns the value of the {@value #TAG_REASON} tag of a failed conversion.
+     *
+     * @param e the exception raised by the conversion
+     * @return the first reason of the exception, or {@value #REASON_UNKNOWN} if the exception has no reason
+     */
+    public static String reasonOf(CardException e) {
+
+        return e.getReasons().isEmpty() ? REASON_UNKNOWN : e.getReasons().get(0);
+    }
+
+    /**
+     * Returns the length of a text encoded in UTF-8 without encoding it.
+     *
+     * @param text the text
+     * @return the number of bytes of the UTF-8 encoding of the text
+     */
+    public static long utf8Length(CharSequence text) {
+
+        long length = 0;
+        for (int i = 0; i < text.length(); i++)
+            length += utf8Length(text.charAt(i));
+        return length;
+    }
+
+    static int utf8Length(char c) {
+
+        if (c < 0x80)
+            return 1;
+        if (c < 0x800 || Character.isSurrogate(c)) //each half of a surrogate pair counts for 2 of the 4 bytes
+            return 2;
+        return 3;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.metrics;
+
+/**
+ * Service provider interface for bridging the metrics collected by this library to a monitoring system.
+ * Tags are passed as a flat sequence of key/value pairs (e.g. "direction", "vcard2jscontact").
+ * All the methods have an empty default implementation, so an adapter only needs to override the metric kinds it is interested in.
+ * Implementations must be thread-safe and should return quickly, since they are invoked on the threads doing the work.
+ *
+ * @see Metrics
+ * @author Mario Loffredo
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Increments a counter.
+     *
+     * @param name the metric name
+     * @param amount the increment
+     * @param tags the tags as key/value pairs
+     */
+    default void incrementCounter(String name, long amount, String... tags) {}
+
+    /**
+     * Records a duration in a timer.
+     *
+     * @param name the metric name
+     * @param nanos the duration in nanoseconds
+     * @param tags the tags as key/value pairs
+     */
+    default void recordTime(String name, long nanos, String... tags) {}
+
+    /**
+     * Records a value in a histogram (or distribution summary).
+     *
+     * @param name the metric name
+     * @param value the value
+     * @param tags the tags as key/value pairs
+     */
+    default void recordValue(String name, long value, String... tags) {}
+
+}
@@ -1,18 +1,18 @@
 package it.cnr.iit.jscontact.tools.rdap;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.dto.*;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.dto.utils.UuidUtils;
 import it.cnr.iit.jscontact.tools.dto.utils.builders.PhoneFeaturesBuilder;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
 public class JSContactForRdapBuilder {
 
     private Card jsCard;
-    private static final ObjectMapper mapper = new ObjectMapper();
 
     /**
      * Returns a JSContactForRdapBuilder object used to build a JSContact Card object.
@@ -128,7 +128,7 @@ public class JSContactForRdapBuilder {
      */
     public JSContactForRdapBuilder nameLoc(String language, Name name) {
         if (language == null || name == null) return this;
-        this.jsCard.addLocalization(language, JSContactForRdapMapId.NAME_LOCALIZATION_ID.getValue(), mapper.convertValue(name, JsonNode.class));
+        this.jsCard.addLocalization(language, JSContactForRdapMapId.NAME_LOCALIZATION_ID.getValue(), JSContactMapper.getMapper().convertValue(name, JsonNode.class));
         return this;
     }
 
@@ -141,7 +141,7 @@ public class JSContactForRdapBuilder {
      */
     public JSContactForRdapBuilder orgLoc(String language, String org) {
         if (language == null || org == null) return this;
-        this.jsCard.addLocalization(language, JSContactForRdapMapId.ORG_LOCALIZATION_ID.getValue(), mapper.convertValue(Organization.builder().name(org).build(), JsonNode.class));
+        this.jsCard.addLocalization(language, JSContactForRdapMapId.ORG_LOCALIZATION_ID.getValue(), JSContactMapper.getMapper().convertValue(Organization.builder().name(org).build(), JsonNode.class));
         return this;
     }
 
@@ -154,7 +154,7 @@ public class JSContactForRdapBuilder {
      */
     public JSContactForRdapBuilder addrLoc(String language, Address address) {
         if (language == null || address == null) return this;
-        this.jsCard.addLocalization(language, JSContactForRdapMapId.ADDRESS_LOCALIZATION_ID.getValue(), mapper.convertValue(address, JsonNode.class));
+        this.jsCard.addLocalization(language, JSContactForRdapMapId.ADDRESS_LOCALIZATION_ID.getValue(), JSContactMapper.getMapper().convertValue(address, JsonNode.class));
         return this;
     }
 
@@ -167,7 +167,7 @@ public class JSContactForRdapBuilder {
      */
     public JSContactForRdapBuilder emailLoc(String language, String email) {
         if (language == null || email == null) return this;
-        this.jsCard.addLocalization(language, JSContactForRdapMapId.EMAIL_LOCALIZATION_ID.getValue(), mapper.convertValue(EmailAddress.builder().address(email).build(), JsonNode.class));
+        this.jsCard.addLocalization(language, JSContactForRdapMapId.EMAIL_LOCALIZATION_ID.getValue(), JSContactMapper.getMapper().convertValue(EmailAddress.builder().address(email).build(), JsonNode.class));
         return this;
     }
 
@@ -180,6 +180,26 @@ public class JSContactForRdapBuilder {
      */
     public Card build() throws MissingFieldException, CardException {
 
+        if (!Metrics.isEnabled())
+            return buildCard();
+
+        long start = System.nanoTime();
+        try {
+            Card card = buildCard();
+            Metrics.incrementCounter(Metrics.RDAP_BUILDS, Metrics.TAG_RESULT, Metrics.RESULT_SUCCESS);
+            Metrics.recordTime(Metrics.RDAP_BUILD_TIME, System.nanoTime() - start, Metrics.TAG_RESULT, Metrics.RESULT_SUCCESS);
+            return card;
+        } catch (MissingFieldException e) {
+            Metrics.incrementCounter(Metrics.RDAP_BUILDS, Metrics.TAG_RESULT, Metrics.RESULT_FAILURE, Metrics.TAG_REASON, Metrics.REASON_MISSING_FIELD);
+            throw e;
+        } catch (CardException e) {
+            Metrics.incrementCounter(Metrics.RDAP_BUILDS, Metrics.TAG_RESULT, Metrics.RESULT_FAILURE, Metrics.TAG_REASON, Metrics.REASON_INVALID_CARD);
+            throw e;
+        }
+    }
+
+    private Card buildCard() throws MissingFieldException, CardException {
+
         if (jsCard.getName() == null &&
             jsCard.getOrganizations() == null &&
             jsCard.getAddresses() == null &&
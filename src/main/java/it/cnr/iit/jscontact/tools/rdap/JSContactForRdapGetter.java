@@ -1,8 +1,8 @@
 package it.cnr.iit.jscontact.tools.rdap;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import it.cnr.iit.jscontact.tools.dto.*;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.exceptions.InternalErrorException;
 import lombok.AllArgsConstructor;
 
@@ -10,7 +10,6 @@ import lombok.AllArgsConstructor;
 public class JSContactForRdapGetter {
 
     private Card jsCard;
-    private static final ObjectMapper mapper = new ObjectMapper();
 
     /**
      * Returns a JSContactForRdapGetter object initialized with an JSContact Card object.
@@ -106,7 +105,7 @@ public class JSContactForRdapGetter {
      */
     public Name nameLoc(String language) throws InternalErrorException {
         try {
-            return (jsCard.getLocalization(language, JSContactForRdapMapId.NAME_LOCALIZATION_ID.getValue())!=null) ? mapper.treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.NAME_LOCALIZATION_ID.getValue()), Name.class) : null;
+            return (jsCard.getLocalization(language, JSContactForRdapMapId.NAME_LOCALIZATION_ID.getValue())!=null) ? JSContactMapper.getMapper().treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.NAME_LOCALIZATION_ID.getValue()), Name.class) : null;
         } catch (JsonProcessingException e) {
             throw new InternalErrorException("Unable to cast localization to JSContact Name object");
         }
@@ -121,7 +120,7 @@ public class JSContactForRdapGetter {
      */
     public String orgLoc(String language) {
         try {
-            return (jsCard.getLocalization(language, JSContactForRdapMapId.ORG_LOCALIZATION_ID.getValue())!=null) ? mapper.treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.ORG_LOCALIZATION_ID.getValue()), Organization.class).getName() : null;
+            return (jsCard.getLocalization(language, JSContactForRdapMapId.ORG_LOCALIZATION_ID.getValue())!=null) ? JSContactMapper.getMapper().treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.ORG_LOCALIZATION_ID.getValue()), Organization.class).getName() : null;
         } catch (JsonProcessingException e) {
             throw new InternalErrorException("Unable to cast localization to JSContact Organization object");
         }
@@ -136,7 +135,7 @@ public class JSContactForRdapGetter {
      */
     public Address addressLoc(String language) throws InternalErrorException {
         try {
-            return (jsCard.getLocalization(language, JSContactForRdapMapId.ADDRESS_LOCALIZATION_ID.getValue())!=null) ? mapper.treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.ADDRESS_LOCALIZATION_ID.getValue()), Address.class) : null;
+            return (jsCard.getLocalization(language, JSContactForRdapMapId.ADDRESS_LOCALIZATION_ID.getValue())!=null) ? JSContactMapper.getMapper().treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.ADDRESS_LOCALIZATION_ID.getValue()), Address.class) : null;
         } catch (JsonProcessingException e) {
             throw new InternalErrorException("Unable to cast localization to JSContact Address object");
         }
@@ -151,7 +150,7 @@ public class JSContactForRdapGetter {
      */
     public String emailLoc(String language) {
         try {
-            return (jsCard.getLocalization(language, JSContactForRdapMapId.EMAIL_LOCALIZATION_ID.getValue())!=null) ? mapper.treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.EMAIL_LOCALIZATION_ID.getValue()), EmailAddress.class).getAddress() : null;
+            return (jsCard.getLocalization(language, JSContactForRdapMapId.EMAIL_LOCALIZATION_ID.getValue())!=null) ? JSContactMapper.getMapper().treeToValue(jsCard.getLocalization(language, JSContactForRdapMapId.EMAIL_LOCALIZATION_ID.getValue()), EmailAddress.class).getAddress() : null;
         } catch (JsonProcessingException e) {
             throw new InternalErrorException("Unable to cast localization to JSContact Address object");
         }
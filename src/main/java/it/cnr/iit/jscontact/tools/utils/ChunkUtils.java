@@ -0,0 +1,120 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Utility class for processing a sequence of items in chunks on an executor.
+ *
+ * @author Mario Loffredo
+ */
+public final class ChunkUtils {
+
+    private ChunkUtils() {}
+
+    /**
+     * Functional interface for processing the items of a chunk.
+     *
+     * @param <T> the result type
+     * @param <E> the checked exception type
+     */
+    @FunctionalInterface
+    public interface ChunkTask<T, E extends Exception> {
+        /**
+         * Processes the items of a chunk.
+         *
+         * @param from the position of the first item of the chunk, inclusive
+         * @param to the position of the last item of the chunk, exclusive
+         * @return the results of the chunk in input order
+         * @throws E if an item cannot be processed
+         */
+        List<T> run(int from, int to) throws E;
+    }
+
+    /**
+     * Runs a task on the given executor.
+     * The returned future completes exceptionally with the exception raised by the task, if any.
+     *
+     * @param executor the executor running the task
+     * @param task the task
+     * @param <T> the result type
+     * @return the future result of the task
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Executor executor, Callable<T> task) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Splits a sequence of items into chunks, runs the chunks on the given executor and collects the results in input order.
+     * As soon as a chunk fails, the chunks not yet started are cancelled and the exception raised by the first failed chunk in input order is thrown.
+     *
+     * @param size the number of items
+     * @param executor the executor running the chunks (e.g. a ForkJoinPool)
+     * @param chunkSize the maximum number of items processed by a single task
+     * @param exceptionType the checked exception type raised by the task
+     * @param task the processing of a chunk
+     * @param <T> the result type
+     * @param <E> the checked exception type
+     * @return the results in input order
+     * @throws E if a chunk fails
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public static <T, E extends Exception> List<T> runInChunks(int size, Executor executor, int chunkSize, Class<E> exceptionType, ChunkTask<T, E> task) throws E {
+
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive");
+
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>((int) ((size + (long) chunkSize - 1) / chunkSize));
+        for (int from = 0; from < size; from += chunkSize) {
+            int first = from;
+            int last = (int) Math.min((long) from + chunkSize, size);
+            futures.add(supplyAsync(executor, () -> task.run(first, last)));
+            if (last == size)
+                break;
+        }
+
+        List<T> results = new ArrayList<>(size);
+        for (CompletableFuture<List<T>> future : futures) {
+            try {
+                results.addAll(future.join());
+            } catch (CompletionException e) {
+                for (CompletableFuture<List<T>> other : futures)
+                    other.cancel(false);
+                if (exceptionType.isInstance(e.getCause()))
+                    throw exceptionType.cast(e.getCause());
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+        return results;
+    }
+}
@@ -1,9 +1,14 @@
 package it.cnr.iit.jscontact.tools.vcard.converters;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.utils.ChunkUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Abstract class for converting a JSContact object from/to a vCard 4.0 [RFC6350] and its transliterations.
@@ -25,5 +30,58 @@ public abstract class AbstractConverter {
         put("socialprofile","onlineServices");
     }};
 
-    protected static final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * Functional interface for a conversion raising checked exceptions.
+     *
+     * @param <T> the conversion result type
+     */
+    @FunctionalInterface
+    protected interface Conversion<T> {
+        T convert() throws Exception;
+    }
+
+    /**
+     * Runs a conversion as a task of the given executor.
+     * The returned future completes exceptionally with the exception raised by the conversion, if any.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param conversion the conversion
+     * @param <T> the conversion result type
+     * @return the future result of the conversion
+     */
+    protected static <T> CompletableFuture<T> supplyAsync(Executor executor, Conversion<T> conversion) {
+
+        return ChunkUtils.supplyAsync(executor, conversion::convert);
+    }
+
+    /**
+     * Functional interface for the conversion of a chunk of cards.
+     *
+     * @param <S> the source card type
+     * @param <T> the target card type
+     */
+    @FunctionalInterface
+    protected interface ChunkConverter<S, T> {
+        List<T> convert(S[] chunk) throws CardException;
+    }
+
+    /**
+     * Splits an array of cards into chunks, converts the chunks on the given executor and collects the results in input order.
+     * If more chunks fail, the exception raised by the first one in input order is thrown and the chunks not yet started are cancelled.
+     *
+     * @param sources the cards to convert
+     * @param executor the executor running the conversion of the chunks (e.g. a ForkJoinPool)
+     * @param chunkSize the maximum number of cards converted by a single task
+     * @param converter the conversion of a chunk
+     * @param <S> the source card type
+     * @param <T> the target card type
+     * @return the converted cards in input order
+     * @throws CardException if the conversion of one of the cards fails
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    protected static <S, T> List<T> convertInChunks(S[] sources, Executor executor, int chunkSize, ChunkConverter<S, T> converter) throws CardException {
+
+        return ChunkUtils.runInChunks(sources.length, executor, chunkSize, CardException.class,
+                (from, to) -> converter.convert(Arrays.copyOfRange(sources, from, to)));
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.converters;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class representing the outcome of the conversion of a single card in a batch,
+ * namely either the converted card or the reasons why the conversion failed.
+ *
+ * @param <T> the target card type
+ * @author Mario Loffredo
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConversionResult<T> {
+
+    /**
+     * The position of the source card in the batch.
+     */
+    private final int index;
+
+    /**
+     * The byte offset of the source card in the input it has been read from, -1 if unknown.
+     */
+    private final long offset;
+
+    /**
+     * The converted card, null if the conversion failed.
+     */
+    private final T card;
+
+    /**
+     * The reasons why the conversion failed, empty if the conversion succeeded.
+     */
+    private final List<String> reasons;
+
+    public static <T> ConversionResult<T> success(int index, T card) {
+        return success(index, -1, card);
+    }
+
+    public static <T> ConversionResult<T> success(int index, long offset, T card) {
+        return new ConversionResult<>(index, offset, card, Collections.emptyList());
+    }
+
+    public static <T> ConversionResult<T> failure(int index, List<String> reasons) {
+        return failure(index, -1, reasons);
+    }
+
+    public static <T> ConversionResult<T> failure(int index, long offset, List<String> reasons) {
+        return new ConversionResult<>(index, offset, null, reasons);
+    }
+
+    /**
+     * @return true if the card has been converted, false otherwise
+     */
+    public boolean isSuccessful() {
+        return card != null;
+    }
+}
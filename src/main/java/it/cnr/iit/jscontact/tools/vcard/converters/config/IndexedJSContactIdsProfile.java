@@ -0,0 +1,124 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.converters.config;
+
+import it.cnr.iit.jscontact.tools.dto.PersonalInfoEnum;
+import it.cnr.iit.jscontact.tools.dto.ResourceType;
+
+import java.util.*;
+
+/**
+ * Immutable form of a JSContact Ids profile where the ids are indexed by id type, resource type and personal info type,
+ * so that the ids to be assigned to the properties of a given type are retrieved in constant time and without allocating memory.
+ * An instance reflects the state of the source profile at the time it is created.
+ *
+ * @author Mario Loffredo
+ */
+public final class IndexedJSContactIdsProfile {
+
+    private final JSContactIdsProfile profile;
+    private final List<JSContactIdsProfile.JSContactId> profileIds;
+    private final boolean empty;
+    private final Map<JSContactIdsProfile.IdType, List<String>> idsByIdType = new EnumMap<>(JSContactIdsProfile.IdType.class);
+    private final Map<ResourceType, List<String>> idsByResourceType = new EnumMap<>(ResourceType.class);
+    private final Map<PersonalInfoEnum, List<String>> idsByPersonalInfoType = new HashMap<>(); //the null key stands for other personal infos
+
+    private IndexedJSContactIdsProfile(JSContactIdsProfile profile) {
+
+        this.profile = profile;
+        this.profileIds = profile.getIds();
+        this.empty = (profileIds == null || profileIds.isEmpty());
+        if (empty)
+            return;
+
+        Map<JSContactIdsProfile.IdType, List<String>> idsByIdType = new EnumMap<>(JSContactIdsProfile.IdType.class);
+        Map<ResourceType, List<String>> idsByResourceType = new EnumMap<>(ResourceType.class);
+        Map<PersonalInfoEnum, List<String>> idsByPersonalInfoType = new HashMap<>();
+        for (JSContactIdsProfile.JSContactId jsContactId : profileIds) {
+            switch (jsContactId.getIdType()) {
+                case RESOURCE:
+                    JSContactIdsProfile.ResourceId resourceId = (JSContactIdsProfile.ResourceId) jsContactId.getId();
+                    idsByResourceType.computeIfAbsent(resourceId.getType(), k -> new ArrayList<>()).add(resourceId.getId());
+                    break;
+                case PERSONAL_INFO:
+                    JSContactIdsProfile.PersonalInfoId piId = (JSContactIdsProfile.PersonalInfoId) jsContactId.getId();
+                    idsByPersonalInfoType.computeIfAbsent(piId.getPersonalInfoEnum(), k -> new ArrayList<>()).add(piId.getId());
+                    break;
+                default:
+                    idsByIdType.computeIfAbsent(jsContactId.getIdType(), k -> new ArrayList<>()).add((String) jsContactId.getId());
+                    break;
+            }
+        }
+        idsByIdType.forEach((k, v) -> this.idsByIdType.put(k, Collections.unmodifiableList(v)));
+        idsByResourceType.forEach((k, v) -> this.idsByResourceType.put(k, Collections.unmodifiableList(v)));
+        idsByPersonalInfoType.forEach((k, v) -> this.idsByPersonalInfoType.put(k, Collections.unmodifiableList(v)));
+    }
+
+    /**
+     * Indexes the ids of a JSContact Ids profile.
+     *
+     * @param profile the JSContact Ids profile
+     * @return the indexed form of the profile
+     */
+    public static IndexedJSContactIdsProfile of(JSContactIdsProfile profile) {
+        return new IndexedJSContactIdsProfile(profile);
+    }
+
+    /**
+     * @param profile a JSContact Ids profile
+     * @return true if this instance has been created from the given profile and the profile still refers to the same list of ids, false otherwise
+     */
+    public boolean isIndexOf(JSContactIdsProfile profile) {
+        return this.profile == profile && this.profileIds == profile.getIds();
+    }
+
+    /**
+     * @return true if the profile includes no id, false otherwise
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Returns the ids of a type other than RESOURCE and PERSONAL_INFO in the order they appear in the profile.
+     *
+     * @param idType the id type
+     * @return the list of ids, empty if the profile includes no id of the given type
+     */
+    public List<String> getIds(JSContactIdsProfile.IdType idType) {
+        return idsByIdType.getOrDefault(idType, Collections.emptyList());
+    }
+
+    /**
+     * Returns the ids of the resources of a given type in the order they appear in the profile.
+     *
+     * @param type the resource type
+     * @return the list of ids, empty if the profile includes no id for the given resource type
+     */
+    public List<String> getIds(ResourceType type) {
+        return idsByResourceType.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Returns the ids of the personal infos of a given type in the order they appear in the profile.
+     *
+     * @param type the personal info type, null for the personal infos of other types
+     * @return the list of ids, empty if the profile includes no id for the given personal info type
+     */
+    public List<String> getIds(PersonalInfoEnum type) {
+        return idsByPersonalInfoType.getOrDefault(type, Collections.emptyList());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package it.cnr.iit.jscontact.tools.vcard.converters.config;
 
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -39,4 +40,6 @@ public class JSContact2VCardConfig {
     @Builder.Default
     private boolean convertTimezoneToOffset = false;
 
+    private ConversionListener conversionListener; //no measurement is collected if null
+
 }
@@ -15,10 +15,15 @@
  */
 package it.cnr.iit.jscontact.tools.vcard.converters.config;
 
+import ezvcard.property.VCardProperty;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * Class for configuring the conversion from a vCard 4.0 [RFC6350] and its transliterations to a JSContact object.
  *
@@ -30,6 +35,8 @@ import lombok.Data;
 @AllArgsConstructor
 public class VCard2JSContactConfig {
 
+    public static final int NON_PRINTABLE_PARAMETER_VALUE_WARNING_CODE = 25; //ez-vcard warning about parameter values including non-printable characters
+
     @Builder.Default
     private String customTimeZonesPrefix = "tz";
     @Builder.Default
@@ -47,4 +54,11 @@ public class VCard2JSContactConfig {
 
     private JSContactIdsProfile idsProfileToUse;
 
+    private ConversionListener conversionListener; //no measurement is collected if null
+
+    @Builder.Default
+    private Set<Integer> ignoredWarningCodes = Collections.singleton(NON_PRINTABLE_PARAMETER_VALUE_WARNING_CODE); //codes of the ez-vcard validation warnings not raising an exception
+    @Builder.Default
+    private Set<Class<? extends VCardProperty>> ignoredWarningPropertyTypes = Collections.emptySet(); //types of the properties whose ez-vcard validation warnings don't raise an exception
+
 }
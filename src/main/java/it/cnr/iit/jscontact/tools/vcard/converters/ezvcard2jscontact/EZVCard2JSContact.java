@@ -18,8 +18,6 @@ package it.cnr.iit.jscontact.tools.vcard.converters.ezvcard2jscontact;
 import com.fasterxml.jackson.databind.JsonNode;
 import ezvcard.VCard;
 import ezvcard.VCardDataType;
-import ezvcard.VCardVersion;
-import ezvcard.ValidationWarnings;
 import ezvcard.parameter.RelatedType;
 import ezvcard.property.*;
 import ezvcard.property.Organization;
@@ -40,17 +38,26 @@ import it.cnr.iit.jscontact.tools.dto.interfaces.VCardTypeDerivedEnum;
 import it.cnr.iit.jscontact.tools.dto.utils.*;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
 import it.cnr.iit.jscontact.tools.exceptions.InternalErrorException;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
 import it.cnr.iit.jscontact.tools.vcard.converters.AbstractConverter;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.IndexedJSContactIdsProfile;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContactIdsProfile;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.AllocationUtils;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionListener;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionStage;
 import it.cnr.iit.jscontact.tools.vcard.extensions.property.ExtendedAddress;
 import it.cnr.iit.jscontact.tools.vcard.extensions.property.ExtendedStructuredName;
+import it.cnr.iit.jscontact.tools.vcard.validators.ezvcard.EZVCardValidator;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -73,44 +80,27 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
 
     private static final long MILLIS_IN_A_DAY = 86400000;
 
-    private VCardPropertiesAltidComparator vCardPropertiesAltidComparator;
-    private VCardPropertiesPrefComparator vCardPropertiesPrefComparator;
+    private static final VCardPropertiesPrefComparator vCardPropertiesPrefComparator = VCardPropertiesPrefComparator.builder().build();
 
     protected VCard2JSContactConfig config;
 
-    private int customTimeZoneCounter = 0;
-
-    private final Map<String, TimeZone> customTimeZones = new HashMap<>();
+    @ToString.Exclude
+    private volatile IndexedJSContactIdsProfile indexedIdsProfile; //rebuilt only if the profile in the configuration is replaced
 
     private static final Map<String, PhoneFeatureEnum> phoneFeatureAliases = new HashMap<String, PhoneFeatureEnum>() {{ put ("cell", PhoneFeatureEnum.MOBILE);}};
 
-    private List<String> getVCard2JSContactProfileIds(JSContactIdsProfile.IdType idType, Object... args) {
+    private IndexedJSContactIdsProfile getIndexedIdsProfile() {
 
-        List<String> ids = new ArrayList<>();
-        for (JSContactIdsProfile.JSContactId jsContactId : config.getIdsProfileToUse().getIds()) {
+        JSContactIdsProfile profile = config.getIdsProfileToUse();
+        if (profile == null)
+            return null;
 
-            if (jsContactId.getIdType() == idType) {
-                switch (idType) {
-                    case RESOURCE:
-                        JSContactIdsProfile.ResourceId resourceId = (JSContactIdsProfile.ResourceId) jsContactId.getId();
-                        ResourceType type = (ResourceType) args[0];
-                        if (resourceId.getType() == type)
-                            ids.add(resourceId.getId());
-                        break;
-                    case PERSONAL_INFO:
-                        JSContactIdsProfile.PersonalInfoId piId = (JSContactIdsProfile.PersonalInfoId) jsContactId.getId();
-                        PersonalInfoEnum piType = (PersonalInfoEnum) args[0];
-                        if (piId.getPersonalInfoEnum() == piType)
-                            ids.add(piId.getId());
-                        break;
-                    default:
-                        ids.add((String) jsContactId.getId());
-                        break;
-                }
-            }
+        IndexedJSContactIdsProfile indexedProfile = indexedIdsProfile;
+        if (indexedProfile == null || !indexedProfile.isIndexOf(profile)) {
+            indexedProfile = IndexedJSContactIdsProfile.of(profile);
+            indexedIdsProfile = indexedProfile;
         }
-
-        return ids;
+        return indexedProfile;
     }
 
     private String getJSCardId(JSContactIdsProfile.IdType idType, int index, String id, String propId, Object... args) {
@@ -118,10 +108,22 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
         if (config.isUsePropIds() && propId != null)
             return propId;
 
-        if (config.getIdsProfileToUse() == null || config.getIdsProfileToUse().getIds() == null || config.getIdsProfileToUse().getIds().size() == 0)
+        IndexedJSContactIdsProfile indexedProfile = getIndexedIdsProfile();
+        if (indexedProfile == null || indexedProfile.isEmpty())
             return id;
 
-        List<String> ids = (idType == JSContactIdsProfile.IdType.RESOURCE || idType == JSContactIdsProfile.IdType.PERSONAL_INFO) ? getVCard2JSContactProfileIds(idType,args[0]) : getVCard2JSContactProfileIds(idType);
+        List<String> ids;
+        switch (idType) {
+            case RESOURCE:
+                ids = indexedProfile.getIds((ResourceType) args[0]);
+                break;
+            case PERSONAL_INFO:
+                ids = indexedProfile.getIds((PersonalInfoEnum) args[0]);
+                break;
+            default:
+                ids = indexedProfile.getIds(idType);
+                break;
+        }
 
         if (ids.size() == 0)
             return id;
@@ -313,7 +315,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
 
     private void addJSCardDirectoryResource(VCardProperty property, Card jsCard, DirectoryKind type, int index, List<RawProperty> vcardExtendedProperties) {
 
-        jsCard.addDirectoryResource(getJSCardId(JSContactIdsProfile.IdType.RESOURCE, index, String.format("%s-%s",type.getRfcValue().name(),index), property.getParameter(VCardParamEnum.PROP_ID.getValue()), type),
+        jsCard.addDirectoryResource(getJSCardId(JSContactIdsProfile.IdType.RESOURCE, index, String.format("%s-%s",type.getRfcValue().name(),index), property.getParameter(VCardParamEnum.PROP_ID.getValue()), ResourceType.valueOf(type.getRfcValue().name())),
                                     toJSCardDirectoryResource(property,type, vcardExtendedProperties));
     }
 
@@ -426,7 +428,24 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
             return property.getUri();
     }
 
-    private String getValue(Timezone property) {
+    /**
+     * Holds the state of a single vCard conversion so that a converter instance never changes after its configuration
+     * and can be shared by concurrent threads.
+     */
+    private static final class ConversionContext {
+
+        private final EZVCard2JSContact converter;
+        private final VCardPropertiesAltidComparator vCardPropertiesAltidComparator;
+        private int customTimeZoneCounter = 0;
+        private Map<String, TimeZone> customTimeZones; //created at the first custom time zone
+
+        private ConversionContext(EZVCard2JSContact converter, String defaultLanguage) {
+            this.converter = converter;
+            this.vCardPropertiesAltidComparator = VCardPropertiesAltidComparator.builder().defaultLanguage(defaultLanguage).build();
+        }
+    }
+
+    private String getValue(Timezone property, ConversionContext context) {
 
         if (property.getText()!= null)
             return property.getText();
@@ -441,8 +460,10 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                                                (hours.equals("00") && minutes.equals("00")) ? StringUtils.EMPTY : String.valueOf(Integer.parseInt(hours)),
                                                (minutes.equals("00") ? StringUtils.EMPTY : ":" + minutes));
             else {
-                String timeZoneName = String.format("%s%d", config.getCustomTimeZonesPrefix(), ++customTimeZoneCounter);
-                customTimeZones.put(timeZoneName, TimeZone.builder()
+                String timeZoneName = String.format("%s%d", config.getCustomTimeZonesPrefix(), ++context.customTimeZoneCounter);
+                if (context.customTimeZones == null)
+                    context.customTimeZones = new HashMap<>();
+                context.customTimeZones.put(timeZoneName, TimeZone.builder()
                         .tzId(String.format("%s%s%s%s",CUSTOM_TIME_ZONE_ID_PREFIX,sign,hours,minutes))
                         .updated(java.util.Calendar.getInstance())
                         .standardItem(TimeZoneRule.builder()
@@ -552,13 +573,13 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
         return false;
     }
 
-    private void fillJSCardFullName(VCard vcard, Card jsCard) {
+    private void fillJSCardFullName(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getFormattedNames() == null || vcard.getFormattedNames().isEmpty())
             return;
 
         List<FormattedName> fns = vcard.getFormattedNames();
-        fns.sort(vCardPropertiesAltidComparator);
+        fns.sort(context.vCardPropertiesAltidComparator);
         String lastAltid = null;
 
         FormattedName candidateFn = null;
@@ -606,7 +627,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                         jsCard.getName().setFull(fn.getValue());
                     lastAltid = fn.getAltId();
                 } else {
-                    jsCard.addLocalization(fn.getLanguage(), "name", mapper.convertValue(Name.builder().full(fn.getValue()).build(), JsonNode.class));
+                    jsCard.addLocalization(fn.getLanguage(), "name", JSContactMapper.getMapper().convertValue(Name.builder().full(fn.getValue()).build(), JsonNode.class));
                 }
             }
         }
@@ -795,13 +816,13 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
         return name;
     }
 
-    private void fillJSCardNames(VCard vcard, Card jsCard) {
+    private void fillJSCardNames(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getProperties(ExtendedStructuredName.class) == null || vcard.getProperties(ExtendedStructuredName.class).isEmpty())
             return;
 
         List<ExtendedStructuredName> vcardNames = vcard.getProperties(ExtendedStructuredName.class);
-        vcardNames.sort(vCardPropertiesAltidComparator);
+        vcardNames.sort(context.vCardPropertiesAltidComparator);
 
         if (jsCard.getName() == null) // no full name exists
             jsCard.setName(toJSCardName(vcardNames.get(0))); //the first N property is the name, all the others name are localizations or phonetic
@@ -843,10 +864,10 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 }
             }
             else if (jsCard.getLocalization(language, "name") == null)
-                jsCard.addLocalization(language, "name", mapper.convertValue(name, JsonNode.class));
+                jsCard.addLocalization(language, "name", JSContactMapper.getMapper().convertValue(name, JsonNode.class));
             else {
                 name.setFull(getFullNamePerLanguage(vcard, language));
-                jsCard.addLocalization(language, "name", mapper.convertValue(name, JsonNode.class));
+                jsCard.addLocalization(language, "name", JSContactMapper.getMapper().convertValue(name, JsonNode.class));
             }
         }
     }
@@ -862,13 +883,13 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
     }
 
 
-    private void fillJSCardNickNames(VCard vcard, Card jsCard) {
+    private void fillJSCardNickNames(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getNicknames() == null || vcard.getNicknames().isEmpty())
             return;
 
         List<ezvcard.property.Nickname> vcardNickNames = vcard.getNicknames();
-        vcardNickNames.sort(vCardPropertiesAltidComparator);
+        vcardNickNames.sort(context.vCardPropertiesAltidComparator);
         int i = 1;
         String lastAltid = null;
         String lastMapId = null;
@@ -882,7 +903,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                     lastMapId = id;
                 }
                 else {
-                    jsCard.addLocalization(vcardNickName.getLanguage(), "nicknames/" + lastMapId, mapper.convertValue(toJSCardNickName(name, vcardNickName, vcard), JsonNode.class));
+                    jsCard.addLocalization(vcardNickName.getLanguage(), "nicknames/" + lastMapId, JSContactMapper.getMapper().convertValue(toJSCardNickName(name, vcardNickName, vcard), JsonNode.class));
                 }
             }
         }
@@ -901,19 +922,19 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
             return null;
     }
 
-    private String toJSCardTimezoneName(String vcardTzParam) {
+    private String toJSCardTimezoneName(String vcardTzParam, ConversionContext context) {
 
         if (vcardTzParam == null)
             return null;
 
         Matcher m = TIMEZONE_AS_UTC_OFFSET_PATTERN.matcher(vcardTzParam);
         if (m.find())
-            return getValue(new Timezone(UtcOffset.parse(vcardTzParam.replace(":", StringUtils.EMPTY))));
+            return getValue(new Timezone(UtcOffset.parse(vcardTzParam.replace(":", StringUtils.EMPTY))), context);
         else
             return vcardTzParam;
     }
 
-    private Address toJSCardAddress(ExtendedAddress vcardAddr) {
+    private Address toJSCardAddress(ExtendedAddress vcardAddr, ConversionContext context) {
 
         List<AddressComponent> streetDetailPairs = new ArrayList<>();
 
@@ -1055,7 +1076,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 .full(toJSCardFulllAddress(vcardAddr.getLabel(), autoFullAddress))
                 .pref(vcardAddr.getPref())
                 .coordinates(getValue(vcardAddr.getGeo()))
-                .timeZone(toJSCardTimezoneName(vcardAddr.getTimezone()))
+                .timeZone(toJSCardTimezoneName(vcardAddr.getTimezone(), context))
                 .countryCode((VCardParamEnum.CC.getValue()!=null) ? vcardAddr.getParameter(VCardParamEnum.CC.getValue()) : vcardAddr.getParameter(VCardParamEnum.ISO_3166_1_ALPHA_2.getValue()))
                 .components((streetDetailPairs.size() > 0) ? streetDetailPairs.toArray(new AddressComponent[0]) : null)
                 .altid(vcardAddr.getAltId())
@@ -1085,7 +1106,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
 
         return address;
     }
-    private void fillJSCardAddresses(VCard vcard, Card jsCard) {
+    private void fillJSCardAddresses(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getProperties(ExtendedAddress.class) == null || vcard.getProperties(ExtendedAddress.class).isEmpty())
             return;
@@ -1094,10 +1115,10 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
         String tz;
         String geo;
         for (ExtendedAddress addr : vcard.getProperties(ExtendedAddress.class))
-            addresses.add(toJSCardAddress(addr));
+            addresses.add(toJSCardAddress(addr, context));
 
         if (vcard.getTimezone() != null) {
-            tz = getValue(vcard.getTimezone());
+            tz = getValue(vcard.getTimezone(), context);
             it.cnr.iit.jscontact.tools.dto.Address address = findJSCardAddressByGroup(addresses, vcard.getTimezone().getGroup());
             if (address != null) {
                 address.setTimeZone(tz);
@@ -1161,7 +1182,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                     }
                 }
                 else
-                    jsCard.addLocalization(address.getLanguage(), "addresses/" + lastMapId, mapper.convertValue(address, JsonNode.class));
+                    jsCard.addLocalization(address.getLanguage(), "addresses/" + lastMapId, JSContactMapper.getMapper().convertValue(address, JsonNode.class));
             }
         }
     }
@@ -1509,13 +1530,13 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
     }
 
 
-    private void fillJSCardTitlesfromVCardTitles(VCard vcard, Card jsCard) {
+    private void fillJSCardTitlesfromVCardTitles(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getTitles() == null || vcard.getTitles().isEmpty())
             return;
 
         List<ezvcard.property.Title> titles = vcard.getTitles();
-        titles.sort(vCardPropertiesAltidComparator);
+        titles.sort(context.vCardPropertiesAltidComparator);
         int i = 1;
         String lastAltid = null;
         String lastMapId = null;
@@ -1527,18 +1548,18 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 lastAltid = vcardTitle.getAltId();
                 lastMapId = id;
             } else {
-                jsCard.addLocalization(vcardTitle.getLanguage(), "titles/" + lastMapId, mapper.convertValue(toJSCardTitle(vcardTitle, vcard, jsCard), JsonNode.class));
+                jsCard.addLocalization(vcardTitle.getLanguage(), "titles/" + lastMapId, JSContactMapper.getMapper().convertValue(toJSCardTitle(vcardTitle, vcard, jsCard), JsonNode.class));
             }
         }
     }
 
-    private void fillJSCardTitlesfromVCardRoles(VCard vcard, Card jsCard) {
+    private void fillJSCardTitlesfromVCardRoles(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getRoles() == null || vcard.getRoles().isEmpty())
             return;
 
         List<ezvcard.property.Role> roles = vcard.getRoles();
-        roles.sort(vCardPropertiesAltidComparator);
+        roles.sort(context.vCardPropertiesAltidComparator);
         int i = (jsCard.getTitles() != null) ? jsCard.getTitles().size() + 1 : 1;
         String lastAltid = null;
         String lastMapId = null;
@@ -1550,7 +1571,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 lastAltid = vcardRole.getAltId();
                 lastMapId = id;
             } else {
-                jsCard.addLocalization(vcardRole.getLanguage(), "titles/" + lastMapId, mapper.convertValue(toJSCardTitle(vcardRole, vcard, jsCard), JsonNode.class));
+                jsCard.addLocalization(vcardRole.getLanguage(), "titles/" + lastMapId, JSContactMapper.getMapper().convertValue(toJSCardTitle(vcardRole, vcard, jsCard), JsonNode.class));
             }
         }
     }
@@ -1600,13 +1621,13 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
     }
 
 
-    private void fillJSCardOrganizations(VCard vcard, Card jsCard) {
+    private void fillJSCardOrganizations(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getOrganizations() == null || vcard.getOrganizations().isEmpty())
             return;
 
         List<ezvcard.property.Organization> vcardOrgs = vcard.getOrganizations();
-        vcardOrgs.sort(vCardPropertiesAltidComparator);
+        vcardOrgs.sort(context.vCardPropertiesAltidComparator);
         int i = 1;
         String lastAltid = null;
         String lastMapId = null;
@@ -1618,7 +1639,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 lastAltid = vcardOrg.getAltId();
                 lastMapId = id;
             } else {
-                jsCard.addLocalization(vcardOrg.getLanguage(), "organizations/" + lastMapId, mapper.convertValue(toJSCardOrganization(vcardOrg, vcard), JsonNode.class));
+                jsCard.addLocalization(vcardOrg.getLanguage(), "organizations/" + lastMapId, JSContactMapper.getMapper().convertValue(toJSCardOrganization(vcardOrg, vcard), JsonNode.class));
             }
         }
     }
@@ -1637,13 +1658,13 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 .build();
     }
 
-    private void fillJSCardNotes(VCard vcard, Card jsCard) {
+    private void fillJSCardNotes(VCard vcard, Card jsCard, ConversionContext context) {
 
         if (vcard.getNotes() == null || vcard.getNotes().isEmpty())
             return;
 
         List<ezvcard.property.Note> vcardNotes = vcard.getNotes();
-        vcardNotes.sort(vCardPropertiesAltidComparator);
+        vcardNotes.sort(context.vCardPropertiesAltidComparator);
         int i = 1;
         String lastAltid = null;
         String lastMapId = null;
@@ -1655,7 +1676,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                 lastAltid = vcardNote.getAltId();
                 lastMapId = id;
             } else {
-                jsCard.addLocalization(vcardNote.getLanguage(), "notes/" + lastMapId, mapper.convertValue(toJSCardNote(vcardNote, vcard), JsonNode.class));
+                jsCard.addLocalization(vcardNote.getLanguage(), "notes/" + lastMapId, JSContactMapper.getMapper().convertValue(toJSCardNote(vcardNote, vcard), JsonNode.class));
             }
         }
     }
@@ -1749,7 +1770,7 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
                     }
                 } else {
                     jsonPointer = String.format("%s/%s", jsonPointer, lastMapid);
-                    jsCard.addLocalization(language, jsonPointer, mapper.convertValue(pronouns, JsonNode.class));
+                    jsCard.addLocalization(language, jsonPointer, JSContactMapper.getMapper().convertValue(pronouns, JsonNode.class));
                 }
             }
             else if (extension.getPropertyName().equalsIgnoreCase(VCardPropEnum.SOCIALPROFILE.getValue())) {
@@ -1869,6 +1890,79 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
         }
     }
 
+    @SafeVarargs
+    private static int countProperties(VCard vcard, Class<? extends VCardProperty>... propertyClasses) {
+
+        int count = 0;
+        for (Class<? extends VCardProperty> propertyClass : propertyClasses)
+            count += vcard.getProperties(propertyClass).size();
+        return count;
+    }
+
+    private static int countAddressProperties(VCard vcard) {
+
+        int count = countProperties(vcard, ExtendedAddress.class);
+        if (count > 0)
+            count += ((vcard.getTimezone() != null) ? 1 : 0) + ((vcard.getGeo() != null) ? 1 : 0);
+        return count;
+    }
+
+    private static int countExtendedProperties(VCard vcard, Predicate<String> propertyNameFilter) {
+
+        int count = 0;
+        for (RawProperty extension : vcard.getExtendedProperties()) {
+            if (propertyNameFilter.test(extension.getPropertyName().toLowerCase()))
+                count++;
+        }
+        return count;
+    }
+
+    private static boolean isConvertedJSContactExtension(String propertyName) {
+
+        return propertyName.equals(VCardPropEnum.CREATED.getValue().toLowerCase()) ||
+               propertyName.equals(VCardPropEnum.GRAMGENDER.getValue().toLowerCase()) ||
+               propertyName.equals(VCardPropEnum.PRONOUNS.getValue().toLowerCase()) ||
+               propertyName.equals(VCardPropEnum.SOCIALPROFILE.getValue().toLowerCase());
+    }
+
+    private void fillJSCardAddressesAndCustomTimeZones(VCard vcard, Card jsCard, ConversionContext context) {
+
+        fillJSCardAddresses(vcard, jsCard, context);
+        if (context.customTimeZones != null)
+            jsCard.setCustomTimeZones(context.customTimeZones);
+    }
+
+    private static final List<ConversionStage<ConversionContext, VCard, Card>> STAGES = Arrays.asList(
+            ConversionStage.of("speakToAsOrGender", (c, v, j) -> c.converter.fillJSCardSpeakToAsOrGender(v, j), v -> countProperties(v, Gender.class)),
+            ConversionStage.of("members", (c, v, j) -> c.converter.fillJSCardMembers(v, j), v -> countProperties(v, Member.class)),
+            ConversionStage.of("fullName", (c, v, j) -> c.converter.fillJSCardFullName(v, j, c), v -> countProperties(v, FormattedName.class)),
+            ConversionStage.of("names", (c, v, j) -> c.converter.fillJSCardNames(v, j, c), v -> countProperties(v, ExtendedStructuredName.class)),
+            ConversionStage.of("nickNames", (c, v, j) -> c.converter.fillJSCardNickNames(v, j, c), v -> countProperties(v, ezvcard.property.Nickname.class)),
+            ConversionStage.of("addresses", (c, v, j) -> c.converter.fillJSCardAddressesAndCustomTimeZones(v, j, c), EZVCard2JSContact::countAddressProperties),
+            ConversionStage.of("anniversaries", (c, v, j) -> c.converter.fillJSCardAnniversaries(v, j), v -> countProperties(v, Birthday.class, ezvcard.property.Anniversary.class, Deathdate.class, Birthplace.class, Deathplace.class)),
+            ConversionStage.of("personalInfos", (c, v, j) -> c.converter.fillJSCardPersonalInfos(v, j), v -> countProperties(v, Expertise.class, Hobby.class, Interest.class)),
+            ConversionStage.of("preferredLanguages", (c, v, j) -> c.converter.fillJSCardPreferredLanguages(v, j), v -> countProperties(v, ezvcard.property.Language.class)),
+            ConversionStage.of("phones", (c, v, j) -> c.converter.fillJSCardPhones(v, j), v -> countProperties(v, Telephone.class)),
+            ConversionStage.of("emails", (c, v, j) -> c.converter.fillJSCardEmails(v, j), v -> countProperties(v, ezvcard.property.Email.class)),
+            ConversionStage.of("schedulingAddresses", (c, v, j) -> c.converter.fillJSCardSchedulingAddresses(v, j), v -> countProperties(v, CalendarRequestUri.class)),
+            ConversionStage.of("onlineServices", (c, v, j) -> c.converter.fillJSCardOnlineServices(v, j), v -> countProperties(v, Impp.class)),
+            ConversionStage.of("calendars", (c, v, j) -> c.converter.fillJSCardCalendars(v, j), v -> countProperties(v, CalendarUri.class, FreeBusyUrl.class)),
+            ConversionStage.of("cryptoKeys", (c, v, j) -> c.converter.fillJSCardCryptoKeys(v, j), v -> countProperties(v, Key.class)),
+            ConversionStage.of("links", (c, v, j) -> c.converter.fillJSCardLinks(v, j), v -> countProperties(v, Url.class)),
+            ConversionStage.of("media", (c, v, j) -> c.converter.fillJSCardMedia(v, j), v -> countProperties(v, Photo.class, Logo.class, Sound.class)),
+            ConversionStage.of("directories", (c, v, j) -> c.converter.fillJSCardDirectories(v, j), v -> countProperties(v, OrgDirectory.class, Source.class)),
+            ConversionStage.of("organizations", (c, v, j) -> c.converter.fillJSCardOrganizations(v, j, c), v -> countProperties(v, Organization.class)),
+            ConversionStage.of("titles", (c, v, j) -> c.converter.fillJSCardTitlesfromVCardTitles(v, j, c), v -> countProperties(v, Title.class)),
+            ConversionStage.of("roles", (c, v, j) -> c.converter.fillJSCardTitlesfromVCardRoles(v, j, c), v -> countProperties(v, Role.class)),
+            ConversionStage.of("keywords", (c, v, j) -> c.converter.fillJSCardKeywords(v, j), v -> countProperties(v, Categories.class)),
+            ConversionStage.of("notes", (c, v, j) -> c.converter.fillJSCardNotes(v, j, c), v -> countProperties(v, ezvcard.property.Note.class)),
+            ConversionStage.of("relations", (c, v, j) -> fillJSCardRelations(v, j), v -> countProperties(v, Related.class)),
+            ConversionStage.of("jsContactExtensions", (c, v, j) -> c.converter.fillJSCardPropsFromVCardJSContactExtensions(v, j), v -> countExtendedProperties(v, EZVCard2JSContact::isConvertedJSContactExtension)),
+            ConversionStage.of("unmatchedProps", (c, v, j) -> fillVCardUnmatchedProps(v, j), v -> countProperties(v, ClientPidMap.class, Xml.class)),
+            ConversionStage.of("vCardExtensions", (c, v, j) -> c.converter.fillJSCardPropsFromVCardExtensions(v, j), v -> countExtendedProperties(v, name -> !fakeExtensionsMapping.containsKey(name))),
+            ConversionStage.of("jsCardExtensions", (c, v, j) -> c.converter.fillJSPropsFromJSCardExtensionsInVCard(v, j), v -> countExtendedProperties(v, VCardPropEnum.JSPROP.getValue().toLowerCase()::equals))
+    );
+
     private Card convert(VCard vCard) throws CardException {
 
         Card jsCard;
@@ -1884,48 +1978,50 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
         jsCard.setUpdated(toJSCardUpdated(vCard.getRevision()));
         RawProperty language = vCard.getExtendedProperty(VCardPropEnum.LANGUAGE.getValue());
         jsCard.setLanguage((language!=null) ? language.getValue() : config.getDefaultLanguage());
-        vCardPropertiesAltidComparator = VCardPropertiesAltidComparator.builder().defaultLanguage(jsCard.getLanguage()).build();
-        vCardPropertiesPrefComparator = VCardPropertiesPrefComparator.builder().build();
-        fillJSCardSpeakToAsOrGender(vCard, jsCard);
-        fillJSCardMembers(vCard, jsCard);
-        fillJSCardFullName(vCard, jsCard);
-        fillJSCardNames(vCard, jsCard);
-        fillJSCardNickNames(vCard, jsCard);
-        fillJSCardAddresses(vCard, jsCard);
-        fillJSCardAnniversaries(vCard, jsCard);
-        fillJSCardPersonalInfos(vCard, jsCard);
-        fillJSCardPreferredLanguages(vCard, jsCard);
-        fillJSCardPhones(vCard, jsCard);
-        fillJSCardEmails(vCard, jsCard);
-        fillJSCardSchedulingAddresses(vCard,jsCard);
-        fillJSCardOnlineServices(vCard, jsCard);
-        fillJSCardCalendars(vCard, jsCard);
-        fillJSCardCryptoKeys(vCard, jsCard);
-        fillJSCardLinks(vCard, jsCard);
-        fillJSCardMedia(vCard, jsCard);
-        fillJSCardDirectories(vCard, jsCard);
-        fillJSCardOrganizations(vCard, jsCard);
-        fillJSCardTitlesfromVCardTitles(vCard, jsCard);
-        fillJSCardTitlesfromVCardRoles(vCard, jsCard);
-        fillJSCardKeywords(vCard, jsCard);
-        fillJSCardNotes(vCard, jsCard);
-        fillJSCardRelations(vCard, jsCard);
-        fillJSCardPropsFromVCardJSContactExtensions(vCard, jsCard);
-        if (customTimeZones.size() > 0)
-            jsCard.setCustomTimeZones(customTimeZones);
-        fillVCardUnmatchedProps(vCard, jsCard);
-        fillJSCardPropsFromVCardExtensions(vCard, jsCard);
-        fillJSPropsFromJSCardExtensionsInVCard(vCard, jsCard);
+        ConversionStage.runAll(STAGES, new ConversionContext(this, jsCard.getLanguage()), vCard, jsCard, config.getConversionListener());
 
        return jsCard;
     }
 
-    private boolean warningIsAboutNonPrintableCharacters(String warning) {
+    private void validate(VCard vCard) throws CardException {
 
-        if (warning.contains("Parameter values may contain printable characters, with the exception of: [ \\n \\r \" ]"))
-            return true;
+        if (!config.isValidateCard())
+            return;
 
-        return false;
+        EZVCardValidator.validate(vCard, config.getIgnoredWarningCodes(), config.getIgnoredWarningPropertyTypes());
+    }
+
+    private Card measureAndConvert(VCard vCard) throws CardException {
+
+        ConversionListener listener = config.getConversionListener();
+        if (listener == null && !Metrics.isEnabled()) {
+            validate(vCard);
+            return convert(vCard);
+        }
+
+        long allocatedBytes = (listener != null) ? AllocationUtils.getAllocatedBytes() : -1;
+        long start = System.nanoTime();
+        try {
+            validate(vCard);
+        } catch (CardException e) {
+            Metrics.incrementCounter(Metrics.CONVERSION_FAILURES, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT, Metrics.TAG_REASON, Metrics.reasonOf(e));
+            throw e;
+        }
+        if (listener != null)
+            listener.stageCompleted("validation", System.nanoTime() - start, vCard.getProperties().size(), (allocatedBytes < 0) ? -1 : AllocationUtils.getAllocatedBytes() - allocatedBytes);
+        Card jsCard;
+        try {
+            jsCard = convert(vCard);
+        } catch (CardException e) {
+            Metrics.incrementCounter(Metrics.CONVERSION_FAILURES, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT, Metrics.TAG_REASON, Metrics.reasonOf(e));
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        Metrics.incrementCounter(Metrics.CONVERSIONS, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT);
+        Metrics.recordTime(Metrics.CONVERSION_TIME, elapsedNanos, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT);
+        if (listener != null)
+            listener.cardCompleted(jsCard.getUid(), elapsedNanos, vCard.getProperties().size(), (allocatedBytes < 0) ? -1 : AllocationUtils.getAllocatedBytes() - allocatedBytes);
+        return jsCard;
     }
 
     /**
@@ -1946,16 +2042,66 @@ public abstract class EZVCard2JSContact extends AbstractConverter {
 
         List<Card> jsCards = new ArrayList<>();
 
-        for (VCard vCard : vCards) {
-            if (config.isValidateCard()) {
-                ValidationWarnings warnings = vCard.validate(VCardVersion.V4_0);
-                if (!warnings.isEmpty() && !warningIsAboutNonPrintableCharacters(warnings.toString()))
-                    throw new CardException(warnings.toString());
-            }
-            jsCards.add(convert(vCard));
-        }
+        for (VCard vCard : vCards)
+            jsCards.add(measureAndConvert(vCard));
 
         return jsCards;
     }
 
+    /**
+     * Converts a list of vCard v4.0 instances [RFC6350] into a list of Card objects by splitting them into chunks converted in parallel.
+     * The converted cards are returned in input order.
+     * The conversion listener, if any, is notified from the threads of the executor.
+     *
+     * @param executor the executor running the conversion of the chunks (e.g. a ForkJoinPool)
+     * @param chunkSize the maximum number of vCard instances converted by a single task
+     * @param vCards a list of instances of the ez-vcard library VCard class [ez-vcard]
+     * @return a list of Card objects
+     * @throws CardException if one of the vCard instances is not v4.0 compliant
+     * @throws IllegalArgumentException if chunkSize is not positive
+     * @see <a href="https://github.com/mangstadt/ez-vcard">ez-vcard</a>
+     */
+    public List<Card> convertParallel(Executor executor, int chunkSize, VCard... vCards) throws CardException {
+
+        return convertInChunks(vCards, executor, chunkSize, this::convert);
+    }
+
+    /**
+     * Converts a list of vCard v4.0 instances [RFC6350] into a list of results, one per vCard instance in input order.
+     * Unlike {@link #convert(VCard...)}, a vCard instance that cannot be converted does not stop the conversion of the others
+     * but is reported by a failed result including its index and the reasons of the failure.
+     *
+     * @param vCards a list of instances of the ez-vcard library VCard class [ez-vcard]
+     * @return a list of conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @see <a href="https://github.com/mangstadt/ez-vcard">ez-vcard</a>
+     */
+    public List<ConversionResult<Card>> convertEach(VCard... vCards) {
+
+        List<ConversionResult<Card>> results = new ArrayList<>(vCards.length);
+
+        for (int i = 0; i < vCards.length; i++)
+            results.add(convertToResult(i, -1, vCards[i]));
+
+        return results;
+    }
+
+    /**
+     * Converts a vCard v4.0 instance [RFC6350] into a conversion result.
+     *
+     * @param index the position of the vCard instance in the input
+     * @param offset the byte offset of the vCard instance in the input, -1 if unknown
+     * @param vCard an instance of the ez-vcard library VCard class [ez-vcard]
+     * @return the conversion result including either a Card object or the reasons why the conversion failed
+     */
+    protected ConversionResult<Card> convertToResult(int index, long offset, VCard vCard) {
+
+        try {
+            return ConversionResult.success(index, offset, measureAndConvert(vCard));
+        } catch (CardException e) {
+            return ConversionResult.failure(index, offset, e.getReasons());
+        } catch (RuntimeException e) {
+            return ConversionResult.failure(index, offset, Collections.singletonList(String.valueOf(e)));
+        }
+    }
+
 }
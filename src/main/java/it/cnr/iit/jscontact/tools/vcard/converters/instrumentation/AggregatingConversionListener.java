@@ -0,0 +1,155 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.converters.instrumentation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe implementation of {@link ConversionListener} aggregating the measurements of all the converted cards.
+ * An instance can be shared among converters and threads, and optionally forwards the measurements to a delegate listener
+ * (e.g. one logging the measurements of every card).
+ *
+ * @author Mario Loffredo
+ */
+public class AggregatingConversionListener implements ConversionListener {
+
+    /**
+     * Class representing a snapshot of the aggregated measurements of a conversion stage or of the whole card conversion.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Statistics {
+
+        private final long count;
+        private final long totalNanos;
+        private final long totalProperties;
+        private final long totalAllocatedBytes;
+
+        /**
+         * Returns the average time spent, in nanoseconds.
+         *
+         * @return the average time spent or 0 if no measurement has been collected
+         */
+        public double getAverageNanos() {
+            return (count == 0) ? 0 : (double) totalNanos / count;
+        }
+    }
+
+    private static class Accumulator {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalProperties = new LongAdder();
+        private final LongAdder totalAllocatedBytes = new LongAdder();
+
+        private void add(long elapsedNanos, int propertyCount, long allocatedBytes) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            totalProperties.add(propertyCount);
+            if (allocatedBytes > 0)
+                totalAllocatedBytes.add(allocatedBytes);
+        }
+
+        private Statistics toStatistics() {
+            return new Statistics(count.sum(), totalNanos.sum(), totalProperties.sum(), totalAllocatedBytes.sum());
+        }
+    }
+
+    private final Map<String, Accumulator> stages = new ConcurrentHashMap<>();
+
+    private final Accumulator cards = new Accumulator();
+
+    private final ConversionListener delegate;
+
+    /**
+     * Creates a listener only aggregating the measurements.
+     */
+    public AggregatingConversionListener() {
+        this(null);
+    }
+
+    /**
+     * Creates a listener aggregating the measurements and forwarding them to a delegate listener.
+     *
+     * @param delegate the listener receiving the measurements of each stage and card
+     */
+    public AggregatingConversionListener(ConversionListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void stageCompleted(String stage, long elapsedNanos, int propertyCount, long allocatedBytes) {
+
+        stages.computeIfAbsent(stage, k -> new Accumulator()).add(elapsedNanos, propertyCount, allocatedBytes);
+        if (delegate != null)
+            delegate.stageCompleted(stage, elapsedNanos, propertyCount, allocatedBytes);
+    }
+
+    @Override
+    public void cardCompleted(String uid, long elapsedNanos, int propertyCount, long allocatedBytes) {
+
+        cards.add(elapsedNanos, propertyCount, allocatedBytes);
+        if (delegate != null)
+            delegate.cardCompleted(uid, elapsedNanos, propertyCount, allocatedBytes);
+    }
+
+    /**
+     * Returns the aggregated measurements of each stage, ordered from the most to the least time consuming.
+     *
+     * @return a map where the key is the stage name and the value is the related statistics
+     */
+    public Map<String, Statistics> getStageStatistics() {
+
+        Map<String, Statistics> snapshot = new LinkedHashMap<>();
+        stages.entrySet().stream()
+                .map(e -> new AbstractMap.SimpleEntry<>(e.getKey(), e.getValue().toStatistics()))
+                .sorted((e1, e2) -> Long.compare(e2.getValue().getTotalNanos(), e1.getValue().getTotalNanos()))
+                .forEach(e -> snapshot.put(e.getKey(), e.getValue()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns the aggregated measurements of the converted cards.
+     *
+     * @return the statistics of the converted cards
+     */
+    public Statistics getCardStatistics() {
+        return cards.toStatistics();
+    }
+
+    /**
+     * Discards all the aggregated measurements.
+     */
+    public void reset() {
+
+        stages.clear();
+        cards.count.reset();
+        cards.totalNanos.reset();
+        cards.totalProperties.reset();
+        cards.totalAllocatedBytes.reset();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.converters.instrumentation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Utility class for estimating the bytes allocated by the current thread.
+ * It relies on the com.sun.management.ThreadMXBean extension available on HotSpot based JVMs.
+ *
+ * @author Mario Loffredo
+ */
+public class AllocationUtils {
+
+    private static final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean))
+                return null;
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (!sunBean.isThreadAllocatedMemorySupported() || !sunBean.isThreadAllocatedMemoryEnabled())
+                return null;
+            return sunBean;
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    /**
+     * Tests if the allocation measurement is supported by the running JVM.
+     *
+     * @return true if the allocation measurement is supported, false otherwise
+     */
+    public static boolean isSupported() {
+        return threadMXBean != null;
+    }
+
+    /**
+     * Returns the total number of bytes allocated so far by the current thread.
+     *
+     * @return the number of allocated bytes, or -1 if the allocation measurement is not supported
+     */
+    public static long getAllocatedBytes() {
+
+        if (threadMXBean == null)
+            return -1;
+
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.converters.instrumentation;
+
+/**
+ * Interface for receiving the measurements collected while converting a card.
+ * A conversion is made of a sequence of stages, each filling a group of properties of the target card (e.g. names, addresses, extensions).
+ * The listener is notified when each stage completes and when the whole card has been converted.
+ * The methods are invoked on the thread performing the conversion, so implementations shared among converters must be thread-safe.
+ *
+ * @author Mario Loffredo
+ */
+public interface ConversionListener {
+
+    /**
+     * Receives the measurements of a conversion stage.
+     *
+     * @param stage the name of the stage
+     * @param elapsedNanos the wall time spent in the stage, in nanoseconds
+     * @param propertyCount the number of source properties handled by the stage
+     * @param allocatedBytes an estimate of the bytes allocated by the stage, or -1 if the JVM doesn't support allocation measurement
+     */
+    default void stageCompleted(String stage, long elapsedNanos, int propertyCount, long allocatedBytes) {}
+
+    /**
+     * Receives the measurements of the conversion of a whole card.
+     *
+     * @param uid the uid of the card
+     * @param elapsedNanos the wall time spent converting the card, in nanoseconds
+     * @param propertyCount the number of properties of the source card
+     * @param allocatedBytes an estimate of the bytes allocated by the conversion, or -1 if the JVM doesn't support allocation measurement
+     */
+    default void cardCompleted(String uid, long elapsedNanos, int propertyCount, long allocatedBytes) {}
+
+}
@@ -0,0 +1,105 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.converters.instrumentation;
+
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Class representing a stage of the conversion of a card, namely a step filling a group of properties of the target card.
+ * Converters define their stages once and run them in sequence through {@link #runAll(List, Object, Object, Object, ConversionListener)},
+ * which measures each stage only if a {@link ConversionListener} is set.
+ *
+ * @param <C> the converter type or the per-conversion context the stages run on
+ * @param <S> the source card type
+ * @param <T> the target card type
+ * @author Mario Loffredo
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConversionStage<C, S, T> {
+
+    /**
+     * Functional interface for the code of a stage.
+     *
+     * @param <C> the converter type or the per-conversion context the stages run on
+     * @param <S> the source card type
+     * @param <T> the target card type
+     */
+    @FunctionalInterface
+    public interface Filler<C, S, T> {
+        void fill(C converter, S source, T target) throws CardException;
+    }
+
+    private final String name;
+
+    private final Filler<C, S, T> filler;
+
+    private final ToIntFunction<S> propertyCounter;
+
+    /**
+     * Creates a conversion stage.
+     *
+     * @param name the name of the stage
+     * @param filler the code of the stage
+     * @param propertyCounter the function returning the number of source properties handled by the stage
+     * @param <C> the converter type or the per-conversion context the stages run on
+     * @param <S> the source card type
+     * @param <T> the target card type
+     * @return the conversion stage
+     */
+    public static <C, S, T> ConversionStage<C, S, T> of(String name, Filler<C, S, T> filler, ToIntFunction<S> propertyCounter) {
+        return new ConversionStage<>(name, filler, propertyCounter);
+    }
+
+    /**
+     * Runs a sequence of conversion stages.
+     * If the listener is null, the stages are simply run one after another.
+     *
+     * @param stages the conversion stages
+     * @param converter the converter or the per-conversion context
+     * @param source the source card
+     * @param target the target card
+     * @param listener the listener receiving the measurements of each stage, if any
+     * @param <C> the converter type or the per-conversion context the stages run on
+     * @param <S> the source card type
+     * @param <T> the target card type
+     * @throws CardException if a stage fails
+     */
+    public static <C, S, T> void runAll(List<ConversionStage<C, S, T>> stages, C converter, S source, T target, ConversionListener listener) throws CardException {
+
+        if (listener == null) {
+            for (ConversionStage<C, S, T> stage : stages)
+                stage.filler.fill(converter, source, target);
+            return;
+        }
+
+        for (ConversionStage<C, S, T> stage : stages) {
+            long allocatedBytes = AllocationUtils.getAllocatedBytes();
+            long start = System.nanoTime();
+            stage.filler.fill(converter, source, target);
+            long elapsedNanos = System.nanoTime() - start;
+            allocatedBytes = (allocatedBytes < 0) ? -1 : AllocationUtils.getAllocatedBytes() - allocatedBytes;
+            listener.stageCompleted(stage.name, elapsedNanos, stage.propertyCounter.applyAsInt(source), allocatedBytes);
+        }
+    }
+
+}
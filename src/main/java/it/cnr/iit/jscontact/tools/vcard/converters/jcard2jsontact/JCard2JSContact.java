@@ -15,17 +15,33 @@
  */
 package it.cnr.iit.jscontact.tools.vcard.converters.jcard2jsontact;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import ezvcard.VCard;
 import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
+import it.cnr.iit.jscontact.tools.dto.utils.ReadAheadIterator;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
 import it.cnr.iit.jscontact.tools.vcard.converters.ezvcard2jscontact.EZVCard2JSContact;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
 import lombok.Builder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Utility class for converting a jCard [RFC7095] into a JSContact object [RFC9553].
@@ -70,10 +86,11 @@ public class JCard2JSContact extends EZVCard2JSContact {
      * Converts a complete vCard v4.0 in JSON format, namely jCard [RFC7095], into a list of Card objects.
      * JSContact is defined in RFC9553.
      * Conversion rules are defined in RFC9555.
+     * The jCard is read straight from the tree, so the {@value Metrics#PARSED_BYTES} metric records the bytes of its compact JSON text.
      * @param jCard a jCard as an istance of Jackson library JsonNode class
      * @return a list of Card objects
      * @throws CardException if the jCard is not v4.0 compliant
-     * @throws JsonProcessingException if the jCard cannot be serialized
+     * @throws JsonProcessingException not thrown anymore as the jCard is no longer serialized; still declared for source compatibility
      * @see <a href="https://tools.ietf.org/html/rfc7095">RFC7095</a>
      * @see <a href="https://datatracker.ietf.org/doc/RFC9555/">RFC9555</a>
      * @see <a href="https://datatracker.ietf.org/doc/RFC9553/">RFC9553</a>
@@ -81,7 +98,195 @@ public class JCard2JSContact extends EZVCard2JSContact {
      */
     public List<Card> convert(JsonNode jCard) throws CardException, JsonProcessingException {
 
-        return convert(mapper.writeValueAsString(jCard));
+        List<VCard> vcards = VCardParser.parseJson(jCard);
+        if (vcards.size() == 0)
+            throw new CardException("Bad jCard format");
+        return convert(vcards.toArray(new VCard[0]));
+    }
+
+    /**
+     * Lazily converts the jCards [RFC7095] included in a JSON array read from a reader into a sequence of results, one per jCard in input order.
+     * The array is read token by token and each jCard is converted as soon as it is complete, so memory usage depends on the size of the largest jCard
+     * rather than on the size of the input. A single jCard not enclosed in an array is accepted as well.
+     * A jCard that cannot be converted is reported by a failed result including its index and the reasons of the failure.
+     * The byte offset of a jCard is not known when reading from a reader, so it is set to -1.
+     * The reader is closed when the iterator is exhausted.
+     *
+     * @param reader the reader of a JSON array of jCards
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the parser cannot be created
+     * @throws java.io.UncheckedIOException if the input is not well-formed JSON or cannot be read while advancing the iterator
+     * @see <a href="https://tools.ietf.org/html/rfc7095">RFC7095</a>
+     */
+    public Iterator<ConversionResult<Card>> iterator(Reader reader) throws IOException {
+
+        return new ConversionIterator(JSContactMapper.getMapper().createParser(reader));
+    }
+
+    /**
+     * Lazily converts the jCards [RFC7095] included in a JSON array read from an input stream into a sequence of results, one per jCard in input order.
+     * Each result includes the byte offset of the jCard in the input.
+     * The input stream is closed when the iterator is exhausted.
+     *
+     * @param in the input stream of a JSON array of jCards, whose encoding is auto-detected
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the parser cannot be created
+     * @see #iterator(Reader)
+     */
+    public Iterator<ConversionResult<Card>> iterator(InputStream in) throws IOException {
+
+        return new ConversionIterator(JSContactMapper.getMapper().createParser(in));
+    }
+
+    /**
+     * Lazily converts the jCards [RFC7095] included in a JSON array stored in a file into a sequence of results, one per jCard in input order.
+     * The file is closed when the iterator is exhausted; {@link #stream(Path)} should be preferred if the iteration can be stopped before.
+     *
+     * @param path the path of a file including a JSON array of jCards
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the file cannot be opened
+     * @see #iterator(InputStream)
+     */
+    public Iterator<ConversionResult<Card>> iterator(Path path) throws IOException {
+
+        return iterator(Files.newInputStream(path));
+    }
+
+    /**
+     * Lazily converts the jCards [RFC7095] included in a JSON array read from a reader into a sequential stream of results, one per jCard in input order.
+     * Closing the stream closes the reader.
+     *
+     * @param reader the reader of a JSON array of jCards
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the parser cannot be created
+     * @see #iterator(Reader)
+     */
+    public Stream<ConversionResult<Card>> stream(Reader reader) throws IOException {
+
+        return new ConversionIterator(JSContactMapper.getMapper().createParser(reader)).stream();
+    }
+
+    /**
+     * Lazily converts the jCards [RFC7095] included in a JSON array read from an input stream into a sequential stream of results, one per jCard in input order.
+     * Closing the stream closes the input stream.
+     *
+     * @param in the input stream of a JSON array of jCards, whose encoding is auto-detected
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the parser cannot be created
+     * @see #iterator(InputStream)
+     */
+    public Stream<ConversionResult<Card>> stream(InputStream in) throws IOException {
+
+        return new ConversionIterator(JSContactMapper.getMapper().createParser(in)).stream();
+    }
+
+    /**
+     * Lazily converts the jCards [RFC7095] included in a JSON array stored in a file into a sequential stream of results, one per jCard in input order.
+     * Closing the stream closes the file.
+     *
+     * @param path the path of a file including a JSON array of jCards
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the file cannot be opened
+     * @see #iterator(InputStream)
+     */
+    public Stream<ConversionResult<Card>> stream(Path path) throws IOException {
+
+        return stream(Files.newInputStream(path));
+    }
+
+    private ConversionResult<Card> convertToResult(int index, long offset, JsonNode jCard) {
+
+        List<VCard> vcards;
+        try {
+            vcards = VCardParser.parseJson(jCard);
+        } catch (RuntimeException e) {
+            return ConversionResult.failure(index, offset, Collections.singletonList(String.valueOf(e)));
+        }
+        if (vcards.size() == 0)
+            return ConversionResult.failure(index, offset, Collections.singletonList("Bad jCard format"));
+        return convertToResult(index, offset, vcards.get(0));
+    }
+
+    private class ConversionIterator extends ReadAheadIterator<ConversionResult<Card>> {
+
+        private final JsonParser parser;
+        private long offset;
+        private int index = 0;
+        private boolean started = false;
+
+        private ConversionIterator(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        protected ConversionResult<Card> readNext() throws IOException {
+
+            JsonNode jCard = readJCard();
+            return (jCard == null) ? null : convertToResult(index++, offset, jCard);
+        }
+
+        @Override
+        protected void closeSource() throws IOException {
+            parser.close();
+        }
+
+        private JsonNode readJCard() throws IOException {
+
+            if (!started) {
+                started = true;
+                JsonToken token = parser.nextToken();
+                if (token == null)
+                    return null;
+                if (token != JsonToken.START_ARRAY)
+                    throw new JsonParseException(parser, "Expected an array of jCards");
+                offset = parser.currentTokenLocation().getByteOffset();
+                token = parser.nextToken();
+                if (token == JsonToken.VALUE_STRING) {
+                    // a single jCard: it is the only element of the sequence
+                    ArrayNode jCard = JSContactMapper.getMapper().createArrayNode();
+                    jCard.add(parser.getText());
+                    while (parser.nextToken() != JsonToken.END_ARRAY)
+                        jCard.add(parser.<JsonNode>readValueAsTree());
+                    return jCard;
+                }
+                return readElement(token);
+            }
+            return readElement(parser.nextToken());
+        }
+
+        private JsonNode readElement(JsonToken token) throws IOException {
+
+            if (token == null || token == JsonToken.END_ARRAY)
+                return null;
+            offset = parser.currentTokenLocation().getByteOffset();
+            return parser.readValueAsTree();
+        }
+    }
+
+    /**
+     * Asynchronously converts a complete vCard v4.0 in JSON format, namely jCard [RFC7095], into a list of Card objects.
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param jCard a jCard as a JSON string
+     * @return the future list of Card objects
+     */
+    public CompletableFuture<List<Card>> convertAsync(Executor executor, String jCard) {
+
+        return supplyAsync(executor, () -> convert(jCard));
+    }
+
+    /**
+     * Asynchronously converts a complete vCard v4.0 in JSON format, namely jCard [RFC7095], into a list of Card objects.
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param jCard a jCard as an istance of Jackson library JsonNode class
+     * @return the future list of Card objects
+     */
+    public CompletableFuture<List<Card>> convertAsync(Executor executor, JsonNode jCard) {
+
+        return supplyAsync(executor, () -> convert(jCard));
     }
 
 }
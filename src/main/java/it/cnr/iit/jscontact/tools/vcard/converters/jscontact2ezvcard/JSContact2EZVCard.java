@@ -2,7 +2,6 @@ package it.cnr.iit.jscontact.tools.vcard.converters.jscontact2ezvcard;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import ezvcard.VCard;
 import ezvcard.VCardDataType;
@@ -26,17 +25,24 @@ import it.cnr.iit.jscontact.tools.dto.interfaces.VCardTypeDerivedEnum;
 import it.cnr.iit.jscontact.tools.dto.utils.*;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
 import it.cnr.iit.jscontact.tools.exceptions.InternalErrorException;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
 import it.cnr.iit.jscontact.tools.vcard.converters.AbstractConverter;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.AllocationUtils;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionListener;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionStage;
 import it.cnr.iit.jscontact.tools.vcard.extensions.property.ExtendedAddress;
 import it.cnr.iit.jscontact.tools.vcard.extensions.property.ExtendedStructuredName;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -700,7 +706,7 @@ public class JSContact2EZVCard extends AbstractConverter {
             return null;
 
         try {
-            return mapper.convertValue(jsonNode, classs);
+            return JSContactMapper.getMapper().convertValue(jsonNode, classs);
         } catch (Exception e) {
             return null;
         }
@@ -1897,6 +1903,46 @@ public class JSContact2EZVCard extends AbstractConverter {
         }
     }
 
+    private static int size(Map<?, ?> map) {
+        return (map == null) ? 0 : map.size();
+    }
+
+    private static int countRFC9554Props(Card jsCard) {
+
+        int count = ((jsCard.getCreated() != null) ? 1 : 0) + ((jsCard.getLanguage() != null) ? 1 : 0);
+        if (jsCard.getSpeakToAs() != null)
+            count += size(jsCard.getSpeakToAs().getPronouns()) + ((jsCard.getSpeakToAs().getGrammaticalGender() != null) ? 1 : 0);
+        return count;
+    }
+
+    private static final List<ConversionStage<JSContact2EZVCard, Card, VCard>> STAGES = Arrays.asList(
+            ConversionStage.of("members", (c, j, v) -> fillVCardMembers(v, j), j -> size(j.getMembers())),
+            ConversionStage.of("formattedNames", (c, j, v) -> c.fillVCardFormattedNames(v, j), j -> (j.getName() != null) ? 1 : 0),
+            ConversionStage.of("names", (c, j, v) -> c.fillVCardNames(v, j), j -> (j.getName() != null) ? 1 : 0),
+            ConversionStage.of("nickNames", (c, j, v) -> c.fillVCardNickNames(v, j), j -> size(j.getNicknames())),
+            ConversionStage.of("addresses", (c, j, v) -> c.fillVCardAddresses(v, j), j -> size(j.getAddresses())),
+            ConversionStage.of("anniversaries", (c, j, v) -> c.fillVCardAnniversaries(v, j), j -> size(j.getAnniversaries())),
+            ConversionStage.of("personalInfos", (c, j, v) -> c.fillVCardPropsFromJSCardPersonalInfos(v, j), j -> size(j.getPersonalInfo())),
+            ConversionStage.of("languages", (c, j, v) -> c.fillVCardLanguages(v, j), j -> size(j.getPreferredLanguages())),
+            ConversionStage.of("telephones", (c, j, v) -> c.fillVCardTelephones(v, j), j -> size(j.getPhones())),
+            ConversionStage.of("emails", (c, j, v) -> c.fillVCardEmails(v, j), j -> size(j.getEmails())),
+            ConversionStage.of("calendarRequestUris", (c, j, v) -> c.fillVCardCalendarRequestUris(v, j), j -> size(j.getSchedulingAddresses())),
+            ConversionStage.of("onlineServices", (c, j, v) -> c.fillVCardPropsFromJSCardOnlineServices(v, j), j -> size(j.getOnlineServices())),
+            ConversionStage.of("calendars", (c, j, v) -> c.fillVCardPropsFromJSCardCalendars(v, j), j -> size(j.getCalendars())),
+            ConversionStage.of("keys", (c, j, v) -> c.fillVCardKeys(v, j), j -> size(j.getCryptoKeys())),
+            ConversionStage.of("contactUris", (c, j, v) -> c.fillVCardContactUris(v, j), j -> size(j.getLinks())),
+            ConversionStage.of("media", (c, j, v) -> c.fillVCardPropsFromJSCardMedia(v, j), j -> size(j.getMedia())),
+            ConversionStage.of("directories", (c, j, v) -> c.fillVCardPropsFromJSCardDirectories(v, j), j -> size(j.getDirectories())),
+            ConversionStage.of("organizations", (c, j, v) -> c.fillVCardOrganizations(v, j), j -> size(j.getOrganizations())),
+            ConversionStage.of("titles", (c, j, v) -> c.fillVCardPropsFromJSCardTitles(v, j), j -> size(j.getTitles())),
+            ConversionStage.of("categories", (c, j, v) -> fillVCardCategories(v, j), j -> size(j.getKeywords())),
+            ConversionStage.of("notes", (c, j, v) -> c.fillVCardNotes(v, j), j -> size(j.getNotes())),
+            ConversionStage.of("relations", (c, j, v) -> fillVCardRelations(v, j), j -> size(j.getRelatedTo())),
+            ConversionStage.of("rfc9554Props", (c, j, v) -> c.fillVCardRFC9554Props(v, j), JSContact2EZVCard::countRFC9554Props),
+            ConversionStage.of("vCardProps", (c, j, v) -> c.fillVCardExtensions(v, j), j -> (j.getVCardProps() == null) ? 0 : j.getVCardProps().length),
+            ConversionStage.of("jsCardExtensions", (c, j, v) -> c.fillVCardPropsFromJSCardExtensions(v, j), j -> size(j.getExtensions()))
+    );
+
     /**
      * Converts a Card object into a basic vCard v4.0 [RFC6350].
      * JSContact is defined in [RFC9553].
@@ -1920,32 +1966,48 @@ public class JSContact2EZVCard extends AbstractConverter {
         vCard.setKind(toVCardKind(jsCard.getKind()));
         vCard.setProductId(jsCard.getProdId());
         vCard.setRevision(toVCardRevision(jsCard.getUpdated()));
-        fillVCardMembers(vCard, jsCard);
-        fillVCardFormattedNames(vCard, jsCard);
-        fillVCardNames(vCard, jsCard);
-        fillVCardNickNames(vCard, jsCard);
-        fillVCardAddresses(vCard, jsCard);
-        fillVCardAnniversaries(vCard, jsCard);
-        fillVCardPropsFromJSCardPersonalInfos(vCard, jsCard);
-        fillVCardLanguages(vCard, jsCard);
-        fillVCardTelephones(vCard, jsCard);
-        fillVCardEmails(vCard, jsCard);
-        fillVCardCalendarRequestUris(vCard,jsCard);
-        fillVCardPropsFromJSCardOnlineServices(vCard, jsCard);
-        fillVCardPropsFromJSCardCalendars(vCard, jsCard);
-        fillVCardKeys(vCard, jsCard);
-        fillVCardContactUris(vCard, jsCard);
-        fillVCardPropsFromJSCardMedia(vCard, jsCard);
-        fillVCardPropsFromJSCardDirectories(vCard, jsCard);
-        fillVCardOrganizations(vCard, jsCard);
-        fillVCardPropsFromJSCardTitles(vCard, jsCard);
-        fillVCardCategories(vCard, jsCard);
-        fillVCardNotes(vCard, jsCard);
-        fillVCardRelations(vCard, jsCard);
-        fillVCardRFC9554Props(vCard, jsCard);
-        fillVCardExtensions(vCard, jsCard);
-        fillVCardPropsFromJSCardExtensions(vCard,jsCard);
+        try {
+            ConversionStage.runAll(STAGES, this, jsCard, vCard, config.getConversionListener());
+        } catch (CardException e) {
+            throw new InternalErrorException(e.getMessage()); //no stage of this conversion throws a CardException
+        }
+
+        return vCard;
+    }
+
+    private void validate(Card jsCard) throws CardException {
+
+        if (!config.isValidateCard())
+            return;
+
+        if (!jsCard.isValid())
+            throw new CardException(jsCard.getValidationMessage(), jsCard.getValidationMessages());
+    }
+
+    private VCard measureAndConvert(Card jsCard) throws CardException {
+
+        ConversionListener listener = config.getConversionListener();
+        if (listener == null && !Metrics.isEnabled()) {
+            validate(jsCard);
+            return convert(jsCard);
+        }
 
+        long allocatedBytes = (listener != null) ? AllocationUtils.getAllocatedBytes() : -1;
+        long start = System.nanoTime();
+        try {
+            validate(jsCard);
+        } catch (CardException e) {
+            Metrics.incrementCounter(Metrics.CONVERSION_FAILURES, Metrics.TAG_DIRECTION, Metrics.DIRECTION_JSCONTACT2VCARD, Metrics.TAG_REASON, Metrics.reasonOf(e));
+            throw e;
+        }
+        if (listener != null)
+            listener.stageCompleted("validation", System.nanoTime() - start, 1, (allocatedBytes < 0) ? -1 : AllocationUtils.getAllocatedBytes() - allocatedBytes);
+        VCard vCard = convert(jsCard);
+        long elapsedNanos = System.nanoTime() - start;
+        Metrics.incrementCounter(Metrics.CONVERSIONS, Metrics.TAG_DIRECTION, Metrics.DIRECTION_JSCONTACT2VCARD);
+        Metrics.recordTime(Metrics.CONVERSION_TIME, elapsedNanos, Metrics.TAG_DIRECTION, Metrics.DIRECTION_JSCONTACT2VCARD);
+        if (listener != null)
+            listener.cardCompleted(jsCard.getUid(), elapsedNanos, vCard.getProperties().size(), (allocatedBytes < 0) ? -1 : AllocationUtils.getAllocatedBytes() - allocatedBytes);
         return vCard;
     }
 
@@ -1967,20 +2029,82 @@ public class JSContact2EZVCard extends AbstractConverter {
 
         List<VCard> vCards = new ArrayList<>();
 
-        for (Card jsCard : jsCards) {
-            if (config.isValidateCard()) {
-                if (!jsCard.isValid())
-                    throw new CardException(jsCard.getValidationMessage());
+        for (Card jsCard : jsCards)
+            vCards.add(measureAndConvert(jsCard));
+
+        return vCards;
+    }
+
+    /**
+     * Functional interface for handling the vCard instances converted one at a time.
+     */
+    @FunctionalInterface
+    protected interface VCardConsumer {
+        void accept(VCard vCard) throws IOException;
+    }
+
+    /**
+     * Converts a list of Card objects one at a time, so that only one converted vCard instance at a time is kept in memory.
+     * Each vCard instance is passed to the consumer before the next Card object is converted.
+     *
+     * @param consumer the consumer of the converted vCard instances (e.g. a writer)
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of Card objects is not valid, in which case the vCard instances converted from the previous ones have already been consumed
+     * @throws IOException if the consumer fails
+     */
+    protected void convert(VCardConsumer consumer, Card... jsCards) throws CardException, IOException {
+
+        for (Card jsCard : jsCards)
+            consumer.accept(measureAndConvert(jsCard));
+    }
+
+    /**
+     * Converts a list of Card objects into a list of vCard v4.0 instances [RFC6350] by splitting them into chunks converted in parallel.
+     * The converted vCard instances are returned in input order.
+     * The conversion listener, if any, is notified from the threads of the executor.
+     *
+     * @param executor the executor running the conversion of the chunks (e.g. a ForkJoinPool)
+     * @param chunkSize the maximum number of Card objects converted by a single task
+     * @param jsCards a list of Card objects
+     * @return a list of instances of the ez-vcard library VCard class [ez-vcard]
+     * @throws CardException if one of Card objects is not valid
+     * @throws IllegalArgumentException if chunkSize is not positive
+     * @see <a href="https://github.com/mangstadt/ez-vcard">ez-vcard</a>
+     */
+    public List<VCard> convertParallel(Executor executor, int chunkSize, Card... jsCards) throws CardException {
+
+        return convertInChunks(jsCards, executor, chunkSize, this::convert);
+    }
+
+    /**
+     * Converts a list of Card objects into a list of results, one per Card object in input order.
+     * Unlike {@link #convert(Card...)}, a Card object that cannot be converted does not stop the conversion of the others
+     * but is reported by a failed result including its index and the reasons of the failure.
+     *
+     * @param jsCards a list of Card objects
+     * @return a list of conversion results, each one including either an instance of the ez-vcard library VCard class [ez-vcard] or the reasons why the conversion failed
+     * @see <a href="https://github.com/mangstadt/ez-vcard">ez-vcard</a>
+     */
+    public List<ConversionResult<VCard>> convertEach(Card... jsCards) {
+
+        List<ConversionResult<VCard>> results = new ArrayList<>(jsCards.length);
+
+        for (int i = 0; i < jsCards.length; i++) {
+            try {
+                results.add(ConversionResult.success(i, measureAndConvert(jsCards[i])));
+            } catch (CardException e) {
+                results.add(ConversionResult.failure(i, e.getReasons()));
+            } catch (RuntimeException e) {
+                results.add(ConversionResult.failure(i, Collections.singletonList(String.valueOf(e))));
             }
-            vCards.add(convert(jsCard));
         }
 
-        return vCards;
+        return results;
     }
 
 
     /**
-     * Converts a JSON array of Card objects into a list of vCard v4.0 instances [RFC6350].
+     * Converts a JSON array of Card objects, or a single Card object, into a list of vCard v4.0 instances [RFC6350].
      * JSContact is defined in [RFC9553].
      * JSContact extensions to vCard are defined in [RFC9554]
      * Conversion rules are defined in [RFC9555].
@@ -1996,16 +2120,7 @@ public class JSContact2EZVCard extends AbstractConverter {
      */
     public List<VCard> convert(String json) throws CardException, JsonProcessingException {
 
-        SimpleModule module = new SimpleModule();
-        mapper.registerModule(module);
-        JsonNode jsonNode = mapper.readTree(json);
-        Card[] jsCards;
-        if (jsonNode.isArray())
-            jsCards = mapper.treeToValue(jsonNode, Card[].class);
-        else
-            jsCards = new Card[] { mapper.treeToValue(jsonNode, Card.class)};
-
-        return convert(jsCards);
+        return convert(Card.toJSCards(json));
     }
 
 }
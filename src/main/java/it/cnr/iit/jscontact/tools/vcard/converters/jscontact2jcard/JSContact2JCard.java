@@ -17,15 +17,27 @@ package it.cnr.iit.jscontact.tools.vcard.converters.jscontact2jcard;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import ezvcard.VCard;
+import ezvcard.io.json.JCardWriter;
 import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.exceptions.InternalErrorException;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
 import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2ezvcard.JSContact2EZVCard;
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardWriter;
 import lombok.Builder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Utility class for converting a Card object [RFC9553] into a jCard [RFC7095].
@@ -63,6 +75,40 @@ public class JSContact2JCard extends JSContact2EZVCard {
         return VCardWriter.writeJson(vcards);
     }
 
+    /**
+     * Converts one or more Card objects into a complete vCard v4.0 in JSON format, namely jCard [RFC7095], written to a writer card by card,
+     * so that only one converted vCard at a time is kept in memory.
+     *
+     * @param writer the writer of the jCard, flushed but left open
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of the Card objects is not valid, in which case the JSON text is left incomplete
+     * @throws IOException if the writer cannot be written
+     * @see <a href="https://tools.ietf.org/html/rfc7095">RFC7095</a>
+     */
+    public void convertToJson(Writer writer, Card... jsCards) throws CardException, IOException {
+
+        JCardWriter jCardWriter = VCardWriter.newJsonWriter(writer, jsCards.length > 1);
+        convert(jCardWriter::write, jsCards);
+        jCardWriter.close();
+    }
+
+    /**
+     * Converts one or more Card objects into a complete vCard v4.0 in JSON format, namely jCard [RFC7095], written to an output stream card by card.
+     * The jCard is encoded in UTF-8.
+     *
+     * @param out the output stream, flushed but left open
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of the Card objects is not valid, in which case the JSON text is left incomplete
+     * @throws IOException if the output stream cannot be written
+     * @see <a href="https://tools.ietf.org/html/rfc7095">RFC7095</a>
+     */
+    public void convertToJson(OutputStream out, Card... jsCards) throws CardException, IOException {
+
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        convertToJson(writer, jsCards);
+        writer.flush();
+    }
+
 
     /**
      * Converts one or more objects into a complete vCard v4.0 in JSON format, namely jCard [RFC7095].
@@ -70,10 +116,12 @@ public class JSContact2JCard extends JSContact2EZVCard {
      * JSContact extensions to vCard are defined in [RFC9554]
      * Conversion rules are defined in [RFC9555].
      *
+     * The jCard is built straight as a tree, so the {@value Metrics#WRITTEN_BYTES} metric records the bytes of its compact JSON text.
+     *
      * @param jsCards a list of Card objects
      * @return a jCard as an istance of Jackson library JsonNode class [Jackson Project]
      * @throws CardException if one of the Card objects is not valid
-     * @throws JsonProcessingException if the jCard cannot be deserialized
+     * @throws JsonProcessingException if the jCard cannot be turned into a tree
      * @see <a href="https://tools.ietf.org/html/rfc7095">RFC7095</a>
      * @see <a href="https://datatracker.ietf.org/doc/RFC9553/">RFC9553</a>
      * @see <a href="https://datatracker.ietf.org/doc/RFC9554/">RFC9554</a>
@@ -82,9 +130,42 @@ public class JSContact2JCard extends JSContact2EZVCard {
      */
     public JsonNode convertToJsonNode(Card... jsCards) throws CardException, JsonProcessingException {
 
-        String json = convertToJson(jsCards);
-        return mapper.readTree(json);
+        List<VCard> vcards = convert(jsCards);
+        TokenBuffer buffer = new TokenBuffer(JSContactMapper.getMapper(), false);
+        try {
+            VCardWriter.writeJson(buffer, vcards);
+            return JSContactMapper.getMapper().readTree(buffer.asParser());
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InternalErrorException(String.format("Internal Error: convertToJsonNode - message=%s", e.getMessage()));
+        }
     }
 
+    /**
+     * Asynchronously converts a list of Card objects into a complete vCard v4.0 in JSON format, namely jCard [RFC7095].
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param jsCards a list of Card objects
+     * @return the future jCard as a JSON string
+     */
+    public CompletableFuture<String> convertToJsonAsync(Executor executor, Card... jsCards) {
+
+        return supplyAsync(executor, () -> convertToJson(jsCards));
+    }
+
+    /**
+     * Asynchronously converts a list of Card objects into a complete vCard v4.0 in JSON format, namely jCard [RFC7095].
+     * The returned future completes exceptionally with a CardException or a JsonProcessingException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param jsCards a list of Card objects
+     * @return the future jCard as an istance of Jackson library JsonNode class
+     */
+    public CompletableFuture<JsonNode> convertToJsonNodeAsync(Executor executor, Card... jsCards) {
+
+        return supplyAsync(executor, () -> convertToJsonNode(jsCards));
+    }
 
 }
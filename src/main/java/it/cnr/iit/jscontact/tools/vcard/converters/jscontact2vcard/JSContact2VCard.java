@@ -23,7 +23,14 @@ import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2ezvcard.JSContact2E
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardWriter;
 import lombok.Builder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Utility class for converting into a Card object into a vCard 4.0 [RFC6350].
@@ -59,5 +66,49 @@ public class JSContact2VCard extends JSContact2EZVCard {
         return VCardWriter.write(vcards);
     }
 
+    /**
+     * Converts one or more Card objects into a complete vCard v4.0 [RFC6350] written to a writer card by card,
+     * so that only one converted vCard at a time is kept in memory.
+     *
+     * @param writer the writer of the vCard text, flushed but left open
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of the Card objects is not valid, in which case the vCards converted from the previous ones have already been written
+     * @throws IOException if the writer cannot be written
+     * @see <a href="https://tools.ietf.org/html/rfc6350">RFC6350</a>
+     */
+    public void convertToText(Writer writer, Card... jsCards) throws CardException, IOException {
+
+        convert(vCard -> VCardWriter.write(writer, vCard), jsCards);
+    }
+
+    /**
+     * Converts one or more Card objects into a complete vCard v4.0 [RFC6350] written to an output stream card by card.
+     * The vCard text is encoded in UTF-8.
+     *
+     * @param out the output stream, flushed but left open
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of the Card objects is not valid, in which case the vCards converted from the previous ones have already been written
+     * @throws IOException if the output stream cannot be written
+     * @see <a href="https://tools.ietf.org/html/rfc6350">RFC6350</a>
+     */
+    public void convertToText(OutputStream out, Card... jsCards) throws CardException, IOException {
+
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        convertToText(writer, jsCards);
+        writer.flush();
+    }
+
+    /**
+     * Asynchronously converts a list of Card objects into a complete vCard v4.0 [RFC6350].
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param jsCards a list of Card objects
+     * @return the future vCard as a text
+     */
+    public CompletableFuture<String> convertToTextAsync(Executor executor, Card... jsCards) {
+
+        return supplyAsync(executor, () -> convertToText(jsCards));
+    }
 
 }
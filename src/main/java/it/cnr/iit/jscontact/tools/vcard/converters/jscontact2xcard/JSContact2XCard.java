@@ -16,6 +16,7 @@
 package it.cnr.iit.jscontact.tools.vcard.converters.jscontact2xcard;
 
 import ezvcard.VCard;
+import ezvcard.io.xml.XCardWriter;
 import it.cnr.iit.jscontact.tools.dto.Card;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
@@ -23,7 +24,15 @@ import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2ezvcard.JSContact2E
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardWriter;
 import lombok.Builder;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Utility class for converting a Card object into an xCard [RFC6351].
@@ -60,5 +69,124 @@ public class JSContact2XCard extends JSContact2EZVCard {
         return VCardWriter.writeXml(vcards);
     }
 
+    /**
+     * Converts one or more Card objects into an xCard [RFC6351] written to a writer card by card,
+     * so that only one converted vCard at a time is kept in memory.
+     *
+     * @param writer the writer of the xCard document, flushed but left open
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of the Card objects is not valid, in which case the document only includes the Card objects preceding it
+     * @throws IOException if the writer cannot be written
+     * @see <a href="https://tools.ietf.org/html/rfc6351">RFC6351</a>
+     */
+    public void convertToXml(Writer writer, Card... jsCards) throws CardException, IOException {
+
+        try (XCardStreamWriter xCardStreamWriter = newXmlWriter(writer)) {
+            xCardStreamWriter.write(jsCards);
+        }
+    }
+
+    /**
+     * Converts one or more Card objects into an xCard [RFC6351] written to an output stream card by card.
+     * The xCard document is encoded in UTF-8.
+     *
+     * @param out the output stream, flushed but left open
+     * @param jsCards a list of Card objects
+     * @throws CardException if one of the Card objects is not valid, in which case the document only includes the Card objects preceding it
+     * @throws IOException if the output stream cannot be written
+     * @see <a href="https://tools.ietf.org/html/rfc6351">RFC6351</a>
+     */
+    public void convertToXml(OutputStream out, Card... jsCards) throws CardException, IOException {
+
+        try (XCardStreamWriter xCardStreamWriter = newXmlWriter(out)) {
+            xCardStreamWriter.write(jsCards);
+        }
+    }
+
+    /**
+     * Opens an xCard [RFC6351] document on a writer, so that Card objects can be converted and appended to it one call after another
+     * (e.g. while consuming a stream of Card objects) keeping only one converted vCard at a time in memory.
+     * The document is completed when the returned writer is closed.
+     *
+     * @param writer the writer of the xCard document, flushed but left open when the returned writer is closed
+     * @return the writer of Card objects into the xCard document
+     * @see <a href="https://tools.ietf.org/html/rfc6351">RFC6351</a>
+     */
+    public XCardStreamWriter newXmlWriter(Writer writer) {
+
+        return new XCardStreamWriter(writer, null);
+    }
+
+    /**
+     * Opens an xCard [RFC6351] document encoded in UTF-8 on an output stream.
+     *
+     * @param out the output stream, flushed but left open when the returned writer is closed
+     * @return the writer of Card objects into the xCard document
+     * @see #newXmlWriter(Writer)
+     */
+    public XCardStreamWriter newXmlWriter(OutputStream out) {
+
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        return new XCardStreamWriter(writer, writer);
+    }
+
+    /**
+     * Writer converting Card objects into the vcard elements of an xCard [RFC6351] document as they are written.
+     * It is not thread-safe.
+     */
+    public class XCardStreamWriter implements Closeable {
+
+        private final XCardWriter xCardWriter;
+        private final Writer flushTarget;
+        private boolean closed = false;
+
+        private XCardStreamWriter(Writer writer, Writer flushTarget) {
+            this.xCardWriter = VCardWriter.newXmlWriter(writer);
+            this.flushTarget = flushTarget;
+        }
+
+        /**
+         * Converts one or more Card objects and appends them to the xCard document.
+         *
+         * @param jsCards a list of Card objects
+         * @throws CardException if one of the Card objects is not valid, in which case the Card objects preceding it have already been written
+         * @throws IOException if the document cannot be written
+         */
+        public void write(Card... jsCards) throws CardException, IOException {
+
+            if (closed)
+                throw new IllegalStateException("The xCard document has already been closed");
+            convert(xCardWriter::write, jsCards);
+        }
+
+        /**
+         * Completes the xCard document and flushes the underlying writer, which is left open.
+         *
+         * @throws IOException if the document cannot be written
+         */
+        @Override
+        public void close() throws IOException {
+
+            if (closed)
+                return;
+            closed = true;
+            xCardWriter.close();
+            if (flushTarget != null)
+                flushTarget.flush();
+        }
+    }
+
+    /**
+     * Asynchronously converts a list of Card objects into a complete vCard v4.0 in XML format, namely xCard [RFC6351].
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param jsCards a list of Card objects
+     * @return the future xCard as an XML string
+     */
+    public CompletableFuture<String> convertToXmlAsync(Executor executor, Card... jsCards) {
+
+        return supplyAsync(executor, () -> convertToXml(jsCards));
+    }
 
 }
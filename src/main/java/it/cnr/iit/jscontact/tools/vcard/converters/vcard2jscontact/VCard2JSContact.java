@@ -17,13 +17,29 @@ package it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact;
 
 import ezvcard.VCard;
 import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.ReadAheadIterator;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.utils.ChunkUtils;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
 import it.cnr.iit.jscontact.tools.vcard.converters.ezvcard2jscontact.EZVCard2JSContact;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardFileIndex;
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardTextReader;
 import lombok.Builder;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Utility class for converting a vCard 4.0 [RFC6350] into a Card object.
@@ -33,6 +49,8 @@ import java.util.List;
  */
 public class VCard2JSContact extends EZVCard2JSContact {
 
+    private static final String MISSING_END = "Missing END:VCARD";
+
     @Builder
     public VCard2JSContact(VCard2JSContactConfig config) {
         super();
@@ -62,4 +80,160 @@ public class VCard2JSContact extends EZVCard2JSContact {
         return convert(vcards.toArray(new VCard[0]));
     }
 
+    /**
+     * Lazily converts the vCards v4.0 [RFC6350] read from a reader into a sequence of results, one per vCard in input order.
+     * vCards are parsed and converted one at a time when the iterator is advanced, so memory usage doesn't depend on the size of the input.
+     * A vCard that cannot be parsed or converted is reported by a failed result including its index, its byte offset in the input and the reasons of the failure.
+     * A vCard missing its END line is reported by a failed result as well, and the following vCards are still converted.
+     * The reader is closed when the iterator is exhausted.
+     *
+     * @param reader the reader of a vCard text including one or more vCards
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws java.io.UncheckedIOException if the reader cannot be read while advancing the iterator
+     * @see <a href="https://tools.ietf.org/html/rfc6350">RFC6350</a>
+     */
+    public Iterator<ConversionResult<Card>> iterator(Reader reader) {
+
+        return new ConversionIterator(new VCardTextReader(reader));
+    }
+
+    /**
+     * Lazily converts the vCards v4.0 [RFC6350] included in a UTF-8 encoded file into a sequence of results, one per vCard in input order.
+     * The file is closed when the iterator is exhausted; {@link #stream(Path)} should be preferred if the iteration can be stopped before.
+     *
+     * @param path the path of a vCard file including one or more vCards
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the file cannot be opened
+     * @see #iterator(Reader)
+     */
+    public Iterator<ConversionResult<Card>> iterator(Path path) throws IOException {
+
+        return iterator(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lazily converts the vCards v4.0 [RFC6350] read from a reader into a sequential stream of results, one per vCard in input order.
+     * Closing the stream closes the reader.
+     *
+     * @param reader the reader of a vCard text including one or more vCards
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @see #iterator(Reader)
+     */
+    public Stream<ConversionResult<Card>> stream(Reader reader) {
+
+        return new ConversionIterator(new VCardTextReader(reader)).stream();
+    }
+
+    /**
+     * Lazily converts the vCards v4.0 [RFC6350] included in a UTF-8 encoded file into a sequential stream of results, one per vCard in input order.
+     * Closing the stream closes the file.
+     *
+     * @param path the path of a vCard file including one or more vCards
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the file cannot be opened
+     * @see #iterator(Reader)
+     */
+    public Stream<ConversionResult<Card>> stream(Path path) throws IOException {
+
+        return stream(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts a single vCard v4.0 [RFC6350] of an indexed vCard file without parsing the rest of the file.
+     *
+     * @param index the index of a vCard file
+     * @param n the position of the vCard in the file, starting from 0
+     * @return the conversion result, including either a Card object or the reasons why the conversion failed, together with the position and the byte offset of the vCard.
+     * A vCard missing its END line or whose text can't be read is reported by a failed result.
+     * @throws IndexOutOfBoundsException if n is not a valid position
+     * @see VCardFileIndex
+     */
+    public ConversionResult<Card> convertAt(VCardFileIndex index, int n) {
+
+        long offset = index.getOffset(n);
+        if (!index.isComplete(n))
+            return ConversionResult.failure(n, offset, Collections.singletonList(MISSING_END));
+        String vCardText;
+        try {
+            vCardText = index.getText(n);
+        } catch (RuntimeException e) {
+            return ConversionResult.failure(n, offset, Collections.singletonList(String.valueOf(e)));
+        }
+        return convertToResult(n, offset, vCardText);
+    }
+
+    /**
+     * Converts all the vCards v4.0 [RFC6350] of an indexed vCard file in parallel.
+     * The vCards are split into chunks of at most chunkSize vCards, which are read from the file and converted as tasks of the given executor (e.g. a ForkJoinPool).
+     * The results are returned in input order and a vCard that cannot be converted is reported by a failed result as in {@link #convertEach(VCard...)}.
+     *
+     * @param index the index of a vCard file
+     * @param executor the executor running the conversion of the chunks
+     * @param chunkSize the maximum number of vCards converted by a single task
+     * @return the list of the conversion results, each one including either a Card object or the reasons why the conversion failed, together with the byte offset of the vCard
+     * @throws IllegalArgumentException if chunkSize is not positive
+     * @see VCardFileIndex
+     */
+    public List<ConversionResult<Card>> convertEach(VCardFileIndex index, Executor executor, int chunkSize) {
+
+        return ChunkUtils.runInChunks(index.size(), executor, chunkSize, RuntimeException.class, (from, to) -> {
+            List<ConversionResult<Card>> chunk = new ArrayList<>(to - from);
+            for (int n = from; n < to; n++)
+                chunk.add(convertAt(index, n));
+            return chunk;
+        });
+    }
+
+    private ConversionResult<Card> convertToResult(int index, long offset, String vCardText) {
+
+        List<VCard> vcards;
+        try {
+            vcards = VCardParser.parse(vCardText);
+        } catch (RuntimeException e) {
+            return ConversionResult.failure(index, offset, Collections.singletonList(String.valueOf(e)));
+        }
+        if (vcards.size() == 0)
+            return ConversionResult.failure(index, offset, Collections.singletonList("Bad vCard format"));
+        return convertToResult(index, offset, vcards.get(0));
+    }
+
+    private class ConversionIterator extends ReadAheadIterator<ConversionResult<Card>> {
+
+        private final VCardTextReader vCardTextReader;
+        private int index = 0;
+
+        private ConversionIterator(VCardTextReader vCardTextReader) {
+            this.vCardTextReader = vCardTextReader;
+        }
+
+        @Override
+        protected ConversionResult<Card> readNext() throws IOException {
+
+            String vCardText = vCardTextReader.readNext();
+            if (vCardText == null)
+                return null;
+            if (!vCardTextReader.isComplete())
+                return ConversionResult.failure(index++, vCardTextReader.getOffset(), Collections.singletonList(MISSING_END));
+            return convertToResult(index++, vCardTextReader.getOffset(), vCardText);
+        }
+
+        @Override
+        protected void closeSource() throws IOException {
+            vCardTextReader.close();
+        }
+    }
+
+    /**
+     * Asynchronously converts a complete vCard v4.0 [RFC6350] into a list of Card objects.
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param vCard a vCard as a text
+     * @return the future list of Card objects
+     */
+    public CompletableFuture<List<Card>> convertAsync(Executor executor, String vCard) {
+
+        return supplyAsync(executor, () -> convert(vCard));
+    }
+
 }
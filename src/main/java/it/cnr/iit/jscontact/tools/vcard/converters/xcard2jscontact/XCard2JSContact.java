@@ -17,13 +17,28 @@ package it.cnr.iit.jscontact.tools.vcard.converters.xcard2jscontact;
 
 import ezvcard.VCard;
 import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.ReadAheadIterator;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
 import it.cnr.iit.jscontact.tools.vcard.converters.ezvcard2jscontact.EZVCard2JSContact;
 import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
 import lombok.Builder;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Utility class for converting an xCard [RFC6351] into a JSContact object.
@@ -62,4 +77,164 @@ public class XCard2JSContact extends EZVCard2JSContact {
         return convert(vcards.toArray(new VCard[0]));
     }
 
+    /**
+     * Lazily converts the vCards included in an xCard [RFC6351] document read from a reader into a sequence of results, one per vcard element in input order.
+     * The document is read through a StAX parser and only the vcard element being converted is loaded into memory,
+     * so memory usage depends on the size of the largest vCard rather than on the size of the document.
+     * A vCard that cannot be converted is reported by a failed result including its index and the reasons of the failure.
+     * Byte offsets are not reported for xCard documents, so the offset of each result is -1.
+     * The reader is closed when the iterator is exhausted.
+     *
+     * @param reader the reader of an xCard document
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the StAX parser cannot be created
+     * @throws java.io.UncheckedIOException if the document is not well-formed or cannot be read while advancing the iterator
+     * @see <a href="https://tools.ietf.org/html/rfc6351">RFC6351</a>
+     */
+    public Iterator<ConversionResult<Card>> iterator(Reader reader) throws IOException {
+
+        return new ConversionIterator(newXmlReader(reader), reader);
+    }
+
+    /**
+     * Lazily converts the vCards included in an xCard [RFC6351] document read from an input stream into a sequence of results, one per vcard element in input order.
+     * The input stream is closed when the iterator is exhausted.
+     *
+     * @param in the input stream of an xCard document, whose encoding is taken from the XML declaration
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the StAX parser cannot be created
+     * @see #iterator(Reader)
+     */
+    public Iterator<ConversionResult<Card>> iterator(InputStream in) throws IOException {
+
+        return new ConversionIterator(newXmlReader(in), in);
+    }
+
+    /**
+     * Lazily converts the vCards included in an xCard [RFC6351] file into a sequence of results, one per vcard element in input order.
+     * The file is closed when the iterator is exhausted; {@link #stream(Path)} should be preferred if the iteration can be stopped before.
+     *
+     * @param path the path of an xCard file
+     * @return the iterator of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the file cannot be opened
+     * @see #iterator(Reader)
+     */
+    public Iterator<ConversionResult<Card>> iterator(Path path) throws IOException {
+
+        return iterator(Files.newInputStream(path));
+    }
+
+    /**
+     * Lazily converts the vCards included in an xCard [RFC6351] document read from a reader into a sequential stream of results, one per vcard element in input order.
+     * Closing the stream closes the reader.
+     *
+     * @param reader the reader of an xCard document
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the StAX parser cannot be created
+     * @see #iterator(Reader)
+     */
+    public Stream<ConversionResult<Card>> stream(Reader reader) throws IOException {
+
+        return new ConversionIterator(newXmlReader(reader), reader).stream();
+    }
+
+    /**
+     * Lazily converts the vCards included in an xCard [RFC6351] document read from an input stream into a sequential stream of results, one per vcard element in input order.
+     * Closing the stream closes the input stream.
+     *
+     * @param in the input stream of an xCard document, whose encoding is taken from the XML declaration
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the StAX parser cannot be created
+     * @see #iterator(Reader)
+     */
+    public Stream<ConversionResult<Card>> stream(InputStream in) throws IOException {
+
+        return new ConversionIterator(newXmlReader(in), in).stream();
+    }
+
+    /**
+     * Lazily converts the vCards included in an xCard [RFC6351] file into a sequential stream of results, one per vcard element in input order.
+     * Closing the stream closes the file.
+     *
+     * @param path the path of an xCard file
+     * @return the stream of the conversion results, each one including either a Card object or the reasons why the conversion failed
+     * @throws IOException if the file cannot be opened
+     * @see #iterator(Reader)
+     */
+    public Stream<ConversionResult<Card>> stream(Path path) throws IOException {
+
+        return stream(Files.newInputStream(path));
+    }
+
+    private static XMLStreamReader newXmlReader(Reader reader) throws IOException {
+
+        try {
+            return VCardParser.newXmlReader(reader);
+        } catch (XMLStreamException e) {
+            reader.close();
+            throw new IOException(e);
+        }
+    }
+
+    private static XMLStreamReader newXmlReader(InputStream in) throws IOException {
+
+        try {
+            return VCardParser.newXmlReader(in);
+        } catch (XMLStreamException e) {
+            in.close();
+            throw new IOException(e);
+        }
+    }
+
+    private class ConversionIterator extends ReadAheadIterator<ConversionResult<Card>> {
+
+        private final XMLStreamReader xmlReader;
+        private final Closeable source;
+        private int index = 0;
+
+        private ConversionIterator(XMLStreamReader xmlReader, Closeable source) {
+            this.xmlReader = xmlReader;
+            this.source = source;
+        }
+
+        @Override
+        protected ConversionResult<Card> readNext() throws IOException {
+
+            VCard vCard;
+            try {
+                vCard = VCardParser.readXml(xmlReader);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } catch (RuntimeException e) {
+                return ConversionResult.failure(index++, -1, Collections.singletonList(String.valueOf(e)));
+            }
+            return (vCard == null) ? null : convertToResult(index++, -1, vCard);
+        }
+
+        @Override
+        protected void closeSource() throws IOException {
+
+            try {
+                xmlReader.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                source.close();
+            }
+        }
+    }
+
+    /**
+     * Asynchronously converts a complete vCard v4.0 in XML format, namely xCard [RFC6351], into a list of Card objects.
+     * The returned future completes exceptionally with a CardException if the conversion fails.
+     *
+     * @param executor the executor running the conversion (e.g. a virtual-thread-per-task executor)
+     * @param xCard an xCard as an XML string
+     * @return the future list of Card objects
+     */
+    public CompletableFuture<List<Card>> convertAsync(Executor executor, String xCard) {
+
+        return supplyAsync(executor, () -> convert(xCard));
+    }
+
 }
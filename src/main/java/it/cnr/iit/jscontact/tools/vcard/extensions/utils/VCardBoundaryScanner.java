@@ -0,0 +1,129 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.extensions.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * State machine finding the BEGIN:VCARD/END:VCARD boundaries of the vCards included in a text, fed with one logical line at a time.
+ * <p>
+ * A logical line is a physical line together with its continuation lines, i.e. the following lines starting with a space or a tab,
+ * including the line terminators. Boundary lines are matched ignoring case and trailing whitespaces after being unfolded,
+ * whereas a continuation line is never a boundary.
+ * A BEGIN:VCARD line inside an open vCard starts a nested vCard only if it follows a vCard 2.1 AGENT property with no value,
+ * otherwise the open vCard is considered unterminated and a new vCard starts.
+ * </p>
+ *
+ * @author Mario Loffredo
+ */
+final class VCardBoundaryScanner {
+
+    /**
+     * The role of a logical line.
+     */
+    enum Action {
+        /** the line is outside any vCard */
+        SKIP,
+        /** the line starts a vCard */
+        BEGIN,
+        /** the line belongs to the open vCard */
+        CONTENT,
+        /** the line ends the open vCard */
+        END,
+        /** the open vCard is unterminated and the line starts a new vCard */
+        RESTART
+    }
+
+    /**
+     * Lines longer than this number of characters can't be boundaries, so callers can pass a truncated line.
+     */
+    static final int MAX_BOUNDARY_LENGTH = 256;
+
+    /**
+     * The byte order mark that may precede the first line of a UTF-8 encoded text.
+     */
+    static final char BOM = '\uFEFF';
+
+    private static final String BEGIN_VCARD = "BEGIN:VCARD";
+    private static final String END_VCARD = "END:VCARD";
+    private static final Pattern AGENT = Pattern.compile("(?i)([a-z0-9-]+\\.)?AGENT(;[^:]*)?:\\s*");
+
+    private int depth = 0;
+    private boolean agent = false;
+
+    /**
+     * Returns the role of the next logical line.
+     *
+     * @param line the logical line, possibly truncated after {@link #MAX_BOUNDARY_LENGTH} characters
+     * @return the role of the line
+     */
+    Action accept(CharSequence line) {
+
+        String content = unfold(line);
+        boolean nested = agent;
+        agent = (depth > 0 && content != null && AGENT.matcher(content).matches());
+        if (content != null && content.equalsIgnoreCase(BEGIN_VCARD)) {
+            if (depth == 0) {
+                depth = 1;
+                return Action.BEGIN;
+            }
+            if (nested) {
+                depth++;
+                return Action.CONTENT;
+            }
+            depth = 1;
+            return Action.RESTART;
+        }
+        if (depth == 0)
+            return Action.SKIP;
+        if (content != null && content.equalsIgnoreCase(END_VCARD) && --depth == 0)
+            return Action.END;
+        return Action.CONTENT;
+    }
+
+    /**
+     * Returns whether a vCard is open, i.e. whether the text read so far ends with an unterminated vCard.
+     *
+     * @return true if a vCard is open
+     */
+    boolean isOpen() {
+        return depth > 0;
+    }
+
+    /*
+     * Returns the unfolded line without trailing whitespaces, or null if the line can't be a boundary
+     */
+    private static String unfold(CharSequence line) {
+
+        int length = line.length();
+        if (length == 0 || length > MAX_BOUNDARY_LENGTH || line.charAt(0) == ' ' || line.charAt(0) == '\t')
+            return null;
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (c == '\r' || c == '\n') {
+                if (c == '\r' && i + 1 < length && line.charAt(i + 1) == '\n')
+                    i++;
+                if (i + 1 < length && (line.charAt(i + 1) == ' ' || line.charAt(i + 1) == '\t'))
+                    i++;
+                continue;
+            }
+            sb.append(c);
+        }
+        return sb.toString().trim();
+    }
+
+}
@@ -0,0 +1,679 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.extensions.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.StreamReader;
+import ezvcard.io.json.JCardReader;
+import ezvcard.io.json.JCardWriter;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.io.text.VCardReader;
+import ezvcard.io.xml.XCardDocument;
+import ezvcard.io.xml.XCardOutputProperties;
+import ezvcard.io.xml.XCardQNames;
+import ezvcard.io.xml.XCardReader;
+import ezvcard.io.xml.XCardWriter;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.XmlUtils;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
+import it.cnr.iit.jscontact.tools.metrics.CountingReader;
+import it.cnr.iit.jscontact.tools.metrics.CountingWriter;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
+import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedAddressScribe;
+import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedStructuredNameScribe;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import org.apache.commons.io.output.NullWriter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.OutputKeys;
+import java.io.File;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Preconfigured parser and writer of vCard, jCard and xCard documents.
+ * <p>
+ * The scribes of the ez-vcard extensions, together with any additional scribe, are registered once when the codec is built.
+ * A codec is immutable, so a single instance can be shared across threads and each call only creates the ez-vcard reader or writer it needs.
+ * </p>
+ * <p>
+ * When metrics are enabled, the codec records the {@value Metrics#PARSED_BYTES} and {@value Metrics#WRITTEN_BYTES} metrics of each call parsing or writing
+ * vCard, jCard or xCard documents, streaming writers included. The bytes of a jCard read from or written to a Jackson tree or generator are those of its compact JSON text.
+ * The StAX and Jackson parsers passed to {@link #readXml(XMLStreamReader)} and {@link #readJson(JsonParser)} are not measured.
+ * </p>
+ *
+ * @author Mario Loffredo
+ */
+@Getter
+public final class VCardCodec {
+
+    private static final VCardCodec DEFAULT = VCardCodec.builder().build();
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    @Getter(AccessLevel.NONE)
+    private final ScribeIndex scribeIndex;
+
+    /**
+     * Whether the encoding scheme defined in RFC6868 is applied to parameter values when parsing and writing vCard text.
+     */
+    private final boolean caretEncoding;
+
+    /**
+     * The version the vCard text is written in. If null, each vCard is written in its own version.
+     */
+    private final VCardVersion targetVersion;
+
+    /**
+     * Whether jCard documents are pretty printed.
+     */
+    private final boolean prettyPrint;
+
+    /**
+     * The number of spaces xCard documents are indented with. If null, xCard documents are not indented.
+     */
+    private final Integer xmlIndent;
+
+    @Getter(AccessLevel.NONE)
+    private final XCardOutputProperties xmlOutputProperties;
+
+    @Getter(AccessLevel.NONE)
+    private final XCardOutputProperties xmlStreamOutputProperties;
+
+    @Builder
+    private VCardCodec(Boolean caretEncoding, VCardVersion targetVersion, boolean prettyPrint, Integer xmlIndent,
+                       @Singular List<VCardPropertyScribe<? extends VCardProperty>> scribes) {
+
+        this.caretEncoding = (caretEncoding == null) || caretEncoding;
+        this.targetVersion = targetVersion;
+        this.prettyPrint = prettyPrint;
+        this.xmlIndent = xmlIndent;
+        this.scribeIndex = new ScribeIndex();
+        this.scribeIndex.register(new ExtendedAddressScribe());
+        this.scribeIndex.register(new ExtendedStructuredNameScribe());
+        for (VCardPropertyScribe<? extends VCardProperty> scribe : scribes)
+            this.scribeIndex.register(scribe);
+        this.xmlOutputProperties = new XCardOutputProperties();
+        if (xmlIndent != null)
+            this.xmlOutputProperties.setIndent(xmlIndent);
+        //the DOM based writer declares standalone="no", the streaming one does the same only if asked to
+        this.xmlStreamOutputProperties = new XCardOutputProperties();
+        this.xmlStreamOutputProperties.putAll(xmlOutputProperties);
+        this.xmlStreamOutputProperties.put(OutputKeys.STANDALONE, "no");
+    }
+
+    /**
+     * Returns the codec used by the static methods of VCardParser and VCardWriter.
+     *
+     * @return the codec with the default options
+     */
+    public static VCardCodec getDefault() {
+        return DEFAULT;
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static void recordParsedBytes(String str, String format) {
+
+        if (Metrics.isEnabled())
+            Metrics.recordValue(Metrics.PARSED_BYTES, Metrics.utf8Length(str), Metrics.TAG_FORMAT, format);
+    }
+
+    private static void recordParsedBytes(File file, String format) {
+
+        if (Metrics.isEnabled())
+            Metrics.recordValue(Metrics.PARSED_BYTES, file.length(), Metrics.TAG_FORMAT, format);
+    }
+
+    private static String recordWrittenBytes(String str, String format) {
+
+        if (Metrics.isEnabled())
+            Metrics.recordValue(Metrics.WRITTEN_BYTES, Metrics.utf8Length(str), Metrics.TAG_FORMAT, format);
+        return str;
+    }
+
+    @FunctionalInterface
+    private interface ReaderFactory {
+        StreamReader create(Reader reader);
+    }
+
+    private List<VCard> readAll(Reader reader, String format, ReaderFactory factory) throws IOException {
+
+        CountingReader countingReader = Metrics.isEnabled() ? new CountingReader(reader, format) : null;
+        List<VCard> vCards = readAll(factory.create((countingReader != null) ? countingReader : reader), false);
+        if (countingReader != null)
+            countingReader.report();
+        return vCards;
+    }
+
+    private List<VCard> readAll(StreamReader reader, boolean close) throws IOException {
+
+        try {
+            reader.setScribeIndex(scribeIndex);
+            List<VCard> vCards = new ArrayList<>();
+            VCard vCard;
+            while ((vCard = reader.readNext()) != null)
+                vCards.add(vCard);
+            return vCards;
+        } finally {
+            if (close)
+                reader.close();
+        }
+    }
+
+    private List<VCard> readAllFromString(StreamReader reader) {
+
+        try {
+            return readAll(reader, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private VCardReader textReader(VCardReader reader) {
+
+        reader.setCaretDecodingEnabled(caretEncoding);
+        return reader;
+    }
+
+    /**
+     * Parses all the vCards included in a text.
+     *
+     * @param str the vCard text
+     * @return the list of parsed vCards
+     */
+    public List<VCard> parse(String str) {
+
+        recordParsedBytes(str, Metrics.FORMAT_VCARD);
+        return readAllFromString(textReader(new VCardReader(str)));
+    }
+
+    /**
+     * Parses all the vCards included in a file.
+     *
+     * @param file the vCard file
+     * @return the list of parsed vCards
+     * @throws IOException if the file cannot be read
+     */
+    public List<VCard> parse(File file) throws IOException {
+
+        recordParsedBytes(file, Metrics.FORMAT_VCARD);
+        return readAll(textReader(new VCardReader(file)), true);
+    }
+
+    /**
+     * Parses all the vCards read from a reader. The reader is left open.
+     *
+     * @param reader the reader of the vCard text
+     * @return the list of parsed vCards
+     * @throws IOException if the reader cannot be read
+     */
+    public List<VCard> parse(Reader reader) throws IOException {
+        return readAll(reader, Metrics.FORMAT_VCARD, r -> textReader(new VCardReader(r)));
+    }
+
+    /**
+     * Parses all the vCards included in a jCard text.
+     *
+     * @param str the jCard text
+     * @return the list of parsed vCards
+     */
+    public List<VCard> parseJson(String str) {
+
+        recordParsedBytes(str, Metrics.FORMAT_JCARD);
+        return readAllFromString(new JCardReader(str));
+    }
+
+    /**
+     * Parses all the vCards included in a jCard file.
+     *
+     * @param file the jCard file
+     * @return the list of parsed vCards
+     * @throws IOException if the file cannot be read
+     */
+    public List<VCard> parseJson(File file) throws IOException {
+
+        recordParsedBytes(file, Metrics.FORMAT_JCARD);
+        return readAll(new JCardReader(file), true);
+    }
+
+    /**
+     * Parses all the vCards read from a jCard reader. The reader is left open.
+     *
+     * @param reader the reader of the jCard text
+     * @return the list of parsed vCards
+     * @throws IOException if the reader cannot be read
+     */
+    public List<VCard> parseJson(Reader reader) throws IOException {
+        return readAll(reader, Metrics.FORMAT_JCARD, JCardReader::new);
+    }
+
+    /**
+     * Reads the jCard the parser is positioned at, i.e. the parser current token is the START_ARRAY token of the jCard
+     * or the parser has not been advanced yet and the jCard is its first token.
+     * When done, the parser is positioned at the END_ARRAY token of the jCard and is left open.
+     *
+     * @param parser the parser of the jCard
+     * @return the parsed vCard or null if no token is available
+     * @throws IOException if the jCard cannot be read
+     */
+    public VCard readJson(JsonParser parser) throws IOException {
+
+        if (!parser.hasCurrentToken() && parser.nextToken() == null)
+            return null;
+        JCardReader reader = new JCardReader(parser);
+        reader.setScribeIndex(scribeIndex);
+        return reader.readNext();
+    }
+
+    /**
+     * Parses all the vCards included in a JSON tree. As when parsing a jCard text, jCards are looked up anywhere
+     * in the tree (e.g. the "vcardArray" member of an RDAP object) and are returned in document order.
+     *
+     * @param node the JSON tree
+     * @return the list of parsed vCards
+     */
+    public List<VCard> parseJson(JsonNode node) {
+
+        List<JsonNode> jCards = new ArrayList<>();
+        collectJCards(node, jCards);
+        List<VCard> vCards = new ArrayList<>(jCards.size());
+        try {
+            CountingWriter countingWriter = Metrics.isEnabled() ? new CountingWriter(NullWriter.NULL_WRITER, Metrics.FORMAT_JCARD) : null;
+            for (JsonNode jCard : jCards) {
+                if (countingWriter != null)
+                    JSContactMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(countingWriter, jCard);
+                VCard vCard = readJson(jCard.traverse());
+                if (vCard != null)
+                    vCards.add(vCard);
+            }
+            if (countingWriter != null)
+                Metrics.recordValue(Metrics.PARSED_BYTES, countingWriter.getCount(), Metrics.TAG_FORMAT, Metrics.FORMAT_JCARD);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return vCards;
+    }
+
+    private static void collectJCards(JsonNode node, List<JsonNode> jCards) {
+
+        if (node.isArray() && node.size() > 0 && node.get(0).isTextual() && node.get(0).asText().equals("vcard")) {
+            jCards.add(node);
+            return;
+        }
+        if (node.isContainerNode()) {
+            for (JsonNode child : node)
+                collectJCards(child, jCards);
+        }
+    }
+
+    /**
+     * Parses all the vCards included in an xCard text.
+     *
+     * @param str the xCard text
+     * @return the list of parsed vCards
+     */
+    public List<VCard> parseXml(String str) {
+
+        recordParsedBytes(str, Metrics.FORMAT_XCARD);
+        return readAllFromString(new XCardReader(str));
+    }
+
+    /**
+     * Parses all the vCards included in an xCard file.
+     *
+     * @param file the xCard file
+     * @return the list of parsed vCards
+     * @throws IOException if the file cannot be read
+     */
+    public List<VCard> parseXml(File file) throws IOException {
+
+        recordParsedBytes(file, Metrics.FORMAT_XCARD);
+        return readAll(new XCardReader(file), true);
+    }
+
+    /**
+     * Parses all the vCards read from an xCard reader. The reader is left open.
+     *
+     * @param reader the reader of the xCard text
+     * @return the list of parsed vCards
+     * @throws IOException if the reader cannot be read
+     */
+    public List<VCard> parseXml(Reader reader) throws IOException {
+        return readAll(reader, Metrics.FORMAT_XCARD, XCardReader::new);
+    }
+
+    /**
+     * Creates a StAX reader of an xCard document, to be read vCard by vCard through {@link #readXml(XMLStreamReader)}.
+     * DTDs and external entities are not supported. Closing the StAX reader doesn't close the underlying reader.
+     *
+     * @param reader the reader of the xCard document
+     * @return the StAX reader
+     * @throws XMLStreamException if the StAX reader cannot be created
+     */
+    public XMLStreamReader newXmlReader(Reader reader) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(reader);
+    }
+
+    /**
+     * Creates a StAX reader of an xCard document read from an input stream, whose encoding is taken from the XML declaration.
+     *
+     * @param in the input stream of the xCard document
+     * @return the StAX reader
+     * @throws XMLStreamException if the StAX reader cannot be created
+     * @see #newXmlReader(Reader)
+     */
+    public XMLStreamReader newXmlReader(InputStream in) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(in);
+    }
+
+    /**
+     * Reads the next xCard vcard element from a StAX reader, skipping anything before it.
+     * Only the vcard element is loaded into a DOM tree, so memory usage doesn't depend on the size of the xCard document.
+     * When done, the reader is positioned at the END_ELEMENT event of the vcard element and is left open.
+     *
+     * @param reader the StAX reader of the xCard document
+     * @return the parsed vCard or null if the document includes no other vcard element
+     * @throws XMLStreamException if the xCard document is not well-formed
+     */
+    public VCard readXml(XMLStreamReader reader) throws XMLStreamException {
+
+        while (!(reader.isStartElement() && XCardQNames.VCARD.equals(reader.getName()))) {
+            if (!reader.hasNext())
+                return null;
+            reader.next();
+        }
+
+        Document document = XmlUtils.createDocument();
+        Element vcards = document.createElementNS(XCardQNames.NAMESPACE, XCardQNames.VCARDS.getLocalPart());
+        document.appendChild(vcards);
+        copyElement(reader, document, vcards);
+
+        try {
+            StreamReader xCardReader = new XCardDocument(document).reader();
+            xCardReader.setScribeIndex(scribeIndex);
+            return xCardReader.readNext();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void copyElement(XMLStreamReader reader, Document document, Node parent) throws XMLStreamException {
+
+        int depth = 0;
+        do {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()), reader.getLocalName());
+                    for (int i = 0; i < reader.getAttributeCount(); i++)
+                        element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    parent.appendChild(element);
+                    parent = element;
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    parent = parent.getParentNode();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    parent.appendChild(document.createTextNode(reader.getText()));
+                    break;
+                default:
+                    break;
+            }
+            if (depth > 0)
+                reader.next();
+        } while (depth > 0);
+    }
+
+    private static String emptyToNull(String value) {
+        return (value == null || value.isEmpty()) ? null : value;
+    }
+
+    /**
+     * Writes a list of vCards as vCard text.
+     *
+     * @param vCards the vCards
+     * @return the vCard text
+     */
+    public String write(VCard... vCards) {
+        return write(Arrays.asList(vCards));
+    }
+
+    /**
+     * Writes a collection of vCards as vCard text.
+     *
+     * @param vCards the vCards
+     * @return the vCard text
+     */
+    public String write(Collection<VCard> vCards) {
+
+        StringWriter sw = new StringWriter();
+        try {
+            for (VCard vCard : vCards)
+                writeText(sw, vCard);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return recordWrittenBytes(sw.toString(), Metrics.FORMAT_VCARD);
+    }
+
+    /**
+     * Appends a vCard as vCard text to a writer. The writer is flushed but left open.
+     *
+     * @param writer the writer
+     * @param vCard the vCard
+     * @throws IOException if the writer cannot be written
+     */
+    public void write(Writer writer, VCard vCard) throws IOException {
+
+        CountingWriter countingWriter = Metrics.isEnabled() ? new CountingWriter(writer, Metrics.FORMAT_VCARD) : null;
+        writeText((countingWriter != null) ? countingWriter : writer, vCard);
+        if (countingWriter != null)
+            countingWriter.report();
+    }
+
+    private void writeText(Writer writer, VCard vCard) throws IOException {
+
+        VCardVersion version = (targetVersion != null) ? targetVersion : (vCard.getVersion() != null) ? vCard.getVersion() : VCardVersion.V3_0;
+        ezvcard.io.text.VCardWriter vCardWriter = new ezvcard.io.text.VCardWriter(writer, version);
+        vCardWriter.setCaretEncodingEnabled(caretEncoding);
+        vCardWriter.setScribeIndex(scribeIndex);
+        vCardWriter.write(vCard);
+        vCardWriter.flush();
+    }
+
+    /**
+     * Writes a list of vCards as jCard text.
+     *
+     * @param vCards the vCards
+     * @return the jCard text
+     */
+    public String writeJson(VCard... vCards) {
+        return writeJson(Arrays.asList(vCards));
+    }
+
+    /**
+     * Writes a collection of vCards as jCard text. More than one vCard is wrapped in a JSON array.
+     *
+     * @param vCards the vCards
+     * @return the jCard text
+     */
+    public String writeJson(Collection<VCard> vCards) {
+
+        StringWriter sw = new StringWriter();
+        JCardWriter writer = new JCardWriter(sw, vCards.size() > 1);
+        writer.setPrettyPrint(prettyPrint);
+        writer.setScribeIndex(scribeIndex);
+        try {
+            for (VCard vCard : vCards) {
+                writer.write(vCard);
+                writer.flush();
+            }
+            writer.closeJsonStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return recordWrittenBytes(sw.toString(), Metrics.FORMAT_JCARD);
+    }
+
+    /**
+     * Writes a collection of vCards as jCard straight to a JSON generator. More than one vCard is wrapped in a JSON array.
+     * Formatting is up to the generator, which is flushed but left open.
+     *
+     * @param generator the JSON generator
+     * @param vCards the vCards
+     * @throws IOException if the generator cannot be written
+     */
+    public void writeJson(JsonGenerator generator, Collection<VCard> vCards) throws IOException {
+
+        if (!Metrics.isEnabled()) {
+            writeJsonTokens(generator, vCards);
+            return;
+        }
+
+        TokenBuffer buffer = new TokenBuffer(generator.getCodec(), false);
+        writeJsonTokens(buffer, vCards);
+        CountingWriter countingWriter = new CountingWriter(NullWriter.NULL_WRITER, Metrics.FORMAT_JCARD);
+        try (JsonGenerator countingGenerator = JSContactMapper.getMapper().getFactory().createGenerator(countingWriter)) {
+            buffer.serialize(countingGenerator);
+        }
+        buffer.serialize(generator);
+        generator.flush();
+    }
+
+    /**
+     * Returns a streaming jCard writer configured as this codec. The vCards are written one at a time as soon as they are passed to the writer.
+     * Closing the returned writer completes the jCard document and flushes the given writer, which is left open.
+     *
+     * @param writer the writer of the jCard document
+     * @param wrapInArray whether the vCards are wrapped in a JSON array, which is required to write more than one vCard
+     * @return the jCard writer
+     */
+    public JCardWriter newJsonWriter(Writer writer, boolean wrapInArray) {
+
+        JCardWriter jCardWriter = new JCardWriter(measuredWriter(writer, Metrics.FORMAT_JCARD), wrapInArray);
+        jCardWriter.setPrettyPrint(prettyPrint);
+        jCardWriter.setScribeIndex(scribeIndex);
+        return jCardWriter;
+    }
+
+    private static Writer measuredWriter(Writer writer, String format) {
+
+        Writer nonClosingWriter = new NonClosingWriter(writer);
+        return Metrics.isEnabled() ? new CountingWriter(nonClosingWriter, format) : nonClosingWriter;
+    }
+
+    private void writeJsonTokens(JsonGenerator generator, Collection<VCard> vCards) throws IOException {
+
+        boolean wrapInArray = vCards.size() > 1;
+        JCardWriter writer = new JCardWriter(generator);
+        writer.setScribeIndex(scribeIndex);
+        if (wrapInArray)
+            generator.writeStartArray();
+        for (VCard vCard : vCards)
+            writer.write(vCard);
+        if (wrapInArray)
+            generator.writeEndArray();
+        generator.flush();
+    }
+
+    /**
+     * Returns a streaming xCard writer configured as this codec. The vCards are written one at a time as soon as they are passed to the writer.
+     * Closing the returned writer completes the xCard document and flushes the given writer, which is left open.
+     *
+     * @param writer the writer of the xCard document
+     * @return the xCard writer
+     */
+    public XCardWriter newXmlWriter(Writer writer) {
+
+        XCardWriter xCardWriter = new XCardWriter(measuredWriter(writer, Metrics.FORMAT_XCARD), xmlStreamOutputProperties);
+        xCardWriter.setScribeIndex(scribeIndex);
+        return xCardWriter;
+    }
+
+    /**
+     * Writes a list of vCards as xCard text.
+     *
+     * @param vCards the vCards
+     * @return the xCard text
+     */
+    public String writeXml(VCard... vCards) {
+        return writeXml(Arrays.asList(vCards));
+    }
+
+    /**
+     * Writes a collection of vCards as xCard text.
+     *
+     * @param vCards the vCards
+     * @return the xCard text
+     */
+    public String writeXml(Collection<VCard> vCards) {
+
+        XCardDocument document = new XCardDocument();
+        XCardDocument.XCardDocumentStreamWriter writer = document.writer();
+        writer.setScribeIndex(scribeIndex);
+        for (VCard vCard : vCards)
+            writer.write(vCard);
+        return recordWrittenBytes(document.write(xmlOutputProperties), Metrics.FORMAT_XCARD);
+    }
+
+    private static final class NonClosingWriter extends FilterWriter {
+
+        private NonClosingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+}
@@ -0,0 +1,293 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.extensions.utils;
+
+import ezvcard.VCard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the vCards included in a vCard file, allowing random access to each of them.
+ * <p>
+ * The file is memory-mapped and scanned once to find the byte offsets of the BEGIN:VCARD and END:VCARD lines.
+ * Boundaries are found as described in {@link VCardBoundaryScanner}, the same way as {@link VCardTextReader} does:
+ * line folding is taken into account, nested vCards (i.e. the vCard 2.1 AGENT property) are kept in the entry of the enclosing one,
+ * and a vCard missing its END line ends where the next vCard begins and is marked as incomplete.
+ * A leading byte order mark is ignored.
+ * The text of a vCard is decoded only when it is requested, so single vCards can be read without parsing the whole file
+ * and distinct vCards can be read concurrently by multiple threads (e.g. to parse or convert a large file in parallel).
+ * </p>
+ * <p>
+ * Files larger than 2GB are mapped in multiple segments. The file is expected to be encoded in UTF-8 and not to change while the index is open.
+ * The mapped memory is released by the garbage collector once the index is no longer referenced.
+ * </p>
+ *
+ * @author Mario Loffredo
+ */
+public final class VCardFileIndex implements Closeable {
+
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private final long[] starts;
+    private final long[] ends;
+    private final boolean[] complete;
+    private final int count;
+
+    private static final class Boundaries {
+
+        private long[] starts = new long[64];
+        private long[] ends = new long[64];
+        private boolean[] complete = new boolean[64];
+        private int count = 0;
+
+        private void add(long start, long end, boolean terminated) {
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                complete = Arrays.copyOf(complete, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            complete[count++] = terminated;
+        }
+    }
+
+    private VCardFileIndex(FileChannel channel) throws IOException {
+
+        this.channel = channel;
+        this.size = channel.size();
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+        for (int i = 0; i < segments.length; i++) {
+            long position = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_MASK + 1, size - position));
+        }
+        Boundaries boundaries = scan();
+        this.count = boundaries.count;
+        this.starts = Arrays.copyOf(boundaries.starts, count);
+        this.ends = Arrays.copyOf(boundaries.ends, count);
+        this.complete = Arrays.copyOf(boundaries.complete, count);
+    }
+
+    /**
+     * Memory-maps a vCard file and indexes the vCards it includes.
+     *
+     * @param path the path of the vCard file
+     * @return the index of the vCards included in the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static VCardFileIndex open(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new VCardFileIndex(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of indexed vCards.
+     *
+     * @return the number of vCards included in the file
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the byte offset of a vCard.
+     *
+     * @param n the position of the vCard in the file, starting from 0
+     * @return the offset of the BEGIN line of the vCard
+     * @throws IndexOutOfBoundsException if n is not a valid position
+     */
+    public long getOffset(int n) {
+
+        checkIndex(n);
+        return starts[n];
+    }
+
+    /**
+     * Returns the length in bytes of a vCard.
+     *
+     * @param n the position of the vCard in the file, starting from 0
+     * @return the length of the vCard, from the beginning of the BEGIN line to the end of the END line including its terminator
+     * @throws IndexOutOfBoundsException if n is not a valid position
+     */
+    public long getLength(int n) {
+
+        checkIndex(n);
+        return ends[n] - starts[n];
+    }
+
+    /**
+     * Returns whether a vCard ends with its END line.
+     *
+     * @param n the position of the vCard in the file, starting from 0
+     * @return false if the vCard is unterminated, i.e. another vCard or the end of the file follows before its END line
+     * @throws IndexOutOfBoundsException if n is not a valid position
+     */
+    public boolean isComplete(int n) {
+
+        checkIndex(n);
+        return complete[n];
+    }
+
+    /**
+     * Returns the text of a vCard. If the END line is missing, the text up to the next vCard or to the end of the file is returned.
+     *
+     * @param n the position of the vCard in the file, starting from 0
+     * @return the text of the vCard, including the BEGIN and END lines
+     * @throws IndexOutOfBoundsException if n is not a valid position
+     * @throws IllegalStateException if the vCard is larger than 2GB
+     */
+    public String getText(int n) {
+
+        checkIndex(n);
+        long length = ends[n] - starts[n];
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalStateException("vCard too large: " + length + " bytes");
+        return new String(read(starts[n], (int) length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a vCard without parsing the rest of the file.
+     *
+     * @param n the position of the vCard in the file, starting from 0
+     * @return the parsed vCard or null if the text of the vCard cannot be parsed
+     * @throws IndexOutOfBoundsException if n is not a valid position
+     */
+    public VCard parse(int n) {
+
+        List<VCard> vCards = VCardParser.parse(getText(n));
+        return vCards.isEmpty() ? null : vCards.get(0);
+    }
+
+    /**
+     * Closes the file. The texts of the vCards can still be read until the mapped memory is released.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void checkIndex(int n) {
+
+        if (n < 0 || n >= count)
+            throw new IndexOutOfBoundsException("vCard index: " + n + ", size: " + count);
+    }
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private byte[] read(long position, int length) {
+
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long current = position + copied;
+            ByteBuffer segment = segments[(int) (current >>> SEGMENT_BITS)].duplicate();
+            ((Buffer) segment).position((int) (current & SEGMENT_MASK));
+            int chunk = Math.min(length - copied, segment.remaining());
+            segment.get(bytes, copied, chunk);
+            copied += chunk;
+        }
+        return bytes;
+    }
+
+    private Boundaries scan() {
+
+        Boundaries boundaries = new Boundaries();
+        VCardBoundaryScanner scanner = new VCardBoundaryScanner();
+        StringBuilder line = new StringBuilder();
+        long position = hasBom() ? 3 : 0;
+        long start = -1;
+        while (position < size) {
+            long next = readLogicalLine(position, line);
+            switch (scanner.accept(line)) {
+                case BEGIN:
+                    start = position;
+                    break;
+                case END:
+                    boundaries.add(start, next, true);
+                    break;
+                case RESTART:
+                    boundaries.add(start, position, false);
+                    start = position;
+                    break;
+                default:
+                    break;
+            }
+            position = next;
+        }
+        if (scanner.isOpen())
+            boundaries.add(start, size, false);
+        return boundaries;
+    }
+
+    private boolean hasBom() {
+        return size >= 3 && byteAt(0) == (byte) 0xEF && byteAt(1) == (byte) 0xBB && byteAt(2) == (byte) 0xBF;
+    }
+
+    /*
+     * Reads the logical line starting at the given position, i.e. a physical line followed by its continuation lines,
+     * into the line builder, which is truncated after the maximum length of a boundary line as longer lines can't be boundaries.
+     * Bytes are appended as ISO-8859-1 characters, as boundary lines are ASCII.
+     * Returns the position following the logical line.
+     */
+    private long readLogicalLine(long position, StringBuilder line) {
+
+        line.setLength(0);
+        do {
+            while (position < size) {
+                byte b = byteAt(position++);
+                if (line.length() <= VCardBoundaryScanner.MAX_BOUNDARY_LENGTH)
+                    line.append((char) (b & 0xff));
+                if (b == '\n')
+                    break;
+                if (b == '\r') {
+                    if (position < size && byteAt(position) == '\n') {
+                        position++;
+                        if (line.length() <= VCardBoundaryScanner.MAX_BOUNDARY_LENGTH)
+                            line.append('\n');
+                    }
+                    break;
+                }
+            }
+        } while (position < size && (byteAt(position) == ' ' || byteAt(position) == '\t'));
+        return position;
+    }
+
+}
@@ -1,12 +1,13 @@
 package it.cnr.iit.jscontact.tools.vcard.extensions.utils;
 
-import ezvcard.Ezvcard;
+import com.fasterxml.jackson.databind.JsonNode;
 import ezvcard.VCard;
-import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedAddressScribe;
-import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedStructuredNameScribe;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.List;
 
@@ -14,78 +15,68 @@ public class VCardParser {
 
     public static List<VCard> parse(String str) {
 
-        return Ezvcard.parse(str)
-                      .caretDecoding(true)
-                      .register(new ExtendedAddressScribe())
-                      .register(new ExtendedStructuredNameScribe())
-                      .all();
+        return VCardCodec.getDefault().parse(str);
     }
 
     public static List<VCard> parse(File file) throws IOException {
 
-        return Ezvcard.parse(file)
-                .caretDecoding(true)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parse(file);
     }
 
     public static List<VCard> parse(Reader reader) throws IOException {
 
-        return Ezvcard.parse(reader)
-                .caretDecoding(true)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parse(reader);
     }
 
 
     public static List<VCard> parseJson(String str) {
 
-        return Ezvcard.parseJson(str)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parseJson(str);
     }
 
     public static List<VCard> parseJson(File file) throws IOException {
 
-        return Ezvcard.parseJson(file)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parseJson(file);
     }
 
     public static List<VCard> parseJson(Reader reader) throws IOException {
 
-        return Ezvcard.parseJson(reader)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parseJson(reader);
+    }
+
+    public static List<VCard> parseJson(JsonNode node) {
+
+        return VCardCodec.getDefault().parseJson(node);
     }
 
 
     public static List<VCard> parseXml(String str) {
 
-        return Ezvcard.parseXml(str)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parseXml(str);
     }
 
     public static List<VCard> parseXml(File file) throws IOException {
 
-        return Ezvcard.parseXml(file)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parseXml(file);
     }
 
     public static List<VCard> parseXml(Reader reader) throws IOException {
 
-        return Ezvcard.parseXml(reader)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .all();
+        return VCardCodec.getDefault().parseXml(reader);
+    }
+
+    public static XMLStreamReader newXmlReader(Reader reader) throws XMLStreamException {
+
+        return VCardCodec.getDefault().newXmlReader(reader);
+    }
+
+    public static XMLStreamReader newXmlReader(InputStream in) throws XMLStreamException {
+
+        return VCardCodec.getDefault().newXmlReader(in);
+    }
+
+    public static VCard readXml(XMLStreamReader reader) throws XMLStreamException {
+
+        return VCardCodec.getDefault().readXml(reader);
     }
 }
@@ -0,0 +1,169 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.vcard.extensions.utils;
+
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader splitting a vCard text including multiple vCards into the texts of the single vCards.
+ * <p>
+ * Only the text of the vCard being read is kept in memory, so arbitrarily large inputs can be processed with constant memory.
+ * For each vCard text, the offset of its BEGIN line in the UTF-8 encoding of the input is tracked as well.
+ * Lines outside a BEGIN:VCARD/END:VCARD pair are skipped and a leading byte order mark is ignored.
+ * Boundaries are found as described in {@link VCardBoundaryScanner}: nested vCards (i.e. the vCard 2.1 AGENT property) are kept in the text of the enclosing one,
+ * whereas a vCard missing its END line is returned as an incomplete text as soon as the next vCard begins.
+ * </p>
+ *
+ * @author Mario Loffredo
+ */
+public class VCardTextReader implements Closeable {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position = 0;
+    private int limit = 0;
+    private final StringBuilder line = new StringBuilder();
+    private final VCardBoundaryScanner scanner = new VCardBoundaryScanner();
+    private long bytesRead = 0;
+    private long offset = -1;
+    private boolean complete = false;
+    private String pending;
+    private long pendingOffset;
+
+    public VCardTextReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the byte offset of the last vCard text returned by {@link #readNext()}.
+     *
+     * @return the offset of the BEGIN line of the last vCard text in the UTF-8 encoding of the input, -1 if no vCard text has been read yet
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns whether the last vCard text returned by {@link #readNext()} ends with its END line.
+     *
+     * @return false if the vCard is unterminated, i.e. another vCard or the end of the input follows before its END line
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Reads the text of the next vCard. If the END line is missing, the text up to the next vCard or to the end of the input is returned
+     * and {@link #isComplete()} returns false.
+     *
+     * @return the text of the next vCard, including the BEGIN and END lines, or null if no other vCard is available
+     * @throws IOException if the input cannot be read
+     */
+    public String readNext() throws IOException {
+
+        StringBuilder vCard = null;
+        complete = false;
+        if (pending != null) {
+            vCard = new StringBuilder(pending);
+            offset = pendingOffset;
+            pending = null;
+        }
+        String text;
+        while ((text = readLogicalLine()) != null) {
+            long lineOffset = bytesRead;
+            bytesRead += Metrics.utf8Length(text);
+            if (lineOffset == 0 && text.charAt(0) == VCardBoundaryScanner.BOM) {
+                text = text.substring(1);
+                lineOffset = bytesRead - Metrics.utf8Length(text);
+                if (text.isEmpty())
+                    continue;
+            }
+            switch (scanner.accept(text)) {
+                case SKIP:
+                    break;
+                case BEGIN:
+                    vCard = new StringBuilder(text);
+                    offset = lineOffset;
+                    break;
+                case CONTENT:
+                    vCard.append(text);
+                    break;
+                case END:
+                    complete = true;
+                    return vCard.append(text).toString();
+                case RESTART:
+                    pending = text;
+                    pendingOffset = lineOffset;
+                    return vCard.toString();
+            }
+        }
+        return (vCard != null) ? vCard.toString() : null;
+    }
+
+    private boolean fill() throws IOException {
+
+        if (position < limit)
+            return true;
+        int n = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(n, 0);
+        return n > 0;
+    }
+
+    /*
+     * Appends the next physical line including its terminator (CRLF, LF or CR) to the line builder, returns false at the end of the input
+     */
+    private boolean readLine() throws IOException {
+
+        boolean read = false;
+        while (fill()) {
+            read = true;
+            char c = buffer[position++];
+            line.append(c);
+            if (c == '\n')
+                break;
+            if (c == '\r') {
+                if (fill() && buffer[position] == '\n')
+                    line.append(buffer[position++]);
+                break;
+            }
+        }
+        return read;
+    }
+
+    /*
+     * Returns the next logical line, i.e. a physical line followed by its continuation lines, null at the end of the input
+     */
+    private String readLogicalLine() throws IOException {
+
+        line.setLength(0);
+        if (!readLine())
+            return null;
+        while (fill() && (buffer[position] == ' ' || buffer[position] == '\t'))
+            readLine();
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -1,62 +1,64 @@
 package it.cnr.iit.jscontact.tools.vcard.extensions.utils;
 
-import ezvcard.Ezvcard;
+import com.fasterxml.jackson.core.JsonGenerator;
 import ezvcard.VCard;
-import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedAddressScribe;
-import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedStructuredNameScribe;
+import ezvcard.io.json.JCardWriter;
+import ezvcard.io.xml.XCardWriter;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 
 public class VCardWriter {
 
     public static String write(VCard... cards) {
 
-        return Ezvcard.write(cards)
-                      .caretEncoding(true)
-                      .register(new ExtendedAddressScribe())
-                      .register(new ExtendedStructuredNameScribe())
-                      .go();
+        return VCardCodec.getDefault().write(cards);
     }
 
     public static String write(Collection<VCard> cards) {
 
-        return Ezvcard.write(cards)
-                .caretEncoding(true)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .go();
+        return VCardCodec.getDefault().write(cards);
+    }
+
+    public static void write(Writer writer, VCard card) throws IOException {
+
+        VCardCodec.getDefault().write(writer, card);
     }
 
     public static String writeJson(VCard... cards) {
 
-        return Ezvcard.writeJson(cards)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .go();
+        return VCardCodec.getDefault().writeJson(cards);
     }
 
     public static String writeJson(Collection<VCard> cards) {
 
-        return Ezvcard.writeJson(cards)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .go();
+        return VCardCodec.getDefault().writeJson(cards);
+    }
+
+    public static void writeJson(JsonGenerator generator, Collection<VCard> cards) throws IOException {
+
+        VCardCodec.getDefault().writeJson(generator, cards);
+    }
+
+    public static JCardWriter newJsonWriter(Writer writer, boolean wrapInArray) {
+
+        return VCardCodec.getDefault().newJsonWriter(writer, wrapInArray);
     }
 
     public static String writeXml(VCard... cards) {
 
-        return Ezvcard.writeXml(cards)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .go();
+        return VCardCodec.getDefault().writeXml(cards);
     }
 
     public static String writeXml(Collection<VCard> cards) {
 
-        return Ezvcard.writeXml(cards)
-                .register(new ExtendedAddressScribe())
-                .register(new ExtendedStructuredNameScribe())
-                .go();
+        return VCardCodec.getDefault().writeXml(cards);
+    }
+
+    public static XCardWriter newXmlWriter(Writer writer) {
+
+        return VCardCodec.getDefault().newXmlWriter(writer);
     }
 
 }
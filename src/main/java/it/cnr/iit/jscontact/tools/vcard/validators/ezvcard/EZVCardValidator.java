@@ -17,10 +17,16 @@ package it.cnr.iit.jscontact.tools.vcard.validators.ezvcard;
 
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
+import ezvcard.ValidationWarning;
 import ezvcard.ValidationWarnings;
+import ezvcard.property.VCardProperty;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstract utility class for validating a list of Ezvcard VCard objects.
@@ -31,11 +37,63 @@ public abstract class EZVCardValidator {
 
     protected void validate(List<VCard> vCards) throws CardException {
 
-        for (VCard vCard : vCards) {
-            ValidationWarnings warnings = vCard.validate(VCardVersion.V4_0);
-            if (!warnings.isEmpty())
-                throw new CardException(warnings.toString());
+        for (VCard vCard : vCards)
+            validate(vCard, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Validates a vCard against version 4.0 and raises an exception if any of the validation warnings is not ignored.
+     * A warning is ignored if either its code is in the set of ignored codes or it refers to a property of one of the ignored types.
+     * The warnings are rendered as text only if they are reported.
+     *
+     * @param vCard an instance of the ez-vcard library VCard class
+     * @param ignoredCodes the codes of the warnings to be ignored
+     * @param ignoredPropertyTypes the types of the properties whose warnings are to be ignored
+     * @throws CardException if the vCard is not v4.0 compliant, where the reasons of the exception are the warnings not ignored
+     */
+    public static void validate(VCard vCard, Set<Integer> ignoredCodes, Set<Class<? extends VCardProperty>> ignoredPropertyTypes) throws CardException {
+
+        ValidationWarnings warnings = vCard.validate(VCardVersion.V4_0);
+        if (warnings.isEmpty())
+            return;
+
+        List<String> reasons = null;
+        for (Map.Entry<VCardProperty, List<ValidationWarning>> entry : warnings) {
+            if (isIgnored(entry.getKey(), ignoredPropertyTypes))
+                continue;
+            for (ValidationWarning warning : entry.getValue()) {
+                if (warning.getCode() != null && ignoredCodes.contains(warning.getCode()))
+                    continue;
+                if (reasons == null)
+                    reasons = new ArrayList<>();
+                reasons.add(toReason(entry.getKey(), warning));
+            }
         }
+
+        if (reasons != null)
+            throw new CardException(String.join(System.lineSeparator(), reasons), reasons);
+    }
+
+    private static boolean isIgnored(VCardProperty property, Set<Class<? extends VCardProperty>> ignoredPropertyTypes) {
+
+        if (property == null || ignoredPropertyTypes.isEmpty())
+            return false;
+
+        for (Class<? extends VCardProperty> ignoredPropertyType : ignoredPropertyTypes) {
+            if (ignoredPropertyType.isInstance(property))
+                return true;
+        }
+        return false;
+    }
+
+    private static String toReason(VCardProperty property, ValidationWarning warning) {
+
+        StringBuilder sb = new StringBuilder();
+        if (property != null)
+            sb.append('[').append(property.getClass().getSimpleName()).append("] | ");
+        if (warning.getCode() != null)
+            sb.append('W').append(warning.getCode()).append(": ");
+        return sb.append(warning.getMessage()).toString();
     }
 
 }
\ No newline at end of file
@@ -17,8 +17,8 @@ package it.cnr.iit.jscontact.tools.vcard.validators.jcard;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
 import it.cnr.iit.jscontact.tools.exceptions.CardException;
 import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
 import it.cnr.iit.jscontact.tools.vcard.validators.ezvcard.EZVCardValidator;
@@ -35,7 +35,6 @@ import java.util.List;
 @Builder
 public class JCardValidator extends EZVCardValidator {
 
-    private static ObjectMapper mapper = new ObjectMapper();
     /**
      * Validates a complete vCard v4.0 in JSON format, namely jCard [RFC7095].
      *
@@ -60,6 +59,6 @@ public class JCardValidator extends EZVCardValidator {
      */
     public void validate(JsonNode jCard) throws CardException, JsonProcessingException {
 
-        validate(mapper.writeValueAsString(jCard));
+        validate(JSContactMapper.writer().writeValueAsString(jCard));
     }
 }
@@ -0,0 +1,147 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.allocation;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.AllocationUtils;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.apache.commons.io.IOUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Allocation budgets of the most frequently used operations on reference cards.
+ * Each operation is run until the JIT compilation and the lazy initializations are done, then the bytes allocated by the
+ * current thread are measured several times and the minimum is compared with the budget.
+ * Budgets are about twice the values measured when they were set: a failure means that an operation has started to allocate
+ * noticeably more, so either the regression is fixed or the budget is deliberately raised.
+ * As the budgets are absolute values measured on a given JDK, these tests are excluded from the default build
+ * and run through the "allocation-budgets" Maven profile.
+ */
+@Category(AllocationBudgets.class)
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final long VCARD2JSCONTACT_RFC7483_BUDGET = 200_000;
+    private static final long VCARD2JSCONTACT_MULTILINGUAL_BUDGET = 64_000;
+    private static final long JSCONTACT2VCARD_RFC7483_BUDGET = 880_000;
+    private static final long JSCONTACT2VCARD_MULTILINGUAL_BUDGET = 320_000;
+    private static final long ISVALID_RFC7483_BUDGET = 270_000;
+    private static final long ISVALID_MULTILINGUAL_BUDGET = 140_000;
+    private static final long GETLOCALIZEDVERSION_MULTILINGUAL_BUDGET = 24_000;
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    @BeforeClass
+    public static void checkSupport() {
+        assumeTrue("thread allocation measurement is not supported", AllocationUtils.isSupported());
+    }
+
+    private static String read(String path) throws IOException {
+        return IOUtils.toString(Objects.requireNonNull(AllocationBudgetTest.class.getClassLoader().getResourceAsStream(path)), StandardCharsets.UTF_8);
+    }
+
+    private static long measure(Operation operation) throws Exception {
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            operation.run();
+
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long before = AllocationUtils.getAllocatedBytes();
+            operation.run();
+            min = Math.min(min, AllocationUtils.getAllocatedBytes() - before);
+        }
+        return min;
+    }
+
+    private static void assertWithinBudget(String message, long budget, Operation operation) throws Exception {
+
+        long allocated = measure(operation);
+        assertTrue(message + " allocated " + allocated + " bytes, budget is " + budget + " bytes", allocated <= budget);
+    }
+
+    private final VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+    private final JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+
+    @Test
+    public void testVCard2JSContactAllocationBudget1() throws Exception {
+
+        String vcard = read("vcard/vCard-RFC7483.vcf");
+        assertWithinBudget("testVCard2JSContactAllocationBudget1", VCARD2JSCONTACT_RFC7483_BUDGET, () -> vCard2JSContact.convert(vcard));
+    }
+
+    @Test
+    public void testVCard2JSContactAllocationBudget2() throws Exception {
+
+        String vcard = read("vcard/vCard-Multilingual.vcf");
+        assertWithinBudget("testVCard2JSContactAllocationBudget2", VCARD2JSCONTACT_MULTILINGUAL_BUDGET, () -> vCard2JSContact.convert(vcard));
+    }
+
+    @Test
+    public void testJSContact2VCardAllocationBudget1() throws Exception {
+
+        Card jsCard = Card.toJSCard(read("jcard/jsCard-RFC7483.json"));
+        assertWithinBudget("testJSContact2VCardAllocationBudget1", JSCONTACT2VCARD_RFC7483_BUDGET, () -> jsContact2VCard.convertToText(jsCard));
+    }
+
+    @Test
+    public void testJSContact2VCardAllocationBudget2() throws Exception {
+
+        Card jsCard = Card.toJSCard(read("jcard/jsCard-Multilingual.json"));
+        assertWithinBudget("testJSContact2VCardAllocationBudget2", JSCONTACT2VCARD_MULTILINGUAL_BUDGET, () -> jsContact2VCard.convertToText(jsCard));
+    }
+
+    @Test
+    public void testIsValidAllocationBudget1() throws Exception {
+
+        Card jsCard = Card.toJSCard(read("jcard/jsCard-RFC7483.json"));
+        assertWithinBudget("testIsValidAllocationBudget1", ISVALID_RFC7483_BUDGET, jsCard::isValid);
+    }
+
+    @Test
+    public void testIsValidAllocationBudget2() throws Exception {
+
+        Card jsCard = Card.toJSCard(read("jcard/jsCard-Multilingual.json"));
+        assertWithinBudget("testIsValidAllocationBudget2", ISVALID_MULTILINGUAL_BUDGET, jsCard::isValid);
+    }
+
+    @Test
+    public void testGetLocalizedVersionAllocationBudget1() throws Exception {
+
+        Card jsCard = Card.toJSCard(read("jcard/jsCard-Multilingual.json"));
+        assertWithinBudget("testGetLocalizedVersionAllocationBudget1", GETLOCALIZEDVERSION_MULTILINGUAL_BUDGET, () -> jsCard.getLocalizedVersion("en"));
+    }
+
+}
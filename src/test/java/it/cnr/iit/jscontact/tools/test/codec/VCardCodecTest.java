@@ -0,0 +1,125 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.codec;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedAddressScribe;
+import it.cnr.iit.jscontact.tools.vcard.extensions.io.scribe.ExtendedStructuredNameScribe;
+import it.cnr.iit.jscontact.tools.vcard.extensions.property.ExtendedAddress;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardCodec;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardWriter;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class VCardCodecTest {
+
+    private static final String VCARD = "BEGIN:VCARD\n" +
+            "VERSION:4.0\n" +
+            "FN:John Q. Public\n" +
+            "N:Public;John;Quinlan;Mr.;Esq.\n" +
+            "ADR;LABEL=\"123 Main Street^nAny Town\":;;123 Main Street;Any Town;CA;91921-1234;U.S.A.\n" +
+            "UID:urn:uuid:ff7854c7-26e2-4adf-89b5-5bc8ac5d75ff\n" +
+            "END:VCARD";
+
+    private static List<VCard> parseWithEzvcard() {
+
+        return Ezvcard.parse(VCARD)
+                .caretDecoding(true)
+                .register(new ExtendedAddressScribe())
+                .register(new ExtendedStructuredNameScribe())
+                .all();
+    }
+
+    @Test
+    public void testDefaultCodec1() {
+
+        List<VCard> vcards = VCardCodec.getDefault().parse(VCARD);
+        assertEquals("testDefaultCodec1 - 1", 1, vcards.size());
+        assertTrue("testDefaultCodec1 - 2", vcards.get(0).getProperty(ExtendedAddress.class) != null);
+        assertEquals("testDefaultCodec1 - 3", "123 Main Street\nAny Town", vcards.get(0).getProperty(ExtendedAddress.class).getLabel());
+        assertSame("testDefaultCodec1 - 4", VCardCodec.getDefault(), VCardCodec.getDefault());
+    }
+
+    @Test
+    public void testDefaultCodec2() {
+
+        List<VCard> vcards = parseWithEzvcard();
+        assertEquals("testDefaultCodec2 - 1", Ezvcard.write(vcards).caretEncoding(true).register(new ExtendedAddressScribe()).register(new ExtendedStructuredNameScribe()).go(), VCardWriter.write(vcards));
+        assertEquals("testDefaultCodec2 - 2", Ezvcard.writeJson(vcards).register(new ExtendedAddressScribe()).register(new ExtendedStructuredNameScribe()).go(), VCardWriter.writeJson(vcards));
+        assertEquals("testDefaultCodec2 - 3", Ezvcard.writeXml(vcards).register(new ExtendedAddressScribe()).register(new ExtendedStructuredNameScribe()).go(), VCardWriter.writeXml(vcards));
+    }
+
+    @Test
+    public void testDefaultCodec3() throws IOException {
+
+        File file = new File("src/test/resources/vcard/vCard-RFC7483.vcf");
+        List<VCard> expected = Ezvcard.parse(file).caretDecoding(true).register(new ExtendedAddressScribe()).register(new ExtendedStructuredNameScribe()).all();
+        List<VCard> actual = VCardParser.parse(file);
+        assertEquals("testDefaultCodec3 - 1", expected.size(), actual.size());
+        assertEquals("testDefaultCodec3 - 2", VCardWriter.write(expected), VCardWriter.write(actual));
+        assertEquals("testDefaultCodec3 - 3", VCardWriter.write(actual), VCardWriter.write(VCardParser.parseJson(VCardWriter.writeJson(actual))));
+        String xml = VCardWriter.writeXml(actual);
+        assertEquals("testDefaultCodec3 - 4", VCardWriter.write(Ezvcard.parseXml(xml).register(new ExtendedAddressScribe()).register(new ExtendedStructuredNameScribe()).all()), VCardWriter.write(VCardParser.parseXml(xml)));
+    }
+
+    @Test
+    public void testCustomCodec1() {
+
+        VCardCodec codec = VCardCodec.builder()
+                .caretEncoding(false)
+                .targetVersion(VCardVersion.V3_0)
+                .prettyPrint(true)
+                .xmlIndent(2)
+                .build();
+        List<VCard> vcards = codec.parse(VCARD);
+        assertEquals("testCustomCodec1 - 1", "123 Main Street^nAny Town", vcards.get(0).getProperty(ExtendedAddress.class).getLabel());
+        String text = codec.write(vcards);
+        assertTrue("testCustomCodec1 - 2", text.contains("VERSION:3.0"));
+        assertTrue("testCustomCodec1 - 3", codec.writeJson(vcards).contains("\n"));
+        assertTrue("testCustomCodec1 - 4", codec.writeXml(vcards).contains("\n  "));
+        assertFalse("testCustomCodec1 - 5", VCardCodec.getDefault().writeJson(vcards).contains("\n"));
+    }
+
+    @Test
+    public void testSharedCodec1() throws Exception {
+
+        VCardCodec codec = VCardCodec.getDefault();
+        String expected = codec.write(codec.parse(VCARD));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++)
+                futures.add(executor.submit(() -> codec.write(codec.parseJson(codec.writeJson(codec.parse(VCARD))))));
+            for (Future<String> future : futures)
+                assertEquals("testSharedCodec1 - 1", expected, future.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
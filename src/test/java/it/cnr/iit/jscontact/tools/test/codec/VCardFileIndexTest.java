@@ -0,0 +1,170 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.codec;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardFileIndex;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardTextReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class VCardFileIndexTest {
+
+    private static final String FOLDED = "BEGIN:VCARD\r\n" +
+            "VERSION:4.0\r\n" +
+            "FN:Città di Pisà\r\n" +
+            "NOTE:a folded line whose continuation\r\n" +
+            " END:VCARD is not a boundary\r\n" +
+            "END:VC\r\n" +
+            " ARD\r\n";
+
+    private static final String LOWERCASE = "begin:vcard\n" +
+            "VERSION:4.0\n" +
+            "FN:日本の名前\n" +
+            "end:vcard  \n";
+
+    private static final String NESTED = "BEGIN:VCARD\n" +
+            "VERSION:2.1\n" +
+            "FN:John Doe\n" +
+            "AGENT:\n" +
+            "BEGIN:VCARD\n" +
+            "VERSION:2.1\n" +
+            "FN:Jane Doe\n" +
+            "END:VCARD\n" +
+            "END:VCARD\n";
+
+    private static final String PARTIAL = "BEGIN:VCARD\n" +
+            "VERSION:4.0\n" +
+            "FN:partial";
+
+    private static final String TEXT = "garbage\n" + FOLDED + "\n" + LOWERCASE + "more garbage\r\n" + NESTED + PARTIAL;
+
+    private static long offsetOf(String part) {
+        return TEXT.substring(0, TEXT.indexOf(part)).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static VCardFileIndex open(Path path, String text) throws IOException {
+
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+        return VCardFileIndex.open(path);
+    }
+
+    @Test
+    public void testVCardFileIndex1() throws IOException {
+
+        Path path = Files.createTempFile("index", ".vcf");
+        try (VCardFileIndex index = open(path, TEXT)) {
+            assertEquals("testVCardFileIndex1 - 1", 4, index.size());
+            String[] texts = {FOLDED, LOWERCASE, NESTED, PARTIAL};
+            for (int n = 0; n < texts.length; n++) {
+                assertEquals("testVCardFileIndex1 - 2 - " + n, texts[n], index.getText(n));
+                assertEquals("testVCardFileIndex1 - 3 - " + n, offsetOf(texts[n]), index.getOffset(n));
+                assertEquals("testVCardFileIndex1 - 4 - " + n, texts[n].getBytes(StandardCharsets.UTF_8).length, index.getLength(n));
+                assertEquals("testVCardFileIndex1 - 8 - " + n, texts[n] != PARTIAL, index.isComplete(n));
+            }
+            VCard vCard = index.parse(2);
+            assertEquals("testVCardFileIndex1 - 5", "John Doe", vCard.getFormattedName().getValue());
+            assertEquals("testVCardFileIndex1 - 6", "Jane Doe", vCard.getAgent().getVCard().getFormattedName().getValue());
+            assertEquals("testVCardFileIndex1 - 7", "日本の名前", index.parse(1).getFormattedName().getValue());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testVCardFileIndex2() throws IOException {
+
+        String text = LOWERCASE + NESTED + "\r\n" + LOWERCASE.replace("\n", "\r\n") + FOLDED.replace("END:VC\r\n ARD", "END:VCARD");
+        Path path = Files.createTempFile("index", ".vcf");
+        try (VCardFileIndex index = open(path, text); VCardTextReader reader = new VCardTextReader(new StringReader(text))) {
+            for (int n = 0; n < index.size(); n++) {
+                assertEquals("testVCardFileIndex2 - 1 - " + n, reader.readNext(), index.getText(n));
+                assertEquals("testVCardFileIndex2 - 2 - " + n, reader.getOffset(), index.getOffset(n));
+                assertEquals("testVCardFileIndex2 - 5 - " + n, reader.isComplete(), index.isComplete(n));
+            }
+            assertEquals("testVCardFileIndex2 - 3", 4, index.size());
+            assertNull("testVCardFileIndex2 - 4", reader.readNext());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testVCardFileIndex3() throws IOException {
+
+        Path path = Files.createTempFile("index", ".vcf");
+        try (VCardFileIndex index = open(path, "")) {
+            assertEquals("testVCardFileIndex3 - 1", 0, index.size());
+            try {
+                index.getText(0);
+                fail("testVCardFileIndex3 - 2");
+            } catch (IndexOutOfBoundsException e) {
+                assertTrue("testVCardFileIndex3 - 3", e.getMessage().contains("size: 0"));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testVCardFileIndex4() throws IOException {
+
+        String text = PARTIAL + "\n" + LOWERCASE + PARTIAL + "\n" + FOLDED;
+        Path path = Files.createTempFile("index", ".vcf");
+        try (VCardFileIndex index = open(path, text); VCardTextReader reader = new VCardTextReader(new StringReader(text))) {
+            assertEquals("testVCardFileIndex4 - 1", 4, index.size());
+            String[] texts = {PARTIAL + "\n", LOWERCASE, PARTIAL + "\n", FOLDED};
+            boolean[] complete = {false, true, false, true};
+            for (int n = 0; n < texts.length; n++) {
+                assertEquals("testVCardFileIndex4 - 2 - " + n, texts[n], index.getText(n));
+                assertEquals("testVCardFileIndex4 - 3 - " + n, complete[n], index.isComplete(n));
+                assertEquals("testVCardFileIndex4 - 4 - " + n, reader.readNext(), index.getText(n));
+                assertEquals("testVCardFileIndex4 - 5 - " + n, reader.getOffset(), index.getOffset(n));
+                assertEquals("testVCardFileIndex4 - 6 - " + n, reader.isComplete(), index.isComplete(n));
+            }
+            assertEquals("testVCardFileIndex4 - 7", "日本の名前", index.parse(1).getFormattedName().getValue());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testVCardFileIndex5() throws IOException {
+
+        String text = "\uFEFF" + LOWERCASE + FOLDED;
+        Path path = Files.createTempFile("index", ".vcf");
+        try (VCardFileIndex index = open(path, text); VCardTextReader reader = new VCardTextReader(new StringReader(text))) {
+            assertEquals("testVCardFileIndex5 - 1", 2, index.size());
+            assertEquals("testVCardFileIndex5 - 2", 3, index.getOffset(0));
+            assertEquals("testVCardFileIndex5 - 3", LOWERCASE, index.getText(0));
+            assertEquals("testVCardFileIndex5 - 4", "日本の名前", index.parse(0).getFormattedName().getValue());
+            for (int n = 0; n < index.size(); n++) {
+                assertEquals("testVCardFileIndex5 - 5 - " + n, reader.readNext(), index.getText(n));
+                assertEquals("testVCardFileIndex5 - 6 - " + n, reader.getOffset(), index.getOffset(n));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+}
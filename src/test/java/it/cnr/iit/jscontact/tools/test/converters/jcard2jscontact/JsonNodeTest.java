@@ -0,0 +1,103 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jcard2jscontact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2jcard.JSContact2JCard;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardWriter;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class JsonNodeTest extends JCard2JSContactTest {
+
+    private static final String[] JCARDS = {"jCard-Multilingual.json", "jCard-RFC7095.json", "jCard-RFC7483.json", "jCard-Unstructured.json", "jCard-Wikipedia.json"};
+
+    private String load(String name) throws IOException {
+        return IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/" + name)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testJsonNode1() throws IOException {
+
+        for (String name : JCARDS) {
+            String json = load(name);
+            JsonNode node = JSContactMapper.getMapper().readTree(json);
+            assertEquals("testJsonNode1 - " + name, VCardWriter.write(VCardParser.parseJson(json)), VCardWriter.write(VCardParser.parseJson(node)));
+        }
+    }
+
+    @Test
+    public void testJsonNode2() throws IOException, CardException {
+
+        String json = load("jCard-RFC7483.json");
+        ObjectNode entity = JSContactMapper.getMapper().createObjectNode();
+        entity.put("objectClassName", "entity");
+        entity.put("handle", "XXXX");
+        entity.set("vcardArray", JSContactMapper.getMapper().readTree(json));
+        List<Card> jsCards = jCard2JSContact.convert(entity);
+        assertEquals("testJsonNode2 - 1", 1, jsCards.size());
+        Card expected = jCard2JSContact.convert(json).get(0);
+        jsCards.get(0).setUid(expected.getUid());
+        assertEquals("testJsonNode2 - 2", Card.toJson(expected), Card.toJson(jsCards.get(0)));
+    }
+
+    @Test
+    public void testJsonNode3() throws IOException {
+
+        ArrayNode group = JSContactMapper.getMapper().createArrayNode();
+        group.add(JSContactMapper.getMapper().readTree(load("jCard-RFC7483.json")));
+        group.add(JSContactMapper.getMapper().readTree(load("jCard-Unstructured.json")));
+        String json = JSContactMapper.writer().writeValueAsString(group);
+        assertEquals("testJsonNode3 - 1", 2, VCardParser.parseJson(group).size());
+        assertEquals("testJsonNode3 - 2", VCardWriter.write(VCardParser.parseJson(json)), VCardWriter.write(VCardParser.parseJson(group)));
+    }
+
+    @Test(expected = CardException.class)
+    public void testJsonNodeInvalid1() throws IOException, CardException {
+
+        jCard2JSContact.convert(JSContactMapper.getMapper().readTree("{}"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testJsonNodeInvalid2() throws IOException, CardException {
+
+        jCard2JSContact.convert(JSContactMapper.getMapper().readTree("[\"vcard\"]"));
+    }
+
+    @Test
+    public void testConvertToJsonNode1() throws IOException, CardException {
+
+        JSContact2JCard jsContact2JCard = JSContact2JCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        Card[] jsCards = Card.toJSCards(load("jsCardGroup.json"));
+        assertEquals("testConvertToJsonNode1 - 1", JSContactMapper.getMapper().readTree(jsContact2JCard.convertToJson(jsCards)), jsContact2JCard.convertToJsonNode(jsCards));
+        assertEquals("testConvertToJsonNode1 - 2", JSContactMapper.getMapper().readTree(jsContact2JCard.convertToJson(jsCards[0])), jsContact2JCard.convertToJsonNode(jsCards[0]));
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jcard2jscontact;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class StreamingInputTest extends JCard2JSContactTest {
+
+    private static final String JCARD1 = "[\"vcard\",[[\"version\",{},\"text\",\"4.0\"],[\"fn\",{},\"text\",\"Città di Pisà\"],[\"uid\",{},\"uri\",\"urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af\"]]]";
+
+    private static final String INVALID = "[\"vcard\",[[\"version\",{},\"text\",\"4.0\"],[\"uid\",{},\"uri\",\"urn:uuid:b8767877-b4a1-4c70-9acc-505d3819e519\"]]]";
+
+    private static final String NOT_A_JCARD = "{\"vcard\":[]}";
+
+    private static final String JCARD2 = "[\"vcard\",[[\"version\",{},\"text\",\"4.0\"],[\"fn\",{},\"text\",\"日本の名前\"],[\"uid\",{},\"uri\",\"urn:uuid:ff7854c7-26e2-4adf-89b5-5bc8ac5d75ff\"]]]";
+
+    private static final String JSON = "[\n  " + JCARD1 + ",\n  " + INVALID + ",\n  " + NOT_A_JCARD + ",\n  " + JCARD2 + "\n]\n";
+
+    private static long offsetOf(String part) {
+        return JSON.substring(0, JSON.indexOf(part)).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void checkResults(String test, List<ConversionResult<Card>> results, boolean offsets) throws CardException, IOException {
+
+        assertEquals(test + " - 1", 4, results.size());
+        assertTrue(test + " - 2", results.get(0).isSuccessful());
+        assertEquals(test + " - 3", Card.toJson(jCard2JSContact.convert(JCARD1).get(0)), Card.toJson(results.get(0).getCard()));
+        assertFalse(test + " - 4", results.get(1).isSuccessful());
+        assertEquals(test + " - 5", 1, results.get(1).getIndex());
+        assertFalse(test + " - 6", results.get(1).getReasons().isEmpty());
+        assertFalse(test + " - 7", results.get(2).isSuccessful());
+        assertEquals(test + " - 8", "Bad jCard format", results.get(2).getReasons().get(0));
+        assertTrue(test + " - 9", results.get(3).isSuccessful());
+        assertEquals(test + " - 10", 3, results.get(3).getIndex());
+        assertEquals(test + " - 11", "日本の名前", results.get(3).getCard().getName().getFull());
+        if (offsets) {
+            assertEquals(test + " - 12", offsetOf(JCARD1), results.get(0).getOffset());
+            assertEquals(test + " - 13", offsetOf(INVALID), results.get(1).getOffset());
+            assertEquals(test + " - 14", offsetOf(NOT_A_JCARD), results.get(2).getOffset());
+            assertEquals(test + " - 15", offsetOf(JCARD2), results.get(3).getOffset());
+        } else {
+            assertEquals(test + " - 12", -1, results.get(0).getOffset());
+        }
+    }
+
+    @Test
+    public void testStreamingInput1() throws IOException, CardException {
+
+        List<ConversionResult<Card>> results = new ArrayList<>();
+        Iterator<ConversionResult<Card>> iterator = jCard2JSContact.iterator(new StringReader(JSON));
+        while (iterator.hasNext())
+            results.add(iterator.next());
+        checkResults("testStreamingInput1", results, false);
+    }
+
+    @Test
+    public void testStreamingInput2() throws IOException, CardException {
+
+        try (Stream<ConversionResult<Card>> stream = jCard2JSContact.stream(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)))) {
+            checkResults("testStreamingInput2", stream.collect(Collectors.toList()), true);
+        }
+    }
+
+    @Test
+    public void testStreamingInput3() throws IOException, CardException {
+
+        Path path = Files.createTempFile("streaming", ".json");
+        try {
+            Files.write(path, JSON.getBytes(StandardCharsets.UTF_8));
+            List<ConversionResult<Card>> results = new ArrayList<>();
+            jCard2JSContact.iterator(path).forEachRemaining(results::add);
+            checkResults("testStreamingInput3", results, true);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStreamingInput4() throws IOException {
+
+        List<ConversionResult<Card>> results = jCard2JSContact.stream(new StringReader(JCARD2)).collect(Collectors.toList());
+        assertEquals("testStreamingInput4 - 1", 1, results.size());
+        assertTrue("testStreamingInput4 - 2", results.get(0).isSuccessful());
+        assertFalse("testStreamingInput4 - 3", jCard2JSContact.iterator(new StringReader("[]")).hasNext());
+        assertFalse("testStreamingInput4 - 4", jCard2JSContact.iterator(new StringReader("")).hasNext());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testStreamingInput5() throws IOException {
+
+        Iterator<ConversionResult<Card>> iterator = jCard2JSContact.iterator(new StringReader("[" + JCARD1 + ", [\"vcard\", ["));
+        assertTrue("testStreamingInput5 - 1", iterator.next().isSuccessful());
+        iterator.next();
+    }
+
+}
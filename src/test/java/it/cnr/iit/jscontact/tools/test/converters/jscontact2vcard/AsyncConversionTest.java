@@ -0,0 +1,75 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jscontact2vcard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.Name;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2jcard.JSContact2JCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2xcard.JSContact2XCard;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class AsyncConversionTest {
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private static final JSContact2VCardConfig config = JSContact2VCardConfig.builder().validateCard(false).build();
+
+    private static final Card jsCard = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").name(Name.builder().full("test").build()).build();
+
+    @AfterClass
+    public static void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAsyncConversion1() throws Exception {
+
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(config).build();
+        assertEquals("testAsyncConversion1 - 1", jsContact2VCard.convertToText(jsCard), jsContact2VCard.convertToTextAsync(executor, jsCard).get());
+
+        JSContact2JCard jsContact2JCard = JSContact2JCard.builder().config(config).build();
+        assertEquals("testAsyncConversion1 - 2", jsContact2JCard.convertToJson(jsCard), jsContact2JCard.convertToJsonAsync(executor, jsCard).get());
+        JsonNode jCard = jsContact2JCard.convertToJsonNodeAsync(executor, jsCard).get();
+        assertEquals("testAsyncConversion1 - 3", "vcard", jCard.get(0).asText());
+
+        JSContact2XCard jsContact2XCard = JSContact2XCard.builder().config(config).build();
+        assertTrue("testAsyncConversion1 - 4", jsContact2XCard.convertToXmlAsync(executor, jsCard).get().contains("<text>test</text>"));
+    }
+
+    @Test
+    public void testAsyncConversion2() throws Exception {
+
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        Card invalid = Card.toJSCard("{\"@type\":\"Card\",\"name\": { \"full\": \"test\"}}");
+        try {
+            jsContact2VCard.convertToTextAsync(executor, invalid).get();
+            fail("testAsyncConversion2 - 1");
+        } catch (ExecutionException e) {
+            assertTrue("testAsyncConversion2 - 2", e.getCause() instanceof CardException);
+        }
+    }
+}
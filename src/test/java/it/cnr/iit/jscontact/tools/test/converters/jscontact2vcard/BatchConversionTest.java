@@ -0,0 +1,50 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jscontact2vcard;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.Name;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchConversionTest {
+
+    @Test
+    public void testBatchConversion1() throws IOException {
+
+        Card valid = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").name(Name.builder().full("test").build()).build();
+        Card invalid = Card.toJSCard("{\"@type\":\"Card\",\"name\": { \"full\": \"test\"}}");
+
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        List<ConversionResult<VCard>> results = jsContact2VCard.convertEach(invalid, valid);
+        assertEquals("testBatchConversion1 - 1", 2, results.size());
+        assertFalse("testBatchConversion1 - 2", results.get(0).isSuccessful());
+        assertEquals("testBatchConversion1 - 3", 0, results.get(0).getIndex());
+        assertFalse("testBatchConversion1 - 4", results.get(0).getReasons().isEmpty());
+        assertEquals("testBatchConversion1 - 5", invalid.getValidationMessages(), results.get(0).getReasons());
+        assertTrue("testBatchConversion1 - 6", results.get(1).isSuccessful());
+        assertEquals("testBatchConversion1 - 7", 1, results.get(1).getIndex());
+        assertEquals("testBatchConversion1 - 8", "test", results.get(1).getCard().getFormattedName().getValue());
+    }
+}
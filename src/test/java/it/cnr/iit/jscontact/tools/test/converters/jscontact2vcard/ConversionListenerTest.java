@@ -0,0 +1,95 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jscontact2vcard;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.AggregatingConversionListener;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ConversionListenerTest {
+
+    @Test
+    public void testConversionListener1() throws IOException, CardException {
+
+        String jscard="[" +
+                "{" +
+                "\"@type\":\"Card\"," +
+                "\"uid\":\"8626d863-8c3f-405c-a2cb-bbbb3e3b359f\"," +
+                "\"name\": { \"full\": \"test\"}," +
+                "\"emails\":{ " +
+                     "\"EMAIL-1\": {\"@type\":\"EmailAddress\",\"contexts\":{\"work\": true},\"address\":\"jqpublic@xyz.example.com\"}," +
+                     "\"EMAIL-2\": {\"@type\":\"EmailAddress\",\"contexts\":{\"private\": true},\"pref\":1,\"address\":\"jane_doe@example.com\"}" +
+                "}" +
+                "}," +
+                "{" +
+                "\"@type\":\"Card\"," +
+                "\"uid\":\"139c2287-90ae-4f86-9a85-6e58a8f667d2\"," +
+                "\"name\": { \"full\": \"test\"}," +
+                "\"emails\":{ \"EMAIL-1\": {\"@type\":\"EmailAddress\",\"address\":\"jqpublic@xyz.example.com\"}}" +
+                "}" +
+                "]";
+
+        AggregatingConversionListener listener = new AggregatingConversionListener();
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().conversionListener(listener).build()).build();
+        List<VCard> vcards = jsContact2VCard.convert(jscard);
+        assertEquals("testConversionListener1 - 1", 2, vcards.size());
+        Map<String, AggregatingConversionListener.Statistics> stages = listener.getStageStatistics();
+        assertEquals("testConversionListener1 - 2", 2, stages.get("emails").getCount());
+        assertEquals("testConversionListener1 - 3", 3, stages.get("emails").getTotalProperties());
+        assertEquals("testConversionListener1 - 4", 2, stages.get("validation").getCount());
+        assertEquals("testConversionListener1 - 5", 0, stages.get("addresses").getTotalProperties());
+        assertEquals("testConversionListener1 - 6", 2, listener.getCardStatistics().getCount());
+        assertTrue("testConversionListener1 - 7", listener.getCardStatistics().getTotalNanos() >= stages.get("emails").getTotalNanos());
+        listener.reset();
+        assertTrue("testConversionListener1 - 8", listener.getStageStatistics().isEmpty());
+        assertEquals("testConversionListener1 - 9", 0, listener.getCardStatistics().getCount());
+    }
+
+    @Test
+    public void testConversionListener2() throws IOException, CardException {
+
+        String jscard="{" +
+                "\"@type\":\"Card\"," +
+                "\"uid\":\"8626d863-8c3f-405c-a2cb-bbbb3e3b359f\"," +
+                "\"created\":\"2010-10-10T10:10:10Z\"," +
+                "\"language\":\"en\"," +
+                "\"name\": { \"full\": \"test\"}," +
+                "\"speakToAs\":{" +
+                    "\"grammaticalGender\":\"neuter\"," +
+                    "\"pronouns\":{" +
+                        "\"PRONOUNS-1\": {\"@type\":\"Pronouns\",\"pronouns\":\"they/them\"}," +
+                        "\"PRONOUNS-2\": {\"@type\":\"Pronouns\",\"pronouns\":\"xe/xir\"}" +
+                    "}" +
+                "}" +
+                "}";
+
+        AggregatingConversionListener listener = new AggregatingConversionListener();
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().conversionListener(listener).build()).build();
+        List<VCard> vcards = jsContact2VCard.convert(jscard);
+        assertEquals("testConversionListener2 - 1", 2, vcards.get(0).getExtendedProperties("PRONOUNS").size());
+        assertEquals("testConversionListener2 - 2", 5, listener.getStageStatistics().get("rfc9554Props").getTotalProperties());
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jscontact2vcard;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.Name;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelConversionTest {
+
+    private static Card[] jsCards(int count) {
+
+        Card[] jsCards = new Card[count];
+        for (int i = 0; i < count; i++)
+            jsCards[i] = Card.builder()
+                             .uid(String.format("urn:uuid:00000000-0000-4000-8000-%012d", i))
+                             .name(Name.builder().full("test " + i).build())
+                             .build();
+        return jsCards;
+    }
+
+    @Test
+    public void testParallelConversion1() throws CardException {
+
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<VCard> vcards = jsContact2VCard.convertParallel(executor, 7, jsCards(50));
+            assertEquals("testParallelConversion1 - 1", 50, vcards.size());
+            for (int i = 0; i < vcards.size(); i++) {
+                assertEquals("testParallelConversion1 - 2", String.format("urn:uuid:00000000-0000-4000-8000-%012d", i), vcards.get(i).getUid().getValue());
+                assertEquals("testParallelConversion1 - 3", "test " + i, vcards.get(i).getFormattedName().getValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelConversion2() throws IOException {
+
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        Card[] jsCards = jsCards(2);
+        jsCards[1] = Card.toJSCard("{\"@type\":\"Card\",\"name\": { \"full\": \"test\"}}");
+        try {
+            jsContact2VCard.convertParallel(ForkJoinPool.commonPool(), 1, jsCards);
+            fail("testParallelConversion2 - 1");
+        } catch (CardException e) {
+            assertNotNull("testParallelConversion2 - 2", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.jscontact2vcard;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.Name;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2jcard.JSContact2JCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2xcard.JSContact2XCard;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class StreamingOutputTest {
+
+    private static final JSContact2VCardConfig CONFIG = JSContact2VCardConfig.builder().validateCard(false).build();
+
+    private static class TrackingWriter extends StringWriter {
+
+        boolean closed = false;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private Card[] load() throws IOException {
+        return Card.toJSCards(IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/jsCardGroup.json")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamingOutput1() throws IOException, CardException {
+
+        Card[] jsCards = load();
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(CONFIG).build();
+        TrackingWriter writer = new TrackingWriter();
+        jsContact2VCard.convertToText(writer, jsCards);
+        assertEquals("testStreamingOutput1 - 1", jsContact2VCard.convertToText(jsCards), writer.toString());
+        assertFalse("testStreamingOutput1 - 2", writer.closed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jsContact2VCard.convertToText(out, jsCards);
+        assertArrayEquals("testStreamingOutput1 - 3", writer.toString().getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    public void testStreamingOutput2() throws IOException, CardException {
+
+        Card[] jsCards = load();
+        JSContact2JCard jsContact2JCard = JSContact2JCard.builder().config(CONFIG).build();
+        TrackingWriter writer = new TrackingWriter();
+        jsContact2JCard.convertToJson(writer, jsCards);
+        assertEquals("testStreamingOutput2 - 1", jsContact2JCard.convertToJson(jsCards), writer.toString());
+        assertFalse("testStreamingOutput2 - 2", writer.closed);
+        writer = new TrackingWriter();
+        jsContact2JCard.convertToJson(writer, jsCards[0]);
+        assertEquals("testStreamingOutput2 - 3", jsContact2JCard.convertToJson(jsCards[0]), writer.toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jsContact2JCard.convertToJson(out, jsCards);
+        assertEquals("testStreamingOutput2 - 4", jsContact2JCard.convertToJson(jsCards), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamingOutput3() throws IOException, CardException {
+
+        Card[] jsCards = load();
+        JSContact2XCard jsContact2XCard = JSContact2XCard.builder().config(CONFIG).build();
+        TrackingWriter writer = new TrackingWriter();
+        jsContact2XCard.convertToXml(writer, jsCards);
+        assertEquals("testStreamingOutput3 - 1", jsContact2XCard.convertToXml(jsCards), writer.toString());
+        assertFalse("testStreamingOutput3 - 2", writer.closed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jsContact2XCard.convertToXml(out, jsCards);
+        assertEquals("testStreamingOutput3 - 3", writer.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamingOutput4() throws IOException {
+
+        Card[] jsCards = load();
+        TrackingWriter writer = new TrackingWriter();
+        Card.toJson(writer, jsCards);
+        assertEquals("testStreamingOutput4 - 1", Card.toJson(jsCards), writer.toString());
+        assertFalse("testStreamingOutput4 - 2", writer.closed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Card.toJson(out, jsCards);
+        assertEquals("testStreamingOutput4 - 3", Card.toJson(jsCards), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamingOutput5() throws IOException, CardException {
+
+        Card valid = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").name(Name.builder().full("test").build()).build();
+        Card invalid = Card.toJSCard("{\"@type\":\"Card\",\"name\": { \"full\": \"test\"}}");
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        StringWriter writer = new StringWriter();
+        try {
+            jsContact2VCard.convertToText(writer, valid, invalid);
+            fail("testStreamingOutput5 - 1");
+        } catch (CardException e) {
+            assertEquals("testStreamingOutput5 - 2", jsContact2VCard.convertToText(valid), writer.toString());
+        }
+    }
+
+    @Test
+    public void testStreamingOutput6() throws IOException, CardException {
+
+        Card[] jsCards = load();
+        JSContact2XCard jsContact2XCard = JSContact2XCard.builder().config(CONFIG).build();
+        TrackingWriter writer = new TrackingWriter();
+        try (JSContact2XCard.XCardStreamWriter xCardStreamWriter = jsContact2XCard.newXmlWriter(writer)) {
+            for (Card jsCard : jsCards)
+                xCardStreamWriter.write(jsCard);
+        }
+        assertEquals("testStreamingOutput6 - 1", jsContact2XCard.convertToXml(jsCards), writer.toString());
+        assertFalse("testStreamingOutput6 - 2", writer.closed);
+
+        Card valid = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").name(Name.builder().full("test").build()).build();
+        Card invalid = Card.toJSCard("{\"@type\":\"Card\",\"name\": { \"full\": \"test\"}}");
+        jsContact2XCard = JSContact2XCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JSContact2XCard.XCardStreamWriter xCardStreamWriter = jsContact2XCard.newXmlWriter(out)) {
+            xCardStreamWriter.write(valid, invalid);
+            fail("testStreamingOutput6 - 3");
+        } catch (CardException e) {
+            assertEquals("testStreamingOutput6 - 4", jsContact2XCard.convertToXml(valid), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jcard2jsontact.JCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.converters.xcard2jscontact.XCard2JSContact;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class AsyncConversionTest {
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private static final VCard2JSContactConfig config = VCard2JSContactConfig.builder().build();
+
+    @AfterClass
+    public static void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAsyncConversion1() throws Exception {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(config).build();
+        List<CompletableFuture<List<Card>>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            futures.add(vCard2JSContact.convertAsync(executor, "BEGIN:VCARD\nVERSION:4.0\nFN:test " + i + "\nEND:VCARD"));
+        for (int i = 0; i < 20; i++)
+            assertEquals("testAsyncConversion1 - " + i, "test " + i, futures.get(i).get().get(0).getName().getFull());
+    }
+
+    @Test
+    public void testAsyncConversion2() throws Exception {
+
+        JCard2JSContact jCard2JSContact = JCard2JSContact.builder().config(config).build();
+        String jcard = "[\"vcard\",[ [\"version\", {}, \"text\", \"4.0\"], [\"fn\", {}, \"text\", \"test\"]]]";
+        assertEquals("testAsyncConversion2 - 1", "test", jCard2JSContact.convertAsync(executor, jcard).get().get(0).getName().getFull());
+
+        XCard2JSContact xCard2JSContact = XCard2JSContact.builder().config(config).build();
+        String xcard = "<vcards xmlns=\"urn:ietf:params:xml:ns:vcard-4.0\"><vcard><fn><text>test</text></fn></vcard></vcards>";
+        assertEquals("testAsyncConversion2 - 2", "test", xCard2JSContact.convertAsync(executor, xcard).get().get(0).getName().getFull());
+    }
+
+    @Test
+    public void testAsyncConversion3() throws InterruptedException {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(config).build();
+        try {
+            vCard2JSContact.convertAsync(executor, "not a vCard").get();
+            fail("testAsyncConversion3 - 1");
+        } catch (ExecutionException e) {
+            assertTrue("testAsyncConversion3 - 2", e.getCause() instanceof CardException);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchConversionTest {
+
+    @Test
+    public void testBatchConversion1() {
+
+        String vcards = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test 0\n" +
+                "END:VCARD\n" +
+                "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "KIND:individual\n" +
+                "FN:test 1\n" +
+                "MEMBER:urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af\n" +
+                "END:VCARD\n" +
+                "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test 2\n" +
+                "END:VCARD\n";
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        List<ConversionResult<Card>> results = vCard2JSContact.convertEach(VCardParser.parse(vcards).toArray(new VCard[0]));
+        assertEquals("testBatchConversion1 - 1", 3, results.size());
+        assertTrue("testBatchConversion1 - 2", results.get(0).isSuccessful());
+        assertEquals("testBatchConversion1 - 3", "test 0", results.get(0).getCard().getName().getFull());
+        assertTrue("testBatchConversion1 - 4", results.get(0).getReasons().isEmpty());
+        assertFalse("testBatchConversion1 - 5", results.get(1).isSuccessful());
+        assertEquals("testBatchConversion1 - 6", 1, results.get(1).getIndex());
+        assertNull("testBatchConversion1 - 7", results.get(1).getCard());
+        assertEquals("testBatchConversion1 - 8", 1, results.get(1).getReasons().size());
+        assertTrue("testBatchConversion1 - 9", results.get(1).getReasons().get(0).startsWith("[Member] | W17: "));
+        assertTrue("testBatchConversion1 - 10", results.get(2).isSuccessful());
+        assertEquals("testBatchConversion1 - 11", 2, results.get(2).getIndex());
+        assertEquals("testBatchConversion1 - 12", "test 2", results.get(2).getCard().getName().getFull());
+    }
+
+    @Test
+    public void testBatchConversion2() {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        assertTrue("testBatchConversion2 - 1", vCard2JSContact.convertEach().isEmpty());
+    }
+}
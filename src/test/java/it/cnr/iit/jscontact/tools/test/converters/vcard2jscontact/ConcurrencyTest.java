@@ -0,0 +1,136 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CARDS = 32;
+    private static final int ROUNDS = 20;
+
+    private static String vCard(int i) {
+
+        return "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "UID:urn:uuid:00000000-0000-4000-8000-" + String.format("%012d", i) + "\n" +
+                "LANGUAGE:" + ((i % 2 == 0) ? "en" : "it") + "\n" +
+                "FN;ALTID=1;LANGUAGE=it:Nome " + i + "\n" +
+                "FN;ALTID=1;LANGUAGE=en:Name " + i + "\n" +
+                "TITLE;ALTID=1;LANGUAGE=it:Titolo " + i + "\n" +
+                "TITLE;ALTID=1;LANGUAGE=en:Title " + i + "\n" +
+                "ADR;TZ=+" + String.format("%02d", i % 12) + "30:;;" + i + " Oak St;Reston;VA;20190;USA\n" +
+                "END:VCARD";
+    }
+
+    private static String summary(Card jsCard) {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(jsCard.getUid()).append('|')
+          .append(jsCard.getName().getFull()).append('|')
+          .append(jsCard.getTitles().get("TITLE-1").getName()).append('|')
+          .append(jsCard.getAddresses().get("ADR-1").getTimeZone()).append('|')
+          .append(jsCard.getCustomTimeZones().size()).append('|')
+          .append(jsCard.getCustomTimeZones().get(jsCard.getAddresses().get("ADR-1").getTimeZone()).getTzId());
+        return sb.toString();
+    }
+
+    private static <T> void runConcurrently(List<Callable<T>> tasks, List<T> expected, String label) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<T>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++)
+                assertEquals(label + " - " + i, expected.get(i % expected.size()), futures.get(i).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrency1() throws CardException {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+        Card jsCard1 = vCard2JSContact.convert(vCard(1)).get(0);
+        Card jsCard2 = vCard2JSContact.convert(vCard(2)).get(0);
+        assertEquals("testConcurrency1 - 1", 1, jsCard1.getCustomTimeZones().size());
+        assertEquals("testConcurrency1 - 2", "TZ+0130", jsCard1.getCustomTimeZones().get("tz1").getTzId());
+        assertEquals("testConcurrency1 - 3", 1, jsCard2.getCustomTimeZones().size());
+        assertEquals("testConcurrency1 - 4", "tz1", jsCard2.getAddresses().get("ADR-1").getTimeZone());
+        assertEquals("testConcurrency1 - 5", "TZ+0230", jsCard2.getCustomTimeZones().get("tz1").getTzId());
+    }
+
+    @Test
+    public void testConcurrency2() throws Exception {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++)
+            expected.add(summary(VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build().convert(vCard(i)).get(0)));
+
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < CARDS; i++) {
+                final String vcard = vCard(i);
+                tasks.add(() -> summary(vCard2JSContact.convert(vcard).get(0)));
+            }
+        }
+        runConcurrently(tasks, expected, "testConcurrency2");
+        assertEquals("testConcurrency2 - expected", "urn:uuid:00000000-0000-4000-8000-000000000003|Nome 3|Titolo 3|tz1|1|TZ+0330", expected.get(3));
+    }
+
+    @Test
+    public void testConcurrency3() throws Exception {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build();
+
+        List<Card> jsCards = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            Card jsCard = vCard2JSContact.convert(vCard(i)).get(0);
+            jsCards.add(jsCard);
+            expected.add(JSContact2VCard.builder().config(JSContact2VCardConfig.builder().validateCard(false).build()).build().convertToText(jsCard));
+        }
+
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int i = 0; i < CARDS; i++) {
+                final Card jsCard = jsCards.get(i);
+                tasks.add(() -> jsContact2VCard.convertToText(jsCard));
+            }
+        }
+        runConcurrently(tasks, expected, "testConcurrency3");
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.instrumentation.ConversionListener;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ConversionListenerTest {
+
+    private static class RecordingListener implements ConversionListener {
+
+        final Map<String, Integer> propertyCounts = new HashMap<>();
+        final List<String> stages = new ArrayList<>();
+        final List<String> uids = new ArrayList<>();
+
+        @Override
+        public void stageCompleted(String stage, long elapsedNanos, int propertyCount, long allocatedBytes) {
+            stages.add(stage);
+            propertyCounts.put(stage, propertyCount);
+            assertTrue("stageCompleted - elapsed", elapsedNanos >= 0);
+        }
+
+        @Override
+        public void cardCompleted(String uid, long elapsedNanos, int propertyCount, long allocatedBytes) {
+            uids.add(uid);
+            assertTrue("cardCompleted - elapsed", elapsedNanos >= 0);
+        }
+    }
+
+    @Test
+    public void testConversionListener1() throws CardException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test\n" +
+                "UID:urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af\n" +
+                "TEL;TYPE=work:tel:+1-555-555-5555\n" +
+                "TEL;TYPE=home:tel:+1-555-555-5556\n" +
+                "EMAIL:jqpublic@xyz.example.com\n" +
+                "END:VCARD";
+
+        RecordingListener listener = new RecordingListener();
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().conversionListener(listener).build()).build();
+        Card jsCard = vCard2JSContact.convert(vcard).get(0);
+        assertEquals("testConversionListener1 - 1", 2, jsCard.getPhones().size());
+        assertEquals("testConversionListener1 - 2", "validation", listener.stages.get(0));
+        assertEquals("testConversionListener1 - 3", Integer.valueOf(2), listener.propertyCounts.get("phones"));
+        assertEquals("testConversionListener1 - 4", Integer.valueOf(1), listener.propertyCounts.get("emails"));
+        assertEquals("testConversionListener1 - 5", Integer.valueOf(0), listener.propertyCounts.get("addresses"));
+        assertEquals("testConversionListener1 - 6", 1, listener.uids.size());
+        assertEquals("testConversionListener1 - 7", "urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af", listener.uids.get(0));
+    }
+
+    @Test
+    public void testConversionListener2() throws CardException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test1\n" +
+                "END:VCARD\n" +
+                "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test2\n" +
+                "END:VCARD";
+
+        RecordingListener listener = new RecordingListener();
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().validateCard(false).conversionListener(listener).build()).build();
+        List<Card> jsCards = vCard2JSContact.convert(vcard);
+        assertEquals("testConversionListener2 - 1", 2, jsCards.size());
+        assertEquals("testConversionListener2 - 2", 2, listener.uids.size());
+        assertEquals("testConversionListener2 - 3", jsCards.get(1).getUid(), listener.uids.get(1));
+        assertEquals("testConversionListener2 - 4", "validation", listener.stages.get(listener.stages.size() / 2));
+    }
+
+    @Test
+    public void testConversionListener3() throws CardException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test\n" +
+                "CREATED:20101010T101010Z\n" +
+                "PRONOUNS:they/them\n" +
+                "X-FOO:bar\n" +
+                "JSPROP;JSPTR=\"extension:myext1\";VALUE=TEXT:\"extvalue\"\n" +
+                "GROUP1.ADR;CC=US:;;54321 Oak St;Reston;VA;20190;USA\n" +
+                "GROUP1.TZ:-0530\n" +
+                "END:VCARD";
+
+        RecordingListener listener = new RecordingListener();
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().conversionListener(listener).build()).build();
+        Card jsCard = vCard2JSContact.convert(vcard).get(0);
+        assertEquals("testConversionListener3 - 1", 1, jsCard.getCustomTimeZones().size());
+        assertEquals("testConversionListener3 - 2", Integer.valueOf(2), listener.propertyCounts.get("addresses"));
+        assertEquals("testConversionListener3 - 3", Integer.valueOf(2), listener.propertyCounts.get("jsContactExtensions"));
+        assertEquals("testConversionListener3 - 4", Integer.valueOf(1), listener.propertyCounts.get("vCardExtensions"));
+        assertEquals("testConversionListener3 - 5", Integer.valueOf(1), listener.propertyCounts.get("jsCardExtensions"));
+        assertFalse("testConversionListener3 - 6", listener.stages.contains("customTimeZones"));
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import ezvcard.VCard;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.utils.ChunkUtils;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelConversionTest {
+
+    private static final VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+    private static VCard[] vCards(int count) {
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++)
+            sb.append("BEGIN:VCARD\n")
+              .append("VERSION:4.0\n")
+              .append("UID:urn:uuid:00000000-0000-4000-8000-").append(String.format("%012d", i)).append("\n")
+              .append("FN:test ").append(i).append("\n")
+              .append("ADR;TZ=+0530:;;").append(i).append(" Oak St;Reston;VA;20190;USA\n")
+              .append("END:VCARD\n");
+        return VCardParser.parse(sb.toString()).toArray(new VCard[0]);
+    }
+
+    @Test
+    public void testParallelConversion1() throws CardException {
+
+        VCard[] vCards = vCards(103);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Card> jsCards = vCard2JSContact.convertParallel(executor, 10, vCards);
+            assertEquals("testParallelConversion1 - 1", 103, jsCards.size());
+            for (int i = 0; i < jsCards.size(); i++) {
+                assertEquals("testParallelConversion1 - 2", String.format("urn:uuid:00000000-0000-4000-8000-%012d", i), jsCards.get(i).getUid());
+                assertEquals("testParallelConversion1 - 3", "test " + i, jsCards.get(i).getName().getFull());
+                assertEquals("testParallelConversion1 - 4", "TZ+0530", jsCards.get(i).getCustomTimeZones().get("tz1").getTzId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelConversion2() throws CardException {
+
+        VCard[] vCards = vCards(20);
+        List<Card> sequential = vCard2JSContact.convert(vCards);
+        List<Card> parallel = vCard2JSContact.convertParallel(ForkJoinPool.commonPool(), 1, vCards);
+        assertEquals("testParallelConversion2 - 1", sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++)
+            assertEquals("testParallelConversion2 - 2", sequential.get(i).getUid(), parallel.get(i).getUid());
+        assertTrue("testParallelConversion2 - 3", vCard2JSContact.convertParallel(ForkJoinPool.commonPool(), 5).isEmpty());
+    }
+
+    @Test
+    public void testParallelConversion3() {
+
+        VCard[] vCards = vCards(30);
+        vCards[17].setVersion(ezvcard.VCardVersion.V3_0);
+        vCards[17].addMember(new ezvcard.property.Member("urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af"));
+        try {
+            vCard2JSContact.convertParallel(ForkJoinPool.commonPool(), 4, vCards);
+            fail("testParallelConversion3 - 1");
+        } catch (CardException e) {
+            assertNotNull("testParallelConversion3 - 2", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParallelConversion4() {
+
+        // the first chunk runs immediately, the others are deferred until the first one has failed
+        AtomicInteger started = new AtomicInteger();
+        List<Runnable> deferred = new ArrayList<>();
+        Executor executor = task -> {
+            if (started.get() == 0)
+                task.run();
+            else
+                deferred.add(task);
+        };
+        try {
+            ChunkUtils.runInChunks(10, executor, 2, CardException.class, (from, to) -> {
+                started.incrementAndGet();
+                if (from == 0)
+                    throw new CardException("chunk " + from);
+                return Collections.nCopies(to - from, from);
+            });
+            fail("testParallelConversion4 - 1");
+        } catch (CardException e) {
+            assertEquals("testParallelConversion4 - 2", "chunk 0", e.getMessage());
+        }
+        deferred.forEach(Runnable::run);
+        assertEquals("testParallelConversion4 - 3", 4, deferred.size());
+        assertEquals("testParallelConversion4 - 4", 1, started.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelConversionInvalidChunkSize() throws CardException {
+
+        vCard2JSContact.convertParallel(ForkJoinPool.commonPool(), 0, vCards(1));
+    }
+}
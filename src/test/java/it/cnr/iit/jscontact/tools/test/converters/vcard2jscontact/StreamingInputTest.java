@@ -0,0 +1,222 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardFileIndex;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class StreamingInputTest {
+
+    private static final String VCARD1 = "BEGIN:VCARD\r\n" +
+            "VERSION:4.0\r\n" +
+            "FN:Città di Pisà\r\n" +
+            "UID:urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af\r\n" +
+            "END:VCARD\r\n";
+
+    private static final String INVALID = "BEGIN:VCARD\n" +
+            "VERSION:4.0\n" +
+            "UID:urn:uuid:b8767877-b4a1-4c70-9acc-505d3819e519\n" +
+            "END:VCARD\n";
+
+    private static final String VCARD2 = "BEGIN:VCARD\n" +
+            "VERSION:4.0\n" +
+            "FN:日本の名前\n" +
+            "UID:urn:uuid:ff7854c7-26e2-4adf-89b5-5bc8ac5d75ff\n" +
+            "END:VCARD\n";
+
+    private static final String TEXT = VCARD1 + "garbage è\n" + INVALID + VCARD2;
+
+    private final VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+    private static long offsetOf(String part) {
+        return TEXT.substring(0, TEXT.indexOf(part)).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void checkResults(String test, List<ConversionResult<Card>> results) throws CardException, IOException {
+
+        assertEquals(test + " - 1", 3, results.size());
+        assertTrue(test + " - 2", results.get(0).isSuccessful());
+        assertEquals(test + " - 3", 0, results.get(0).getOffset());
+        assertEquals(test + " - 4", Card.toJson(vCard2JSContact.convert(VCARD1).get(0)), Card.toJson(results.get(0).getCard()));
+        assertFalse(test + " - 5", results.get(1).isSuccessful());
+        assertEquals(test + " - 6", 1, results.get(1).getIndex());
+        assertEquals(test + " - 7", offsetOf(INVALID), results.get(1).getOffset());
+        assertFalse(test + " - 8", results.get(1).getReasons().isEmpty());
+        assertTrue(test + " - 9", results.get(2).isSuccessful());
+        assertEquals(test + " - 10", 2, results.get(2).getIndex());
+        assertEquals(test + " - 11", offsetOf(VCARD2), results.get(2).getOffset());
+        assertEquals(test + " - 12", "日本の名前", results.get(2).getCard().getName().getFull());
+    }
+
+    @Test
+    public void testStreamingInput1() throws CardException, IOException {
+
+        List<ConversionResult<Card>> results = new ArrayList<>();
+        Iterator<ConversionResult<Card>> iterator = vCard2JSContact.iterator(new StringReader(TEXT));
+        while (iterator.hasNext())
+            results.add(iterator.next());
+        assertFalse("testStreamingInput1 - 0", iterator.hasNext());
+        checkResults("testStreamingInput1", results);
+    }
+
+    @Test
+    public void testStreamingInput2() throws IOException, CardException {
+
+        Path path = Files.createTempFile("streaming", ".vcf");
+        try {
+            Files.write(path, TEXT.getBytes(StandardCharsets.UTF_8));
+            try (Stream<ConversionResult<Card>> stream = vCard2JSContact.stream(path)) {
+                checkResults("testStreamingInput2", stream.collect(Collectors.toList()));
+            }
+            List<ConversionResult<Card>> results = new ArrayList<>();
+            vCard2JSContact.iterator(path).forEachRemaining(results::add);
+            checkResults("testStreamingInput2", results);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStreamingInput3() {
+
+        assertFalse("testStreamingInput3 - 1", vCard2JSContact.iterator(new StringReader("no vCard here\n")).hasNext());
+        List<ConversionResult<Card>> results = vCard2JSContact.stream(new StringReader("BEGIN:VCARD\nVERSION:4.0\nFN:test\n")).collect(Collectors.toList());
+        assertEquals("testStreamingInput3 - 2", 1, results.size());
+        assertEquals("testStreamingInput3 - 3", 0, results.get(0).getOffset());
+        assertFalse("testStreamingInput3 - 4", results.get(0).isSuccessful());
+        assertEquals("testStreamingInput3 - 5", "Missing END:VCARD", results.get(0).getReasons().get(0));
+    }
+
+    @Test
+    public void testStreamingInput4() throws IOException, CardException {
+
+        Path path = Files.createTempFile("streaming", ".vcf");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Files.write(path, TEXT.getBytes(StandardCharsets.UTF_8));
+            try (VCardFileIndex index = VCardFileIndex.open(path)) {
+                for (int chunkSize : new int[]{1, 2, 5})
+                    checkResults("testStreamingInput4 - " + chunkSize, vCard2JSContact.convertEach(index, executor, chunkSize));
+                ConversionResult<Card> result = vCard2JSContact.convertAt(index, 2);
+                assertEquals("testStreamingInput4 - 1", 2, result.getIndex());
+                assertEquals("testStreamingInput4 - 2", offsetOf(VCARD2), result.getOffset());
+                assertEquals("testStreamingInput4 - 3", "日本の名前", result.getCard().getName().getFull());
+            }
+        } finally {
+            executor.shutdown();
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStreamingInput5() {
+
+        String unterminated = "BEGIN:VCARD\nVERSION:4.0\nFN:unterminated\n";
+        String text = unterminated + VCARD1 + VCARD2;
+        List<ConversionResult<Card>> results = vCard2JSContact.stream(new StringReader(text)).collect(Collectors.toList());
+        assertEquals("testStreamingInput5 - 1", 3, results.size());
+        assertFalse("testStreamingInput5 - 2", results.get(0).isSuccessful());
+        assertEquals("testStreamingInput5 - 3", "Missing END:VCARD", results.get(0).getReasons().get(0));
+        assertEquals("testStreamingInput5 - 4", 0, results.get(0).getOffset());
+        assertTrue("testStreamingInput5 - 5", results.get(1).isSuccessful());
+        assertEquals("testStreamingInput5 - 6", "Città di Pisà", results.get(1).getCard().getName().getFull());
+        assertEquals("testStreamingInput5 - 7", unterminated.length(), results.get(1).getOffset());
+        assertTrue("testStreamingInput5 - 8", results.get(2).isSuccessful());
+        assertEquals("testStreamingInput5 - 9", "日本の名前", results.get(2).getCard().getName().getFull());
+    }
+
+    @Test
+    public void testStreamingInput6() throws IOException {
+
+        Path path = Files.createTempFile("streaming", ".vcf");
+        try {
+            Files.write(path, ("\uFEFF" + VCARD1 + VCARD2).getBytes(StandardCharsets.UTF_8));
+            List<ConversionResult<Card>> results;
+            try (Stream<ConversionResult<Card>> stream = vCard2JSContact.stream(path)) {
+                results = stream.collect(Collectors.toList());
+            }
+            assertEquals("testStreamingInput6 - 1", 2, results.size());
+            assertTrue("testStreamingInput6 - 2", results.get(0).isSuccessful());
+            assertEquals("testStreamingInput6 - 3", "Città di Pisà", results.get(0).getCard().getName().getFull());
+            assertEquals("testStreamingInput6 - 4", 3, results.get(0).getOffset());
+            assertEquals("testStreamingInput6 - 5", 3 + VCARD1.getBytes(StandardCharsets.UTF_8).length, results.get(1).getOffset());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStreamingInput7() {
+
+        String agent = "BEGIN:VCARD\r\nVERSION:2.1\r\nFN:John Doe\r\nAGENT:\r\nBEGIN:VCARD\r\nVERSION:2.1\r\nFN:Jane Doe\r\nEND:VCARD\r\nEND:VCARD\r\n";
+        String folded = VCARD1.replace("END:VCARD", "END:VC\r\n ARD");
+        List<ConversionResult<Card>> results = vCard2JSContact.stream(new StringReader(agent + folded + VCARD2)).collect(Collectors.toList());
+        assertEquals("testStreamingInput7 - 1", 3, results.size());
+        assertEquals("testStreamingInput7 - 2", "Città di Pisà", results.get(1).getCard().getName().getFull());
+        assertEquals("testStreamingInput7 - 3", "日本の名前", results.get(2).getCard().getName().getFull());
+    }
+
+    @Test
+    public void testStreamingInput8() throws IOException {
+
+        String unterminated = "BEGIN:VCARD\nVERSION:4.0\nFN:unterminated\n";
+        Path path = Files.createTempFile("streaming", ".vcf");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Files.write(path, ("\uFEFF" + unterminated + VCARD1 + VCARD2).getBytes(StandardCharsets.UTF_8));
+            List<ConversionResult<Card>> streamed;
+            try (Stream<ConversionResult<Card>> stream = vCard2JSContact.stream(path)) {
+                streamed = stream.collect(Collectors.toList());
+            }
+            try (VCardFileIndex index = VCardFileIndex.open(path)) {
+                List<ConversionResult<Card>> results = vCard2JSContact.convertEach(index, executor, 2);
+                assertEquals("testStreamingInput8 - 1", 3, results.size());
+                assertEquals("testStreamingInput8 - 2", "Missing END:VCARD", results.get(0).getReasons().get(0));
+                assertEquals("testStreamingInput8 - 3", "Città di Pisà", results.get(1).getCard().getName().getFull());
+                assertEquals("testStreamingInput8 - 4", "日本の名前", results.get(2).getCard().getName().getFull());
+                for (int n = 0; n < results.size(); n++) {
+                    assertEquals("testStreamingInput8 - 5 - " + n, streamed.get(n).getOffset(), results.get(n).getOffset());
+                    assertEquals("testStreamingInput8 - 6 - " + n, streamed.get(n).isSuccessful(), results.get(n).isSuccessful());
+                }
+                assertEquals("testStreamingInput8 - 7", 3, vCard2JSContact.convertAt(index, 0).getOffset());
+            }
+        } finally {
+            executor.shutdown();
+            Files.delete(path);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.vcard2jscontact;
+
+import ezvcard.VCard;
+import ezvcard.property.Kind;
+import ezvcard.property.Member;
+import ezvcard.property.Telephone;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ValidationWarningsTest {
+
+    private static VCard vCard(boolean nonPrintable, boolean member) {
+
+        VCard vcard = new VCard();
+        vcard.setFormattedName("test");
+        if (nonPrintable) {
+            Telephone tel = new Telephone("tel:+1-555-555-5555");
+            tel.getParameters().put("LABEL", "a\u0001b");
+            vcard.addTelephoneNumber(tel);
+        }
+        if (member) {
+            vcard.setKind(Kind.individual());
+            vcard.addMember(new Member("urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af"));
+        }
+        return vcard;
+    }
+
+    @Test
+    public void testValidationWarnings1() throws CardException {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        Card jsCard = vCard2JSContact.convert(vCard(true, false)).get(0);
+        assertEquals("testValidationWarnings1 - 1", "test", jsCard.getName().getFull());
+    }
+
+    @Test
+    public void testValidationWarnings2() {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().ignoredWarningCodes(Collections.emptySet()).build()).build();
+        try {
+            vCard2JSContact.convert(vCard(true, false));
+            fail("testValidationWarnings2 - 1");
+        } catch (CardException e) {
+            assertEquals("testValidationWarnings2 - 2", 1, e.getReasons().size());
+            assertTrue("testValidationWarnings2 - 3", e.getReasons().get(0).startsWith("[Telephone] | W25: "));
+            assertEquals("testValidationWarnings2 - 4", e.getReasons().get(0), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testValidationWarnings3() {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        try {
+            vCard2JSContact.convert(vCard(true, true));
+            fail("testValidationWarnings3 - 1");
+        } catch (CardException e) {
+            assertEquals("testValidationWarnings3 - 2", 1, e.getReasons().size());
+            assertTrue("testValidationWarnings3 - 3", e.getReasons().get(0).startsWith("[Member] | W17: "));
+        }
+    }
+
+    @Test
+    public void testValidationWarnings4() throws CardException {
+
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().ignoredWarningPropertyTypes(Collections.singleton(Member.class)).build()).build();
+        assertEquals("testValidationWarnings4 - 1", 1, vCard2JSContact.convert(vCard(true, true)).size());
+
+        vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().ignoredWarningCodes(Collections.singleton(17)).build()).build();
+        try {
+            vCard2JSContact.convert(vCard(true, true));
+            fail("testValidationWarnings4 - 2");
+        } catch (CardException e) {
+            assertTrue("testValidationWarnings4 - 3", e.getReasons().get(0).startsWith("[Telephone] | W25: "));
+        }
+    }
+}
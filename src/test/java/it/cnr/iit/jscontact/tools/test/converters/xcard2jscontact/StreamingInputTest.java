@@ -0,0 +1,99 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.converters.xcard2jscontact;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.ConversionResult;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class StreamingInputTest extends XCard2JSContactTest {
+
+    private static final String VCARD1 = "<vcard><fn><text>Città di Pisà</text></fn><uid><uri>urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af</uri></uid></vcard>";
+
+    private static final String INVALID = "<vcard><uid><uri>urn:uuid:b8767877-b4a1-4c70-9acc-505d3819e519</uri></uid></vcard>";
+
+    private static final String VCARD2 = "<vcard><fn><text>日本の名前</text></fn><note><text><![CDATA[a <b> c]]></text></note><uid><uri>urn:uuid:ff7854c7-26e2-4adf-89b5-5bc8ac5d75ff</uri></uid></vcard>";
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<vcards xmlns=\"urn:ietf:params:xml:ns:vcard-4.0\">\n" +
+            VCARD1 + "\n" + INVALID + "\n" + VCARD2 + "\n</vcards>\n";
+
+    @Test
+    public void testStreamingInput1() throws IOException, CardException {
+
+        for (String name : new String[]{"xCard-RFC6351.xml", "xCard-Wikipedia.xml"}) {
+            String xml = IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("xcard/" + name)), StandardCharsets.UTF_8);
+            List<Card> expected = xCard2JSContact.convert(xml);
+            List<ConversionResult<Card>> results;
+            try (Stream<ConversionResult<Card>> stream = xCard2JSContact.stream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))) {
+                results = stream.collect(Collectors.toList());
+            }
+            assertEquals("testStreamingInput1 - " + name + " - 1", expected.size(), results.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue("testStreamingInput1 - " + name + " - 2", results.get(i).isSuccessful());
+                results.get(i).getCard().setUid(expected.get(i).getUid());
+                assertEquals("testStreamingInput1 - " + name + " - 3", Card.toJson(expected.get(i)), Card.toJson(results.get(i).getCard()));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingInput2() throws IOException {
+
+        List<ConversionResult<Card>> results = xCard2JSContact.stream(new StringReader(XML)).collect(Collectors.toList());
+        assertEquals("testStreamingInput2 - 1", 3, results.size());
+        assertTrue("testStreamingInput2 - 2", results.get(0).isSuccessful());
+        assertEquals("testStreamingInput2 - 3", "Città di Pisà", results.get(0).getCard().getName().getFull());
+        assertFalse("testStreamingInput2 - 4", results.get(1).isSuccessful());
+        assertEquals("testStreamingInput2 - 5", 1, results.get(1).getIndex());
+        assertFalse("testStreamingInput2 - 6", results.get(1).getReasons().isEmpty());
+        assertTrue("testStreamingInput2 - 7", results.get(2).isSuccessful());
+        assertEquals("testStreamingInput2 - 8", 2, results.get(2).getIndex());
+        assertEquals("testStreamingInput2 - 9", "日本の名前", results.get(2).getCard().getName().getFull());
+        assertEquals("testStreamingInput2 - 10", "a <b> c", results.get(2).getCard().getNotes().values().iterator().next().getNote());
+        assertEquals("testStreamingInput2 - 11", -1, results.get(2).getOffset());
+    }
+
+    @Test
+    public void testStreamingInput3() throws IOException {
+
+        assertFalse("testStreamingInput3 - 1", xCard2JSContact.iterator(new StringReader("<vcards xmlns=\"urn:ietf:params:xml:ns:vcard-4.0\"/>")).hasNext());
+        assertFalse("testStreamingInput3 - 2", xCard2JSContact.iterator(new StringReader("<vcard><fn><text>test</text></fn></vcard>")).hasNext());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testStreamingInput4() throws IOException {
+
+        Iterator<ConversionResult<Card>> iterator = xCard2JSContact.iterator(new StringReader("<vcards xmlns=\"urn:ietf:params:xml:ns:vcard-4.0\">" + VCARD1 + "<vcard><fn>"));
+        assertTrue("testStreamingInput4 - 1", iterator.next().isSuccessful());
+        iterator.next();
+    }
+
+}
@@ -0,0 +1,347 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.corpus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ezvcard.VCardDataType;
+import it.cnr.iit.jscontact.tools.dto.*;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Deterministic generator of synthetic Card objects and of the equivalent vCard [RFC6350] instances.
+ * Cards of growing size can be produced by tuning the number of addresses, name components, localizations per language,
+ * vCardProps, nested extensions, members and the size of the binary photo.
+ * The same seed and index always produce the same Card object and the same vCard.
+ *
+ * @author Mario Loffredo
+ */
+@Getter
+@Builder
+public class SyntheticCorpusGenerator {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final String[] LANGUAGES = {"it", "fr", "de", "es", "pt", "nl", "sv", "pl", "el", "ja", "zh", "ko"};
+
+    private static final String[] LOCALITIES = {"Pisa", "Rome", "Milan", "Reston", "Paris", "Berlin", "Madrid", "Lisbon", "Vienna", "Oslo"};
+
+    private static final String[] REGIONS = {"PI", "RM", "MI", "VA", "IDF", "BE", "MD", "LX", "W", "OS"};
+
+    private static final String[] COUNTRIES = {"Italy", "France", "Germany", "USA", "Spain", "Portugal", "Austria", "Norway"};
+
+    private static final String[] COUNTRY_CODES = {"IT", "FR", "DE", "US", "ES", "PT", "AT", "NO"};
+
+    private static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliet", "kilo", "lima"};
+
+    @Builder.Default
+    private final long seed = 0;
+
+    @Builder.Default
+    private final int addresses = 1;
+
+    @Builder.Default
+    private final int nameComponents = 2;
+
+    @Builder.Default
+    private final int localizationLanguages = 0;
+
+    @Builder.Default
+    private final int localizationsPerLanguage = 0;
+
+    @Builder.Default
+    private final int vCardProps = 0;
+
+    @Builder.Default
+    private final int extensions = 0;
+
+    @Builder.Default
+    private final int extensionDepth = 1;
+
+    @Builder.Default
+    private final int members = 0;
+
+    @Builder.Default
+    private final int photoSize = 0;
+
+    /**
+     * The data shared by the Card object and the vCard generated for a given index.
+     */
+    private class Model {
+
+        final String uid;
+        final String surname;
+        final String given;
+        final List<String> given2 = new ArrayList<>();
+        final List<String[]> addressItems = new ArrayList<>(); // street, locality, region, postcode, country, country code
+        final Map<String, List<String[]>> localizedAddressItems = new LinkedHashMap<>();
+        final List<String> vCardPropValues = new ArrayList<>();
+        final List<String> extensionValues = new ArrayList<>();
+        final List<String> memberUids = new ArrayList<>();
+        final byte[] photo;
+
+        Model(int index) {
+
+            Random random = new Random(seed * 31 + index);
+            uid = randomUuid(random);
+            surname = pick(random, WORDS) + index;
+            given = pick(random, WORDS);
+            for (int i = 2; i < nameComponents; i++)
+                given2.add(pick(random, WORDS) + i);
+            for (int i = 0; i < addresses; i++)
+                addressItems.add(randomAddressItems(random, i));
+            for (int l = 0; l < localizationLanguages; l++) {
+                List<String[]> localized = new ArrayList<>();
+                for (int i = 0; i < Math.min(localizationsPerLanguage, addresses); i++)
+                    localized.add(randomAddressItems(random, i));
+                localizedAddressItems.put(languageTag(l), localized);
+            }
+            for (int i = 0; i < vCardProps; i++)
+                vCardPropValues.add(pick(random, WORDS) + "-" + random.nextInt(1000));
+            for (int i = 0; i < extensions; i++)
+                extensionValues.add(pick(random, WORDS) + random.nextInt(1000));
+            for (int i = 0; i < members; i++)
+                memberUids.add(randomUuid(random));
+            photo = new byte[photoSize];
+            random.nextBytes(photo);
+        }
+
+        String fullName() {
+
+            StringBuilder sb = new StringBuilder(given);
+            for (String g2 : given2)
+                sb.append(' ').append(g2);
+            return sb.append(' ').append(surname).toString();
+        }
+
+        boolean isGroup() {
+            return !memberUids.isEmpty();
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String randomUuid(Random random) {
+
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return "urn:uuid:" + new UUID(msb, lsb);
+    }
+
+    private static String[] randomAddressItems(Random random, int i) {
+
+        int country = random.nextInt(COUNTRIES.length);
+        return new String[] {
+                (random.nextInt(200) + 1) + " " + pick(random, WORDS) + " St",
+                pick(random, LOCALITIES),
+                pick(random, REGIONS),
+                String.format("%05d", random.nextInt(100000)),
+                COUNTRIES[country],
+                COUNTRY_CODES[country]
+        };
+    }
+
+    private static String languageTag(int l) {
+
+        String language = LANGUAGES[l % LANGUAGES.length];
+        return (l < LANGUAGES.length) ? language : String.format("%s-%03d", language, l / LANGUAGES.length);
+    }
+
+    private static String nestedExtensionJson(String value, int depth) {
+
+        String json = "\"" + value + "\"";
+        for (int d = depth - 1; d > 0; d--)
+            json = "{\"level" + d + "\":" + json + "}";
+        return json;
+    }
+
+    private static Object nestedExtensionValue(String value, int depth) {
+
+        Object object = value;
+        for (int d = depth - 1; d > 0; d--)
+            object = Collections.singletonMap("level" + d, object);
+        return object;
+    }
+
+    private static String extensionName(int i) {
+        return "example.com:ext" + (i + 1);
+    }
+
+    private static String vCardPropName(int i) {
+        return "x-synthetic-" + (i + 1);
+    }
+
+    private static Address toAddress(String[] items) {
+
+        return Address.builder()
+                .components(new AddressComponent[] {
+                        AddressComponent.name(items[0]),
+                        AddressComponent.locality(items[1]),
+                        AddressComponent.region(items[2]),
+                        AddressComponent.postcode(items[3]),
+                        AddressComponent.country(items[4])
+                })
+                .countryCode(items[5])
+                .build();
+    }
+
+    private static String toVCardAdrValue(String[] items) {
+        return String.format(";;%s;%s;%s;%s;%s", items[0], items[1], items[2], items[3], items[4]);
+    }
+
+    private static String toBase64(byte[] data) {
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    /**
+     * Generates a Card object.
+     *
+     * @param index the position of the Card object in the corpus
+     * @return the Card object
+     */
+    public Card generateCard(int index) {
+
+        Model model = new Model(index);
+        Card jsCard = Card.builder().uid(model.uid).build();
+        jsCard.setLanguage(localizationLanguages > 0 ? "en" : null);
+        if (model.isGroup()) {
+            jsCard.setKind(KindType.group());
+            for (String memberUid : model.memberUids)
+                jsCard.addMember(memberUid);
+        }
+
+        List<NameComponent> components = new ArrayList<>();
+        components.add(NameComponent.surname(model.surname));
+        if (nameComponents > 1)
+            components.add(NameComponent.given(model.given));
+        for (String g2 : model.given2)
+            components.add(NameComponent.given2(g2));
+        jsCard.setName(Name.builder().full(model.fullName()).components(components.toArray(new NameComponent[0])).build());
+
+        for (int i = 0; i < model.addressItems.size(); i++)
+            jsCard.addAddress("ADR-" + (i + 1), toAddress(model.addressItems.get(i)));
+        for (Map.Entry<String, List<String[]>> entry : model.localizedAddressItems.entrySet()) {
+            for (int i = 0; i < entry.getValue().size(); i++)
+                jsCard.addLocalization(entry.getKey(), "addresses/ADR-" + (i + 1), mapper.valueToTree(toAddress(entry.getValue().get(i))));
+        }
+
+        for (int i = 0; i < model.vCardPropValues.size(); i++)
+            jsCard.addVCardProp(VCardProp.builder()
+                                         .name(V_Extension.toV_Extension(vCardPropName(i)))
+                                         .type(VCardDataType.TEXT)
+                                         .value(model.vCardPropValues.get(i))
+                                         .build());
+
+        for (int i = 0; i < model.extensionValues.size(); i++)
+            jsCard.addExtension(extensionName(i), nestedExtensionValue(model.extensionValues.get(i), extensionDepth));
+
+        if (photoSize > 0)
+            jsCard.addMediaResource("PHOTO-1", Media.builder()
+                                                    .kind(MediaKind.photo())
+                                                    .uri("data:image/jpeg;base64," + toBase64(model.photo))
+                                                    .build());
+
+        return jsCard;
+    }
+
+    /**
+     * Generates a vCard equivalent to the Card object returned by {@link #generateCard(int)} for the same index.
+     *
+     * @param index the position of the vCard in the corpus
+     * @return the vCard as a text
+     */
+    public String generateVCard(int index) {
+
+        Model model = new Model(index);
+        StringBuilder sb = new StringBuilder();
+        sb.append("BEGIN:VCARD\r\n");
+        sb.append("VERSION:4.0\r\n");
+        sb.append("UID:").append(model.uid).append("\r\n");
+        if (localizationLanguages > 0)
+            sb.append("LANGUAGE:en\r\n");
+        if (model.isGroup()) {
+            sb.append("KIND:group\r\n");
+            for (String memberUid : model.memberUids)
+                sb.append("MEMBER:").append(memberUid).append("\r\n");
+        }
+        sb.append("FN:").append(model.fullName()).append("\r\n");
+        sb.append("N:").append(model.surname).append(';')
+                        .append(nameComponents > 1 ? model.given : "").append(';')
+                        .append(String.join(",", model.given2)).append(";;\r\n");
+
+        for (int i = 0; i < model.addressItems.size(); i++) {
+            String[] items = model.addressItems.get(i);
+            boolean localized = localizationLanguages > 0 && i < localizationsPerLanguage;
+            sb.append("ADR;CC=").append(items[5]);
+            if (localized)
+                sb.append(";ALTID=").append(i + 1).append(";LANGUAGE=en");
+            sb.append(':').append(toVCardAdrValue(items)).append("\r\n");
+            if (localized) {
+                for (Map.Entry<String, List<String[]>> entry : model.localizedAddressItems.entrySet()) {
+                    String[] localizedItems = entry.getValue().get(i);
+                    sb.append("ADR;CC=").append(localizedItems[5]).append(";ALTID=").append(i + 1).append(";LANGUAGE=").append(entry.getKey())
+                      .append(':').append(toVCardAdrValue(localizedItems)).append("\r\n");
+                }
+            }
+        }
+
+        for (int i = 0; i < model.vCardPropValues.size(); i++)
+            sb.append(vCardPropName(i).toUpperCase()).append(':').append(model.vCardPropValues.get(i)).append("\r\n");
+
+        for (int i = 0; i < model.extensionValues.size(); i++)
+            sb.append("JSPROP;JSPTR=\"").append(extensionName(i)).append("\";VALUE=TEXT:")
+              .append(nestedExtensionJson(model.extensionValues.get(i), extensionDepth)).append("\r\n");
+
+        if (photoSize > 0)
+            sb.append("PHOTO:data:image/jpeg;base64,").append(toBase64(model.photo)).append("\r\n");
+
+        sb.append("END:VCARD\r\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates a list of Card objects.
+     *
+     * @param count the number of Card objects
+     * @return the list of Card objects
+     */
+    public List<Card> generateCards(int count) {
+
+        List<Card> jsCards = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            jsCards.add(generateCard(i));
+        return jsCards;
+    }
+
+    /**
+     * Generates a text including multiple vCard instances.
+     *
+     * @param count the number of vCard instances
+     * @return the vCard instances as a text
+     */
+    public String generateVCards(int count) {
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++)
+            sb.append(generateVCard(i));
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.corpus;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SyntheticCorpusTest {
+
+    private final VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+    private static SyntheticCorpusGenerator.SyntheticCorpusGeneratorBuilder largeCorpus() {
+
+        return SyntheticCorpusGenerator.builder()
+                                       .addresses(5)
+                                       .nameComponents(4)
+                                       .localizationLanguages(3)
+                                       .localizationsPerLanguage(2)
+                                       .vCardProps(4)
+                                       .extensions(3)
+                                       .extensionDepth(3)
+                                       .members(6)
+                                       .photoSize(2048);
+    }
+
+    @Test
+    public void testDeterminism() {
+
+        SyntheticCorpusGenerator generator = largeCorpus().seed(42).build();
+        assertEquals("testDeterminism - 1", generator.generateVCards(3), largeCorpus().seed(42).build().generateVCards(3));
+        assertEquals("testDeterminism - 2", generator.generateCard(1).getUid(), largeCorpus().seed(42).build().generateCard(1).getUid());
+        assertNotEquals("testDeterminism - 3", generator.generateVCard(1), largeCorpus().seed(43).build().generateVCard(1));
+        assertNotEquals("testDeterminism - 4", generator.generateVCard(1), generator.generateVCard(2));
+    }
+
+    @Test
+    public void testGeneratedCardIsValid() {
+
+        for (Card jsCard : largeCorpus().build().generateCards(3))
+            assertTrue("testGeneratedCardIsValid - 1", jsCard.isValid());
+        assertTrue("testGeneratedCardIsValid - 2", SyntheticCorpusGenerator.builder().build().generateCard(0).isValid());
+    }
+
+    @Test
+    public void testGeneratedVCardIsEquivalent() throws CardException {
+
+        SyntheticCorpusGenerator generator = largeCorpus().build();
+        List<Card> jsCards = vCard2JSContact.convert(generator.generateVCards(2));
+        assertEquals("testGeneratedVCardIsEquivalent - 1", 2, jsCards.size());
+        for (int i = 0; i < jsCards.size(); i++) {
+            Card expected = generator.generateCard(i);
+            Card actual = jsCards.get(i);
+            assertEquals("testGeneratedVCardIsEquivalent - 2", expected.getUid(), actual.getUid());
+            assertEquals("testGeneratedVCardIsEquivalent - 3", expected.getName().getFull(), actual.getName().getFull());
+            assertEquals("testGeneratedVCardIsEquivalent - 4", expected.getName().getComponents().length, actual.getName().getComponents().length);
+            assertEquals("testGeneratedVCardIsEquivalent - 5", expected.getAddresses().size(), actual.getAddresses().size());
+            assertEquals("testGeneratedVCardIsEquivalent - 6", expected.getLocalizations().size(), actual.getLocalizations().size());
+            assertEquals("testGeneratedVCardIsEquivalent - 7", expected.getLocalizationsPerLanguage("it").size(), actual.getLocalizationsPerLanguage("it").size());
+            assertEquals("testGeneratedVCardIsEquivalent - 8", expected.getVCardProps().length + 1, actual.getVCardProps().length); // VERSION is added
+            assertEquals("testGeneratedVCardIsEquivalent - 9", expected.getExtensions(), actual.getExtensions());
+            assertEquals("testGeneratedVCardIsEquivalent - 10", expected.getMembers().keySet(), actual.getMembers().keySet());
+            assertEquals("testGeneratedVCardIsEquivalent - 11", expected.getMedia().get("PHOTO-1").getUri(), actual.getMedia().get("PHOTO-1").getUri());
+        }
+    }
+
+}
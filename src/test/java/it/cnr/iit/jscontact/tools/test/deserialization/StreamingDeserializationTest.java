@@ -0,0 +1,110 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.deserialization;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class StreamingDeserializationTest {
+
+    private String load(String name) throws IOException {
+        return IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/" + name)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testStreamingDeserialization1() throws IOException {
+
+        String json = load("jsCardGroup.json");
+        Card[] expected = Card.toJSCards(json);
+        List<Card> jsCards;
+        try (Stream<Card> stream = Card.stream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            jsCards = stream.collect(Collectors.toList());
+        }
+        assertTrue("testStreamingDeserialization1 - 1", expected.length > 1);
+        assertArrayEquals("testStreamingDeserialization1 - 2", expected, jsCards.toArray(new Card[0]));
+    }
+
+    @Test
+    public void testStreamingDeserialization2() throws IOException {
+
+        String json = load("jsCard-RFC7483.json");
+        List<Card> jsCards = Card.stream(new StringReader(json)).collect(Collectors.toList());
+        assertEquals("testStreamingDeserialization2 - 1", 1, jsCards.size());
+        assertEquals("testStreamingDeserialization2 - 2", Card.toJSCard(json), jsCards.get(0));
+        assertEquals("testStreamingDeserialization2 - 3", 1, Card.toJSCards(json).length);
+        assertEquals("testStreamingDeserialization2 - 4", 0, Card.stream(new StringReader("[]")).count());
+        assertEquals("testStreamingDeserialization2 - 5", 0, Card.toJSCards("[]").length);
+    }
+
+    @Test
+    public void testStreamingDeserialization3() throws IOException {
+
+        String json = load("jsCard-RFC7483.json");
+        Iterator<Card> iterator = Card.stream(new StringReader("[" + json + ", {\"@type\":\"Card\", \"name\": ")).iterator();
+        assertEquals("testStreamingDeserialization3 - 1", Card.toJSCard(json), iterator.next());
+        try {
+            iterator.next();
+            fail("testStreamingDeserialization3 - 2");
+        } catch (UncheckedIOException e) {
+            assertTrue("testStreamingDeserialization3 - 3", e.getCause() instanceof JsonProcessingException);
+        }
+    }
+
+    @Test(expected = JsonProcessingException.class)
+    public void testStreamingDeserialization4() throws IOException {
+
+        Card.toJSCards("[{\"@type\":\"Card\"}, ");
+    }
+
+    @Test(expected = IOException.class)
+    public void testStreamingDeserialization5() throws IOException {
+
+        Card.stream(new StringReader("\"Card\""));
+    }
+
+    @Test
+    public void testStreamingDeserialization6() throws IOException {
+
+        String json = load("jsCard-RFC7483.json");
+        for (String element : new String[]{"null", "1", "[]"}) {
+            Iterator<Card> iterator = Card.stream(new StringReader("[" + json + ", " + element + ", " + json + "]")).iterator();
+            assertEquals("testStreamingDeserialization6 - 1 - " + element, Card.toJSCard(json), iterator.next());
+            try {
+                iterator.hasNext();
+                fail("testStreamingDeserialization6 - 2 - " + element);
+            } catch (UncheckedIOException e) {
+                assertTrue("testStreamingDeserialization6 - 3 - " + element, e.getCause() instanceof JsonParseException);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
+import it.cnr.iit.jscontact.tools.metrics.MetricsRegistry;
+import it.cnr.iit.jscontact.tools.rdap.JSContactForRdapBuilder;
+import it.cnr.iit.jscontact.tools.rdap.MissingFieldException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2jcard.JSContact2JCard;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardCodec;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardParser;
+import it.cnr.iit.jscontact.tools.vcard.extensions.utils.VCardWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MetricsTest {
+
+    private static class RecordingRegistry implements MetricsRegistry {
+
+        final Map<String, Long> counters = new HashMap<>();
+        final Map<String, List<Long>> values = new HashMap<>();
+
+        private static String key(String name, String... tags) {
+            return name + Arrays.toString(tags);
+        }
+
+        @Override
+        public synchronized void incrementCounter(String name, long amount, String... tags) {
+            counters.merge(key(name, tags), amount, Long::sum);
+        }
+
+        @Override
+        public synchronized void recordTime(String name, long nanos, String... tags) {
+            values.computeIfAbsent(key(name, tags), k -> new ArrayList<>()).add(nanos);
+        }
+
+        @Override
+        public synchronized void recordValue(String name, long value, String... tags) {
+            values.computeIfAbsent(key(name, tags), k -> new ArrayList<>()).add(value);
+        }
+    }
+
+    private RecordingRegistry registry;
+
+    private final VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+
+    private final JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+
+    @Before
+    public void setRegistry() {
+        registry = new RecordingRegistry();
+        Metrics.setRegistry(registry);
+    }
+
+    @After
+    public void resetRegistry() {
+        Metrics.setRegistry(null);
+    }
+
+    @Test
+    public void testMetrics1() throws CardException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:Café\n" +
+                "END:VCARD";
+
+        vCard2JSContact.convert(vcard);
+        assertEquals("testMetrics1 - 1", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.CONVERSIONS, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT)));
+        assertEquals("testMetrics1 - 2", 1, registry.values.get(RecordingRegistry.key(Metrics.CONVERSION_TIME, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT)).size());
+        assertEquals("testMetrics1 - 3", Long.valueOf(vcard.length() + 1), registry.values.get(RecordingRegistry.key(Metrics.PARSED_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_VCARD)).get(0));
+    }
+
+    @Test
+    public void testMetrics2() {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "KIND:individual\n" +
+                "FN:The Doe family\n" +
+                "MEMBER:urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af\n" +
+                "END:VCARD";
+
+        try {
+            vCard2JSContact.convert(vcard);
+            fail("testMetrics2 - 1");
+        } catch (CardException e) {
+            assertEquals("testMetrics2 - 2", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.CONVERSION_FAILURES, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT, Metrics.TAG_REASON, e.getReasons().get(0))));
+            assertNull("testMetrics2 - 3", registry.counters.get(RecordingRegistry.key(Metrics.CONVERSIONS, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT)));
+        }
+
+        vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test\n" +
+                "HOBBY;LEVEL=very high:reading\n" +
+                "END:VCARD";
+
+        try {
+            vCard2JSContact.convert(vcard);
+            fail("testMetrics2 - 4");
+        } catch (CardException e) {
+            assertEquals("testMetrics2 - 5", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.CONVERSION_FAILURES, Metrics.TAG_DIRECTION, Metrics.DIRECTION_VCARD2JSCONTACT, Metrics.TAG_REASON, "Unknown LEVEL value very high")));
+        }
+    }
+
+    @Test
+    public void testMetrics3() throws CardException {
+
+        Card jsCard = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").build();
+        String vcard = jsContact2VCard.convertToText(jsCard);
+        assertEquals("testMetrics3 - 1", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.CONVERSIONS, Metrics.TAG_DIRECTION, Metrics.DIRECTION_JSCONTACT2VCARD)));
+        assertEquals("testMetrics3 - 2", 1, registry.values.get(RecordingRegistry.key(Metrics.VALIDATION_TIME, Metrics.TAG_RESULT, Metrics.RESULT_SUCCESS)).size());
+        assertEquals("testMetrics3 - 3", Long.valueOf(vcard.length()), registry.values.get(RecordingRegistry.key(Metrics.WRITTEN_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_VCARD)).get(0));
+    }
+
+    @Test
+    public void testMetrics4() {
+
+        Card jsCard = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").language("invalid language").build();
+        try {
+            jsContact2VCard.convertToText(jsCard);
+            fail("testMetrics4 - 1");
+        } catch (CardException e) {
+            assertEquals("testMetrics4 - 2", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.CONVERSION_FAILURES, Metrics.TAG_DIRECTION, Metrics.DIRECTION_JSCONTACT2VCARD, Metrics.TAG_REASON, e.getReasons().get(0))));
+            assertEquals("testMetrics4 - 3", 1, registry.values.get(RecordingRegistry.key(Metrics.VALIDATION_TIME, Metrics.TAG_RESULT, Metrics.RESULT_FAILURE)).size());
+        }
+    }
+
+    @Test
+    public void testMetrics5() throws CardException, MissingFieldException {
+
+        try {
+            JSContactForRdapBuilder.builder().build();
+            fail("testMetrics5 - 1");
+        } catch (MissingFieldException e) {
+            assertEquals("testMetrics5 - 2", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.RDAP_BUILDS, Metrics.TAG_RESULT, Metrics.RESULT_FAILURE, Metrics.TAG_REASON, Metrics.REASON_MISSING_FIELD)));
+        }
+        JSContactForRdapBuilder.builder().email("jqpublic@xyz.example.com").build();
+        assertEquals("testMetrics5 - 3", Long.valueOf(1), registry.counters.get(RecordingRegistry.key(Metrics.RDAP_BUILDS, Metrics.TAG_RESULT, Metrics.RESULT_SUCCESS)));
+    }
+
+    @Test
+    public void testMetrics6() throws IOException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:€\n" +
+                "END:VCARD";
+
+        VCardParser.parse(new StringReader(vcard));
+        assertEquals("testMetrics6 - 1", Long.valueOf(vcard.length() + 2), registry.values.get(RecordingRegistry.key(Metrics.PARSED_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_VCARD)).get(0));
+        Metrics.setRegistry(null);
+        VCardParser.parse(new StringReader(vcard));
+        assertEquals("testMetrics6 - 2", 1, registry.values.get(RecordingRegistry.key(Metrics.PARSED_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_VCARD)).size());
+    }
+
+    @Test
+    public void testMetrics7() throws IOException, CardException {
+
+        Card jsCard = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").build();
+        VCard vCard = jsContact2VCard.convert(jsCard).get(0);
+        List<Long> writtenBytes = registry.values.computeIfAbsent(RecordingRegistry.key(Metrics.WRITTEN_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_VCARD), k -> new ArrayList<>());
+
+        StringWriter writer = new StringWriter();
+        VCardWriter.write(writer, vCard);
+        assertEquals("testMetrics7 - 1", Long.valueOf(writer.toString().length()), writtenBytes.get(writtenBytes.size() - 1));
+        String vcard = VCardCodec.builder().targetVersion(VCardVersion.V3_0).build().write(vCard);
+        assertEquals("testMetrics7 - 2", Long.valueOf(vcard.length()), writtenBytes.get(writtenBytes.size() - 1));
+        writer = new StringWriter();
+        jsContact2VCard.convertToText(writer, jsCard);
+        assertEquals("testMetrics7 - 3", Long.valueOf(writer.toString().length()), writtenBytes.get(writtenBytes.size() - 1));
+    }
+
+    @Test
+    public void testMetrics8() throws IOException, CardException {
+
+        Card jsCard = Card.builder().uid("8626d863-8c3f-405c-a2cb-bbbb3e3b359f").build();
+        JSContact2JCard jsContact2JCard = JSContact2JCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        String key = RecordingRegistry.key(Metrics.WRITTEN_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_JCARD);
+
+        String jcard = jsContact2JCard.convertToJson(jsCard);
+        StringWriter writer = new StringWriter();
+        jsContact2JCard.convertToJson(writer, jsCard);
+        assertEquals("testMetrics8 - 1", jcard, writer.toString());
+        JsonNode node = jsContact2JCard.convertToJsonNode(jsCard);
+        assertEquals("testMetrics8 - 2", Arrays.asList((long) jcard.length(), (long) jcard.length(), (long) node.toString().length()), registry.values.get(key));
+
+        VCardParser.parseJson(node);
+        assertEquals("testMetrics8 - 3", Long.valueOf(node.toString().length()), registry.values.get(RecordingRegistry.key(Metrics.PARSED_BYTES, Metrics.TAG_FORMAT, Metrics.FORMAT_JCARD)).get(0));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.profile;
+
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.PersonalInfoEnum;
+import it.cnr.iit.jscontact.tools.dto.ResourceType;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.IndexedJSContactIdsProfile;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContactIdsProfile;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class IndexedProfileTest {
+
+    @Test
+    public void testIndexedProfile1() {
+
+        JSContactIdsProfile profile = JSContactIdsProfile.builder()
+                .id(JSContactIdsProfile.JSContactId.emailsId("work"))
+                .id(JSContactIdsProfile.JSContactId.phonesId("voice"))
+                .id(JSContactIdsProfile.JSContactId.emailsId("private"))
+                .id(JSContactIdsProfile.JSContactId.resourcesId(JSContactIdsProfile.ResourceId.keysId("key")))
+                .id(JSContactIdsProfile.JSContactId.resourcesId(JSContactIdsProfile.ResourceId.entriesId("entry")))
+                .id(JSContactIdsProfile.JSContactId.personalInfosId(JSContactIdsProfile.PersonalInfoId.hobbiesId("hobby")))
+                .id(JSContactIdsProfile.JSContactId.personalInfosId(JSContactIdsProfile.PersonalInfoId.otherPersonalInfosId("other")))
+                .build();
+
+        IndexedJSContactIdsProfile indexedProfile = IndexedJSContactIdsProfile.of(profile);
+        assertFalse("testIndexedProfile1 - 1", indexedProfile.isEmpty());
+        assertEquals("testIndexedProfile1 - 2", Arrays.asList("work", "private"), indexedProfile.getIds(JSContactIdsProfile.IdType.EMAIL));
+        assertEquals("testIndexedProfile1 - 3", Collections.singletonList("voice"), indexedProfile.getIds(JSContactIdsProfile.IdType.PHONE));
+        assertTrue("testIndexedProfile1 - 4", indexedProfile.getIds(JSContactIdsProfile.IdType.ADDRESS).isEmpty());
+        assertEquals("testIndexedProfile1 - 5", Collections.singletonList("key"), indexedProfile.getIds(ResourceType.KEY));
+        assertEquals("testIndexedProfile1 - 6", Collections.singletonList("entry"), indexedProfile.getIds(ResourceType.ENTRY));
+        assertTrue("testIndexedProfile1 - 7", indexedProfile.getIds(ResourceType.LINK).isEmpty());
+        assertEquals("testIndexedProfile1 - 8", Collections.singletonList("hobby"), indexedProfile.getIds(PersonalInfoEnum.HOBBY));
+        assertEquals("testIndexedProfile1 - 9", Collections.singletonList("other"), indexedProfile.getIds((PersonalInfoEnum) null));
+        assertTrue("testIndexedProfile1 - 10", indexedProfile.getIds(PersonalInfoEnum.EXPERTISE).isEmpty());
+        assertSame("testIndexedProfile1 - 11", indexedProfile.getIds(JSContactIdsProfile.IdType.EMAIL), indexedProfile.getIds(JSContactIdsProfile.IdType.EMAIL));
+        assertTrue("testIndexedProfile1 - 12", indexedProfile.isIndexOf(profile));
+        assertTrue("testIndexedProfile1 - 13", IndexedJSContactIdsProfile.of(JSContactIdsProfile.builder().build()).isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIndexedProfileImmutable() {
+
+        JSContactIdsProfile profile = JSContactIdsProfile.builder().id(JSContactIdsProfile.JSContactId.emailsId("work")).build();
+        IndexedJSContactIdsProfile.of(profile).getIds(JSContactIdsProfile.IdType.EMAIL).add("private");
+    }
+
+    @Test
+    public void testIndexedProfile2() throws CardException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test\n" +
+                "EMAIL:jqpublic@xyz.example.com\n" +
+                "EMAIL:jane_doe@example.com\n" +
+                "END:VCARD";
+
+        VCard2JSContactConfig config = VCard2JSContactConfig.builder()
+                .idsProfileToUse(JSContactIdsProfile.builder()
+                        .id(JSContactIdsProfile.JSContactId.emailsId("work"))
+                        .id(JSContactIdsProfile.JSContactId.emailsId("private"))
+                        .build())
+                .build();
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(config).build();
+        Card jsCard = vCard2JSContact.convert(vcard).get(0);
+        assertEquals("testIndexedProfile2 - 1", "jqpublic@xyz.example.com", jsCard.getEmails().get("work").getAddress());
+        assertEquals("testIndexedProfile2 - 2", "jane_doe@example.com", jsCard.getEmails().get("private").getAddress());
+
+        config.setIdsProfileToUse(JSContactIdsProfile.builder().id(JSContactIdsProfile.JSContactId.emailsId("main")).id(JSContactIdsProfile.JSContactId.emailsId("other")).build());
+        jsCard = vCard2JSContact.convert(vcard).get(0);
+        assertEquals("testIndexedProfile2 - 3", "jqpublic@xyz.example.com", jsCard.getEmails().get("main").getAddress());
+    }
+
+    @Test
+    public void testIndexedProfile3() throws CardException {
+
+        String vcard = "BEGIN:VCARD\n" +
+                "VERSION:4.0\n" +
+                "FN:test\n" +
+                "SOURCE:http://directory.example.com/addressbooks/jdoe/Jean%20Dupont.vcf\n" +
+                "ORG-DIRECTORY;INDEX=1:http://directory.example.com/addressbooks/jdoe\n" +
+                "END:VCARD";
+
+        VCard2JSContactConfig config = VCard2JSContactConfig.builder()
+                .idsProfileToUse(JSContactIdsProfile.builder()
+                        .id(JSContactIdsProfile.JSContactId.resourcesId(JSContactIdsProfile.ResourceId.entriesId("src")))
+                        .id(JSContactIdsProfile.JSContactId.resourcesId(JSContactIdsProfile.ResourceId.directoriesId("dir")))
+                        .build())
+                .build();
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(config).build();
+        Card jsCard = vCard2JSContact.convert(vcard).get(0);
+        assertEquals("testIndexedProfile3 - 1", "http://directory.example.com/addressbooks/jdoe/Jean%20Dupont.vcf", jsCard.getDirectories().get("src").getUri());
+        assertEquals("testIndexedProfile3 - 2", "http://directory.example.com/addressbooks/jdoe", jsCard.getDirectories().get("dir").getUri());
+
+        config.setIdsProfileToUse(JSContactIdsProfile.builder().id(JSContactIdsProfile.JSContactId.emailsId("main")).build());
+        jsCard = vCard2JSContact.convert(vcard).get(0);
+        assertNotNull("testIndexedProfile3 - 3", jsCard.getDirectories().get("ENTRY-1"));
+        assertNotNull("testIndexedProfile3 - 4", jsCard.getDirectories().get("DIRECTORY-1"));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.utils.CardNdjson;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class NdjsonTest {
+
+    private Card[] load() throws IOException {
+        return Card.toJSCards(IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/jsCardGroup.json")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNdjson1() throws IOException {
+
+        Card[] jsCards = load();
+        String ndjson = Card.toNdjson(jsCards);
+        String[] lines = ndjson.split("\n");
+        assertEquals("testNdjson1 - 1", jsCards.length, lines.length);
+        assertTrue("testNdjson1 - 2", ndjson.endsWith("\n"));
+        for (int i = 0; i < jsCards.length; i++)
+            assertEquals("testNdjson1 - 3", Card.toJson(jsCards[i]), lines[i]);
+        assertArrayEquals("testNdjson1 - 4", jsCards, Card.fromNdjson(ndjson));
+        assertEquals("testNdjson1 - 7", ndjson, CardNdjson.toNdjson(jsCards));
+        assertArrayEquals("testNdjson1 - 8", jsCards, CardNdjson.fromNdjson(ndjson));
+
+        StringWriter writer = new StringWriter();
+        CardNdjson.toNdjson(writer, Arrays.copyOfRange(jsCards, 0, 1));
+        CardNdjson.toNdjson(writer, Arrays.copyOfRange(jsCards, 1, jsCards.length));
+        assertEquals("testNdjson1 - 5", ndjson, writer.toString());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CardNdjson.toNdjson(out, jsCards);
+        assertEquals("testNdjson1 - 6", ndjson, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNdjson2() throws IOException {
+
+        Card[] jsCards = load();
+        String ndjson = Card.toNdjson(jsCards).replace("\n", "\r\n\n");
+        try (Stream<Card> stream = CardNdjson.streamNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))) {
+            assertArrayEquals("testNdjson2 - 1", jsCards, stream.toArray(Card[]::new));
+        }
+        List<Card> streamed = CardNdjson.streamNdjson(new StringReader(ndjson)).collect(Collectors.toList());
+        assertArrayEquals("testNdjson2 - 2", jsCards, streamed.toArray(new Card[0]));
+        assertEquals("testNdjson2 - 3", 0, Card.fromNdjson("\n\n").length);
+    }
+
+    @Test
+    public void testNdjson3() throws IOException {
+
+        Card[] group = load();
+        Card[] jsCards = new Card[25];
+        for (int i = 0; i < jsCards.length; i++)
+            jsCards[i] = group[i % group.length];
+        String ndjson = Card.toNdjson(jsCards);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int chunkSize : new int[]{1, 4, 25, 100})
+                assertArrayEquals("testNdjson3 - " + chunkSize, jsCards, CardNdjson.fromNdjsonParallel(ndjson, executor, chunkSize));
+            assertArrayEquals("testNdjson3 - no final line feed", jsCards, CardNdjson.fromNdjsonParallel(ndjson.substring(0, ndjson.length() - 1), executor, 3));
+            try {
+                CardNdjson.fromNdjsonParallel(ndjson + "[]\n" + ndjson, executor, 7);
+                fail("testNdjson3 - 1");
+            } catch (JsonProcessingException e) {
+                assertTrue("testNdjson3 - 2", e.getMessage().startsWith("Expected a Card object"));
+                assertEquals("testNdjson3 - 3", jsCards.length + 1, e.getLocation().getLineNr());
+                assertEquals("testNdjson3 - 4", ndjson.length() + 1, e.getLocation().getCharOffset());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNdjson4() throws IOException {
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CardNdjson.fromNdjsonParallel("", executor, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNdjson5() throws IOException {
+
+        Card[] jsCards = load();
+        JSContactMapper.setMapper(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT));
+        try {
+            String ndjson = Card.toNdjson(jsCards);
+            assertEquals("testNdjson5 - 1", jsCards.length, ndjson.split("\n").length);
+            assertArrayEquals("testNdjson5 - 2", jsCards, Card.fromNdjson(ndjson));
+            StringWriter writer = new StringWriter();
+            CardNdjson.toNdjson(writer, jsCards);
+            assertEquals("testNdjson5 - 3", ndjson, writer.toString());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CardNdjson.toNdjson(out, jsCards);
+            assertEquals("testNdjson5 - 4", ndjson, new String(out.toByteArray(), StandardCharsets.UTF_8));
+            assertTrue("testNdjson5 - 5", Card.toJson(jsCards[0]).contains("\n"));
+        } finally {
+            JSContactMapper.resetMapper();
+        }
+    }
+
+    @Test
+    public void testNdjson6() throws IOException {
+
+        Card[] group = load();
+        Card[] jsCards = new Card[10];
+        for (int i = 0; i < jsCards.length; i++)
+            jsCards[i] = group[i % group.length];
+        String ndjson = Card.toNdjson(jsCards);
+        Path path = Files.createTempFile("cards", ".ndjson");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Files.write(path, ndjson.getBytes(StandardCharsets.UTF_8));
+            for (int chunkSize : new int[]{1, 3, 10, 20})
+                assertArrayEquals("testNdjson6 - " + chunkSize, jsCards, CardNdjson.fromNdjsonParallel(path, executor, chunkSize));
+            Files.write(path, (ndjson + "{\"@type\":").getBytes(StandardCharsets.UTF_8));
+            try {
+                CardNdjson.fromNdjsonParallel(path, executor, 4);
+                fail("testNdjson6 - 1");
+            } catch (JsonProcessingException e) {
+                assertEquals("testNdjson6 - 2", jsCards.length + 1, e.getLocation().getLineNr());
+                assertTrue("testNdjson6 - 3", e.getLocation().getByteOffset() > ndjson.getBytes(StandardCharsets.UTF_8).length);
+            }
+            Files.write(path, new byte[0]);
+            assertEquals("testNdjson6 - 4", 0, CardNdjson.fromNdjsonParallel(path, executor, 4).length);
+        } finally {
+            executor.shutdown();
+            Files.delete(path);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.dto.Name;
+import it.cnr.iit.jscontact.tools.dto.utils.JSContactMapper;
+import it.cnr.iit.jscontact.tools.dto.utils.JSPropUtils;
+import it.cnr.iit.jscontact.tools.exceptions.CardException;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.JSContact2VCardConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.config.VCard2JSContactConfig;
+import it.cnr.iit.jscontact.tools.vcard.converters.jscontact2vcard.JSContact2VCard;
+import it.cnr.iit.jscontact.tools.vcard.converters.vcard2jscontact.VCard2JSContact;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class SharedMapperTest {
+
+    @After
+    public void resetMapper() {
+        JSContactMapper.resetMapper();
+    }
+
+    @Test
+    public void testSharedMapper1() {
+
+        assertSame("testSharedMapper1 - 1", JSContactMapper.cardReader(), JSContactMapper.cardReader());
+        assertSame("testSharedMapper1 - 2", JSContactMapper.cardsReader(), JSContactMapper.cardsReader());
+        assertSame("testSharedMapper1 - 3", JSContactMapper.reader(Name.class), JSContactMapper.reader(Name.class));
+        assertSame("testSharedMapper1 - 4", JSContactMapper.writer(), JSContactMapper.writer());
+        assertNotSame("testSharedMapper1 - 5", JSContactMapper.cardReader(), JSContactMapper.cardsReader());
+    }
+
+    @Test
+    public void testSharedMapper2() throws IOException {
+
+        String json = IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/jsCard-RFC7483.json")), StandardCharsets.UTF_8);
+        Card[] jsCards = Card.toJSCards(json);
+        assertEquals("testSharedMapper2 - 1", 1, jsCards.length);
+        Card[] roundTripped = Card.toJSCards(Card.toJson(new Card[]{jsCards[0], jsCards[0]}));
+        assertEquals("testSharedMapper2 - 2", 2, roundTripped.length);
+        assertEquals("testSharedMapper2 - 3", jsCards[0], roundTripped[1]);
+    }
+
+    @Test
+    public void testSharedMapper3() throws IOException {
+
+        String json = IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/jsCard-RFC7483.json")), StandardCharsets.UTF_8);
+        Card jsCard = Card.toJSCard(json);
+        assertFalse("testSharedMapper3 - 1", Card.toJson(jsCard).contains("\n"));
+
+        ObjectMapper custom = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        JSContactMapper.setMapper(custom);
+        assertSame("testSharedMapper3 - 2", custom, JSContactMapper.getCardMapper());
+        String indented = Card.toJson(jsCard);
+        assertTrue("testSharedMapper3 - 3", indented.contains("\n"));
+        assertEquals("testSharedMapper3 - 4", jsCard, Card.toJSCard(indented));
+
+        JSContactMapper.resetMapper();
+        assertSame("testSharedMapper3 - 5", JSContactMapper.getMapper(), JSContactMapper.getCardMapper());
+        assertFalse("testSharedMapper3 - 6", Card.toJson(jsCard).contains("\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSharedMapper4() {
+        JSContactMapper.setMapper(null);
+    }
+
+    @Test
+    public void testSharedMapper5() throws IOException, CardException {
+
+        String vCard = "BEGIN:VCARD\r\n" +
+                "VERSION:4.0\r\n" +
+                "FN:test\r\n" +
+                "UID:urn:uuid:03a0e51f-d1aa-4385-8a53-e29025acd8af\r\n" +
+                "NICKNAME;LANGUAGE=en:Johnny\r\n" +
+                "NICKNAME;LANGUAGE=it:Gianni\r\n" +
+                "END:VCARD\r\n";
+        VCard2JSContact vCard2JSContact = VCard2JSContact.builder().config(VCard2JSContactConfig.builder().build()).build();
+        JSContact2VCard jsContact2VCard = JSContact2VCard.builder().config(JSContact2VCardConfig.builder().build()).build();
+        Card jsCard = vCard2JSContact.convert(vCard).get(0);
+        String expected = jsContact2VCard.convertToText(jsCard);
+        Map<String, Object> extension = Collections.singletonMap("key", Collections.singletonList("value"));
+        String jsProp = JSPropUtils.toJSPropValue(extension);
+
+        JSContactMapper.setMapper(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT));
+        assertNotSame("testSharedMapper5 - 1", JSContactMapper.getMapper(), JSContactMapper.getCardMapper());
+        assertEquals("testSharedMapper5 - 2", jsProp, JSPropUtils.toJSPropValue(extension));
+        assertFalse("testSharedMapper5 - 3", JSContactMapper.writer().writeValueAsString(extension).contains("\n"));
+        Card converted = vCard2JSContact.convert(vCard).get(0);
+        assertEquals("testSharedMapper5 - 4", jsCard, converted);
+        assertEquals("testSharedMapper5 - 5", expected, jsContact2VCard.convertToText(converted));
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.validation;
+
+import it.cnr.iit.jscontact.tools.constraints.validators.builder.ValidationProfiler;
+import it.cnr.iit.jscontact.tools.constraints.validators.builder.ValidatorBuilder;
+import it.cnr.iit.jscontact.tools.dto.Card;
+import it.cnr.iit.jscontact.tools.test.AbstractTest;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class ValidationProfilerTest extends AbstractTest {
+
+    @After
+    public void disableProfiling() {
+        ValidationProfiler.disable();
+        ValidationProfiler.reset();
+    }
+
+    @Test
+    public void testValidationProfiler1() throws IOException {
+
+        String json = IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("jcard/jsCard-Multilingual.json")), StandardCharsets.UTF_8);
+        Card jsCard = Card.toJSCard(json);
+
+        assertTrue("testValidationProfiler1 - 1", jsCard.isValid());
+        assertTrue("testValidationProfiler1 - 2", ValidationProfiler.getStatistics().isEmpty());
+
+        ValidationProfiler.enable();
+        assertTrue("testValidationProfiler1 - 3", jsCard.isValid());
+        assertTrue("testValidationProfiler1 - 4", jsCard.isValid());
+        Map<String, ValidationProfiler.Statistics> statistics = ValidationProfiler.getStatistics();
+        assertEquals("testValidationProfiler1 - 5", 2, statistics.get("LocalizationsValidator").getInvocations());
+        assertTrue("testValidationProfiler1 - 6", statistics.get("CaseInsensitiveExtensionNamesValidator").getInvocations() >= 2);
+        assertTrue("testValidationProfiler1 - 7", statistics.get("CaseInsensitiveExtensionNamesValidator").getTotalNanos() > 0);
+
+        ValidationProfiler.disable();
+        assertTrue("testValidationProfiler1 - 8", jsCard.isValid());
+        assertEquals("testValidationProfiler1 - 9", 2, ValidationProfiler.getStatistics().get("LocalizationsValidator").getInvocations());
+    }
+
+    @Test
+    public void testValidationProfiler2() {
+
+        ValidationProfiler.enable();
+        Card jsCard = Card.builder().uid(getUUID()).language("invalid language").build();
+        assertFalse("testValidationProfiler2 - 1", jsCard.isValid());
+        assertEquals("testValidationProfiler2 - 2", 1, ValidationProfiler.getStatistics().get("LanguageTagValidator").getInvocations());
+    }
+
+    @Test
+    public void testValidationProfiler3() {
+
+        Validator validator = ValidatorBuilder.getValidator();
+        assertFalse("testValidationProfiler3 - 1", ValidationProfiler.isEnabled());
+        assertSame("testValidationProfiler3 - 2", validator, ValidatorBuilder.getValidator());
+
+        ValidationProfiler.enable();
+        assertNotSame("testValidationProfiler3 - 3", validator, ValidatorBuilder.getValidator());
+
+        ValidationProfiler.disable();
+        assertSame("testValidationProfiler3 - 4", validator, ValidatorBuilder.getValidator());
+        assertFalse("testValidationProfiler3 - 5", Card.builder().uid(getUUID()).language("invalid language").build().isValid());
+        assertTrue("testValidationProfiler3 - 6", ValidationProfiler.getStatistics().isEmpty());
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright (C) 2020  Consiglio Nazionale delle Ricerche
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Affero General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU Affero General Public License for more details.
+ *
+ *     You should have received a copy of the GNU Affero General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package it.cnr.iit.jscontact.tools.test.warmup;
+
+import it.cnr.iit.jscontact.tools.JSContactTools;
+import it.cnr.iit.jscontact.tools.metrics.Metrics;
+import it.cnr.iit.jscontact.tools.metrics.MetricsRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class WarmUpTest {
+
+    @Test
+    public void testWarmUp1() {
+
+        AtomicLong conversions = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        AtomicLong validationFailures = new AtomicLong();
+        Metrics.setRegistry(new MetricsRegistry() {
+            @Override
+            public void incrementCounter(String name, long amount, String... tags) {
+                if (name.equals(Metrics.CONVERSIONS))
+                    conversions.addAndGet(amount);
+                else if (name.equals(Metrics.CONVERSION_FAILURES))
+                    failures.addAndGet(amount);
+            }
+            @Override
+            public void recordTime(String name, long nanos, String... tags) {
+                if (name.equals(Metrics.VALIDATION_TIME) && tags[1].equals(Metrics.RESULT_FAILURE))
+                    validationFailures.incrementAndGet();
+            }
+        });
+        try {
+            JSContactTools.warmUp(1);
+        } finally {
+            Metrics.setRegistry(null);
+        }
+        assertEquals("testWarmUp1 - 1", 6, conversions.get());
+        assertEquals("testWarmUp1 - 2", 0, failures.get());
+        assertEquals("testWarmUp1 - 3", 0, validationFailures.get());
+    }
+
+}